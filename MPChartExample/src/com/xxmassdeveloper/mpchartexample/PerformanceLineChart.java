@@ -122,6 +122,7 @@ public class PerformanceLineChart extends DemoBase implements OnSeekBarChangeLis
         set1.setDrawValues(false);
         set1.setDrawCircles(false);
         set1.setDrawCubic(false);
+        set1.setLodEnabled(true);
         set1.setDrawFilled(false);
 
         // create a data object with the datasets
@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.DataSet;
+
 import java.util.List;
 
 /**
@@ -15,6 +17,9 @@ public abstract class AbstractBuffer<T> {
     /** index in the buffer */
     protected int index = 0;
 
+    /** the number of floats written by the last feed */
+    protected int mLength = 0;
+
     /** float-buffer that holds the data points to draw, order: x,y,x,y,... */
     public final float[] buffer;
 
@@ -30,6 +35,27 @@ public abstract class AbstractBuffer<T> {
     /** indicates to which x-index the visible data ranges */
     protected int mTo = 0;
 
+    /**
+     * copy of the value-space geometry of the last feed, the buffer array
+     * itself is transformed into pixels
+     */
+    protected float[] mValues;
+
+    /** the DataSet the retained geometry has been fed from */
+    private DataSet<?> mRetainedSet;
+
+    /** modification count of the DataSet when it was fed */
+    private int mRetainedModificationCount;
+
+    /** renderer specific variant (e.g. level of detail) that was fed */
+    private int mRetainedVariant;
+
+    /** true if a parameter changed and the buffer needs to be fed again */
+    protected boolean mRetainedInvalid = true;
+
+    /** the number of feeds so far */
+    protected int mFeedCount = 0;
+
     /**
      * Initialization with buffer-size.
      * 
@@ -55,10 +81,143 @@ public abstract class AbstractBuffer<T> {
     }
 
     /**
-     * Resets the buffer index to 0 and makes the buffer reusable.
+     * Limits the next feed to the entries [from, to) extended by the size of
+     * the range on both sides, so that the geometry can be retained while
+     * panning. The range is not extended while the x-axis is animated.
+     * 
+     * @param from
+     * @param to
+     * @param count the number of entries
+     */
+    public void limitWithMargin(int from, int to, int count) {
+
+        int margin = phaseX < 1f ? 0 : to - from;
+
+        limitFrom(from - margin);
+        limitTo(Math.min(to + margin, count));
+    }
+
+    /**
+     * Returns true if the retained geometry of the last feed can be used for
+     * drawing the entries [from, to) of the given DataSet: Neither the DataSet
+     * nor a parameter of the buffer changed and the fed range contains the
+     * given range without being much larger. In that case feeding can be
+     * skipped and the values can be transformed via getValues().
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @return
+     */
+    public boolean isRetained(DataSet<?> set, int from, int to) {
+        return isRetained(set, from, to, 0);
+    }
+
+    /**
+     * Same as isRetained(set, from, to), the retained geometry also has to
+     * have been fed with the given variant (e.g. a level of detail).
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @param variant
+     * @return
+     */
+    public boolean isRetained(DataSet<?> set, int from, int to, int variant) {
+
+        if (mRetainedInvalid || set != mRetainedSet || variant != mRetainedVariant
+                || set.getModificationCount() != mRetainedModificationCount)
+            return false;
+
+        return from >= mFrom && to <= mTo && mTo - mFrom <= (to - from) * 3 + 2;
+    }
+
+    /**
+     * Keeps the value-space geometry of the last feed so that it can be
+     * reused as long as isRetained(...) returns true. Call this right after
+     * feeding.
+     * 
+     * @param set the DataSet that has been fed
+     * @param variant
+     */
+    public void retain(DataSet<?> set, int variant) {
+
+        if (mValues == null)
+            mValues = new float[buffer.length];
+
+        System.arraycopy(buffer, 0, mValues, 0, mLength);
+
+        mRetainedSet = set;
+        mRetainedModificationCount = set.getModificationCount();
+        mRetainedVariant = variant;
+        mRetainedInvalid = false;
+    }
+
+    /**
+     * Returns the retained value-space geometry (see retain(...)), the first
+     * length() values are valid.
+     * 
+     * @return
+     */
+    public float[] getValues() {
+        return mValues;
+    }
+
+    /**
+     * Discards the retained geometry, the buffer needs to be fed again.
+     */
+    public void invalidate() {
+        mRetainedInvalid = true;
+    }
+
+    /**
+     * Returns the number of times the buffer has been fed, can be used to
+     * verify that retained geometry is reused.
+     * 
+     * @return
+     */
+    public int getFeedCount() {
+        return mFeedCount;
+    }
+
+    /**
+     * Resets the buffer index to 0 and makes the buffer reusable. The number
+     * of floats written so far is remembered as the length of the buffer.
+     * This is called at the end of every feed.
      */
     public void reset() {
+        mLength = index;
         index = 0;
+        mFeedCount++;
+    }
+
+    /**
+     * Returns the number of floats written by the last feed, the rest of the
+     * buffer array holds stale data.
+     * 
+     * @return
+     */
+    public int length() {
+        return mLength;
+    }
+
+    /**
+     * Returns the position of the first Entry that has been fed.
+     * 
+     * @return
+     */
+    public int getFrom() {
+        return mFrom;
+    }
+
+    /**
+     * Returns the position right after the last Entry that has been fed (the
+     * x-phase not taken into account).
+     * 
+     * @return
+     */
+    public int getTo() {
+        return mTo;
     }
 
     /**
@@ -77,6 +236,10 @@ public abstract class AbstractBuffer<T> {
      * @param phaseY
      */
     public void setPhases(float phaseX, float phaseY) {
+
+        if (phaseX != this.phaseX || phaseY != this.phaseY)
+            mRetainedInvalid = true;
+
         this.phaseX = phaseX;
         this.phaseY = phaseY;
     }
@@ -2,6 +2,8 @@
 package com.github.mikephil.charting.buffer;
 
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.ColumnarEntryList;
+import com.github.mikephil.charting.data.DataSet;
 
 import java.util.List;
 
@@ -22,17 +24,86 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
     }
 
     public void setBarSpace(float barspace) {
+        if (barspace != mBarSpace)
+            mRetainedInvalid = true;
         this.mBarSpace = barspace;
     }
 
     public void setDataSet(int index) {
+        if (index != mDataSetIndex)
+            mRetainedInvalid = true;
         this.mDataSetIndex = index;
     }
     
     public void setInverted(boolean inverted) {
+        if (inverted != mInverted)
+            mRetainedInvalid = true;
         this.mInverted = inverted;
     }
 
+    /**
+     * Returns the position of the first bar of the given DataSet that is (at
+     * least partially) right of the given x-value. The bars are found via
+     * binary search on their x-positions, which include the offsets of
+     * grouped DataSets, setDataSet(...) needs to be called before.
+     *
+     * @param set
+     * @param minX
+     * @return
+     */
+    public int getVisibleFrom(DataSet<?> set, float minX) {
+
+        // a bar reaches half a unit to both sides of its x-position
+        return firstBarFrom(set, minX - 0.5f);
+    }
+
+    /**
+     * Returns the position right after the last bar of the given DataSet that
+     * is (at least partially) left of the given x-value.
+     *
+     * @param set
+     * @param maxX
+     * @return
+     */
+    public int getVisibleTo(DataSet<?> set, float maxX) {
+        return firstBarFrom(set, maxX + 0.5f);
+    }
+
+    /**
+     * Returns the position of the first bar whose x-position is >= the given
+     * x-value, the number of entries if there is none.
+     */
+    private int firstBarFrom(DataSet<?> set, float x) {
+
+        int low = 0;
+        int high = set.getEntryCount();
+
+        while (low < high) {
+
+            int m = (low + high) >>> 1;
+
+            if (getBarX(set.getXIndexAt(m), m) < x)
+                low = m + 1;
+            else
+                high = m;
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the x-position of the center of the bar with the given x-index
+     * and position, depending on the DataSet count.
+     *
+     * @param xIndex
+     * @param position
+     * @return
+     */
+    protected float getBarX(int xIndex, int position) {
+        return xIndex + position * (mDataSetCount - 1) + mDataSetIndex
+                + mGroupSpace * position + mGroupSpace / 2f;
+    }
+
     protected void addBar(float left, float top, float right, float bottom) {
 
         buffer[index++] = left;
@@ -44,22 +115,29 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
     @Override
     public void feed(List<BarEntry> entries) {
 
-        float size = entries.size() * phaseX;
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
 
         int dataSetOffset = (mDataSetCount - 1);
         float barSpaceHalf = mBarSpace / 2f;
         float groupSpaceHalf = mGroupSpace / 2f;
         float barWidth = 0.5f;
 
-        for (int i = 0; i < size; i++) {
+        // read columnar entries directly, without creating Entry objects
+        ColumnarEntryList<?> columns = entries instanceof ColumnarEntryList
+                ? (ColumnarEntryList<?>) entries : null;
+
+        for (int i = mFrom; i < size; i++) {
+
+            BarEntry e = columns == null ? entries.get(i) : null;
 
-            BarEntry e = entries.get(i);
+            int xIndex = columns == null ? e.getXIndex() : columns.getXIndex(i);
+            float val = columns == null ? e.getVal() : columns.getVal(i);
 
             // calculate the x-position, depending on datasetcount
-            float x = e.getXIndex() + i * dataSetOffset + mDataSetIndex
+            float x = xIndex + i * dataSetOffset + mDataSetIndex
                     + mGroupSpace * i + groupSpaceHalf;
-            float y = e.getVal();
-            float [] vals = e.getVals();
+            float y = val;
+            float [] vals = columns == null ? e.getVals() : columns.getStack(i);
             
             if(mInverted) { // inverted axis, here, I chose performance over readability
                 
@@ -80,7 +158,7 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
                     
                 } else {
                     
-                    float all = e.getVal();
+                    float all = val;
 
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
@@ -122,7 +200,7 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
                     
                 } else {
                     
-                    float all = e.getVal();
+                    float all = val;
 
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
@@ -14,6 +14,8 @@ public class CandleBodyBuffer extends AbstractBuffer<CandleEntry> {
     }
     
     public void setBodySpace(float bodySpace) {
+        if (bodySpace != mBodySpace)
+            mRetainedInvalid = true;
         this.mBodySpace = bodySpace;
     }
 
@@ -1,6 +1,7 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.ColumnarEntryList;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -21,10 +22,25 @@ public class CircleBuffer extends AbstractBuffer<Entry> {
 
         int size = (int)Math.ceil((mTo - mFrom) * phaseX + mFrom);
 
-        for (int i = mFrom; i < size; i++) {
+        if (entries instanceof ColumnarEntryList) {
 
-            Entry e = entries.get(i);
-            addCircle(e.getXIndex(), e.getVal() * phaseY);
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) entries;
+            float[] vals = columns.getValArray();
+            int[] xIndices = columns.getXIndexArray();
+            int offset = columns.getArrayOffset();
+            int xOffset = columns.getXIndexOffset();
+
+            for (int i = mFrom; i < size; i++) {
+                addCircle(xIndices[offset + i] - xOffset, vals[offset + i] * phaseY);
+            }
+
+        } else {
+
+            for (int i = mFrom; i < size; i++) {
+
+                Entry e = entries.get(i);
+                addCircle(e.getXIndex(), e.getVal() * phaseY);
+            }
         }
         
         reset();
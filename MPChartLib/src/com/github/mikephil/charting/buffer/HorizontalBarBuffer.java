@@ -2,6 +2,7 @@
 package com.github.mikephil.charting.buffer;
 
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.ColumnarEntryList;
 
 import java.util.List;
 
@@ -14,22 +15,29 @@ public class HorizontalBarBuffer extends BarBuffer {
     @Override
     public void feed(List<BarEntry> entries) {
 
-        float size = entries.size() * phaseX;
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
 
         int dataSetOffset = (mDataSetCount - 1);
         float barSpaceHalf = mBarSpace / 2f;
         float groupSpaceHalf = mGroupSpace / 2f;
         float barWidth = 0.5f;
 
-        for (int i = 0; i < size; i++) {
+        // read columnar entries directly, without creating Entry objects
+        ColumnarEntryList<?> columns = entries instanceof ColumnarEntryList
+                ? (ColumnarEntryList<?>) entries : null;
 
-            BarEntry e = entries.get(i);
+        for (int i = mFrom; i < size; i++) {
+
+            BarEntry e = columns == null ? entries.get(i) : null;
+
+            int xIndex = columns == null ? e.getXIndex() : columns.getXIndex(i);
+            float val = columns == null ? e.getVal() : columns.getVal(i);
 
             // calculate the x-position, depending on datasetcount
-            float x = e.getXIndex() + i * dataSetOffset + mDataSetIndex
+            float x = xIndex + i * dataSetOffset + mDataSetIndex
                     + mGroupSpace * i + groupSpaceHalf;
-            float y = e.getVal();
-            float[] vals = e.getVals();
+            float y = val;
+            float[] vals = columns == null ? e.getVals() : columns.getStack(i);
 
             if(mInverted) { // inverted axis
                 
@@ -50,7 +58,7 @@ public class HorizontalBarBuffer extends BarBuffer {
 
                 } else {
 
-                    float all = e.getVal();
+                    float all = val;
 
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
@@ -92,7 +100,7 @@ public class HorizontalBarBuffer extends BarBuffer {
 
                 } else {
 
-                    float all = e.getVal();
+                    float all = val;
 
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
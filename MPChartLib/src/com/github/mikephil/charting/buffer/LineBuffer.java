@@ -1,12 +1,19 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.ColumnarEntryList;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
 
 public class LineBuffer extends AbstractBuffer<Entry> {
 
+    /** the positions the buffer has last been fed with, see getPositions() */
+    private int[] mPositions = new int[0];
+
+    /** true if the buffer has last been fed with positions */
+    private boolean mFedPositions = false;
+
     public LineBuffer(int size) {
         super((size < 4) ? 4 : size);
     }
@@ -42,6 +49,14 @@ public class LineBuffer extends AbstractBuffer<Entry> {
 
     @Override
     public void feed(List<Entry> entries) {
+
+        mFedPositions = false;
+
+        if (entries instanceof ColumnarEntryList) {
+            feedColumns((ColumnarEntryList<?>) entries);
+            return;
+        }
+
         moveTo(entries.get(mFrom).getXIndex(), entries.get(mFrom).getVal() * phaseY);
 
         int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
@@ -55,4 +70,90 @@ public class LineBuffer extends AbstractBuffer<Entry> {
 
         reset();
     }
+
+    /**
+     * Builds up the buffer with the entries at the given positions only (e.g.
+     * the positions reduced by a MinMaxPyramid or an Approximator). The
+     * x-phase is not applied, the positions need to be limited accordingly.
+     * 
+     * @param entries
+     * @param positions positions in the entries list, ascending
+     * @param offset the index of the first position to use
+     * @param count the number of positions to use
+     */
+    public void feed(List<Entry> entries, int[] positions, int offset, int count) {
+
+        if (mPositions.length < count)
+            mPositions = new int[count + (count >> 1)];
+
+        System.arraycopy(positions, offset, mPositions, 0, Math.max(count, 0));
+        mFedPositions = true;
+
+        if (count < 1) {
+            reset();
+            return;
+        }
+
+        int end = offset + count;
+
+        if (entries instanceof ColumnarEntryList) {
+
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) entries;
+
+            moveTo(columns.getXIndex(positions[offset]), columns.getVal(positions[offset])
+                    * phaseY);
+
+            for (int i = offset + 1; i < end; i++) {
+                lineTo(columns.getXIndex(positions[i]), columns.getVal(positions[i]) * phaseY);
+            }
+
+        } else {
+
+            Entry e = entries.get(positions[offset]);
+            moveTo(e.getXIndex(), e.getVal() * phaseY);
+
+            for (int i = offset + 1; i < end; i++) {
+
+                e = entries.get(positions[i]);
+                lineTo(e.getXIndex(), e.getVal() * phaseY);
+            }
+        }
+
+        reset();
+    }
+
+    /**
+     * Returns the positions (in the entries list) of the fed entries if the
+     * buffer has last been fed with positions, null if it has been fed with
+     * all entries in the range (starting at getFrom()).
+     * 
+     * @return
+     */
+    public int[] getPositions() {
+        return mFedPositions ? mPositions : null;
+    }
+
+    /**
+     * Builds up the buffer directly from the value- and x-index-columns of the
+     * provided entries, without creating any Entry objects.
+     * 
+     * @param entries
+     */
+    protected void feedColumns(ColumnarEntryList<?> entries) {
+
+        float[] vals = entries.getValArray();
+        int[] xIndices = entries.getXIndexArray();
+        int offset = entries.getArrayOffset();
+        int xOffset = entries.getXIndexOffset();
+
+        moveTo(xIndices[offset + mFrom] - xOffset, vals[offset + mFrom] * phaseY);
+
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
+
+        for (int i = offset + mFrom + 1; i < offset + size; i++) {
+            lineTo(xIndices[i] - xOffset, vals[i] * phaseY);
+        }
+
+        reset();
+    }
 }
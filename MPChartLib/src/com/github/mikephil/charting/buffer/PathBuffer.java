@@ -0,0 +1,117 @@
+
+package com.github.mikephil.charting.buffer;
+
+import android.graphics.Path;
+
+import com.github.mikephil.charting.data.DataSet;
+
+/**
+ * Holds a Path in value-space (e.g. a cubic line) that is kept across frames.
+ * It is built for a range of entries that is larger than the visible range, as
+ * long as neither the DataSet nor a parameter of the Path changes it only
+ * needs to be transformed into pixels for drawing. Concept: Replace instead of
+ * recreate, see AbstractBuffer.
+ */
+public class PathBuffer {
+
+    /** the path in value-space */
+    public final Path path = new Path();
+
+    /** position of the first Entry the path is built for */
+    protected int mFrom = 0;
+
+    /** position right after the last Entry the path is built for */
+    protected int mTo = 0;
+
+    /** the DataSet the retained path has been built from */
+    private DataSet<?> mRetainedSet;
+
+    /** modification count of the DataSet when the path was built */
+    private int mRetainedModificationCount;
+
+    /** animation phase of the x-axis the path was built with */
+    private float mRetainedPhaseX = Float.NaN;
+
+    /** renderer specific parameter (e.g. the cubic intensity) */
+    private float mRetainedKey = Float.NaN;
+
+    /**
+     * Limits the next build to the entries [from, to) extended by the size of
+     * the range on both sides, so that the path can be retained while panning.
+     * The range is not extended while the x-axis is animated.
+     *
+     * @param from
+     * @param to
+     * @param count the number of entries
+     * @param phaseX
+     */
+    public void limitWithMargin(int from, int to, int count, float phaseX) {
+
+        int margin = phaseX < 1f ? 0 : to - from;
+
+        mFrom = Math.max(from - margin, 0);
+        mTo = Math.max(Math.min(to + margin, count), mFrom);
+    }
+
+    /**
+     * Returns true if the retained path can be used for drawing the entries
+     * [from, to) of the given DataSet: Neither the DataSet nor the phase or the
+     * key changed and the built range contains the given range without being
+     * much larger.
+     *
+     * @param set
+     * @param from
+     * @param to
+     * @param phaseX
+     * @param key
+     * @return
+     */
+    public boolean isRetained(DataSet<?> set, int from, int to, float phaseX, float key) {
+
+        if (set != mRetainedSet || set.getModificationCount() != mRetainedModificationCount
+                || phaseX != mRetainedPhaseX || key != mRetainedKey)
+            return false;
+
+        return from >= mFrom && to <= mTo && mTo - mFrom <= (to - from) * 3 + 2;
+    }
+
+    /**
+     * Keeps the path as it is until isRetained(...) returns false. Call this
+     * right after building the path.
+     *
+     * @param set the DataSet the path has been built from
+     * @param phaseX
+     * @param key
+     */
+    public void retain(DataSet<?> set, float phaseX, float key) {
+        mRetainedSet = set;
+        mRetainedModificationCount = set.getModificationCount();
+        mRetainedPhaseX = phaseX;
+        mRetainedKey = key;
+    }
+
+    /**
+     * Discards the retained path, it needs to be built again.
+     */
+    public void invalidate() {
+        mRetainedSet = null;
+    }
+
+    /**
+     * Returns the position of the first Entry the path is built for.
+     *
+     * @return
+     */
+    public int getFrom() {
+        return mFrom;
+    }
+
+    /**
+     * Returns the position right after the last Entry the path is built for.
+     *
+     * @return
+     */
+    public int getTo() {
+        return mTo;
+    }
+}
@@ -1,6 +1,7 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.ColumnarEntryList;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -19,12 +20,27 @@ public class ScatterBuffer extends AbstractBuffer<Entry> {
     @Override
     public void feed(List<Entry> entries) {
         
-        float size = entries.size() * phaseX;
-        
-        for (int i = 0; i < size; i++) {
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
+
+        if (entries instanceof ColumnarEntryList) {
+
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) entries;
+            float[] vals = columns.getValArray();
+            int[] xIndices = columns.getXIndexArray();
+            int offset = columns.getArrayOffset();
+            int xOffset = columns.getXIndexOffset();
+
+            for (int i = mFrom; i < size; i++) {
+                addForm(xIndices[offset + i] - xOffset, vals[offset + i] * phaseY);
+            }
+
+        } else {
+
+            for (int i = mFrom; i < size; i++) {
 
-            Entry e = entries.get(i);
-            addForm(e.getXIndex(), e.getVal() * phaseY);
+                Entry e = entries.get(i);
+                addForm(e.getXIndex(), e.getVal() * phaseY);
+            }
         }
         
         reset();
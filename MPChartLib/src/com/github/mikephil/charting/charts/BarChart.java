@@ -108,8 +108,7 @@ public class BarChart extends BarLineChartBase<BarData> implements BarDataProvid
             return null;
         }
 
-        // create an array of the touch-point
-        float[] pts = new float[2];
+        float[] pts = mTouchPointBuffer;
         pts[0] = x;
         pts[1] = y;
 
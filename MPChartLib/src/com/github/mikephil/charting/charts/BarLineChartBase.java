@@ -21,26 +21,38 @@ import com.github.mikephil.charting.components.YAxis.AxisDependency;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarLineScatterCandleData;
 import com.github.mikephil.charting.data.BarLineScatterCandleDataSet;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.CombinedData;
 import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.IngestionQueue;
 import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
 import com.github.mikephil.charting.data.filter.Approximator;
 import com.github.mikephil.charting.interfaces.BarLineScatterCandleDataProvider;
 import com.github.mikephil.charting.jobs.MoveViewJob;
 import com.github.mikephil.charting.listener.BarLineChartTouchListener;
+import com.github.mikephil.charting.listener.OnDataPreparedListener;
 import com.github.mikephil.charting.listener.OnDrawListener;
 import com.github.mikephil.charting.renderer.XAxisRenderer;
 import com.github.mikephil.charting.renderer.YAxisRenderer;
+import com.github.mikephil.charting.utils.ChartLayer;
 import com.github.mikephil.charting.utils.FillFormatter;
+import com.github.mikephil.charting.utils.FrameMetrics;
 import com.github.mikephil.charting.utils.Highlight;
+import com.github.mikephil.charting.utils.HitTestIndex;
 import com.github.mikephil.charting.utils.PointD;
+import com.github.mikephil.charting.utils.Selection;
 import com.github.mikephil.charting.utils.SelInfo;
+import com.github.mikephil.charting.utils.SpatialIndex;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Base-class of LineChart, BarChart, ScatterChart and CandleStickChart.
@@ -73,6 +85,16 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
     /** if true, data filtering is enabled */
     protected boolean mFilterData = false;
 
+    /**
+     * if true, the y-axis ranges are calculated from the visible entries
+     * instead of all entries
+     */
+    private boolean mAutoScaleMinMaxEnabled = false;
+
+    /** the visible x-range the y-axis ranges were last auto-scaled for */
+    private int mAutoScaleLastLowestVisibleXIndex = -1;
+    private int mAutoScaleLastHighestVisibleXIndex = -1;
+
     /** paint object for the (by default) lightgrey background of the grid */
     protected Paint mGridBackgroundPaint;
 
@@ -110,8 +132,114 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
     protected XAxisRenderer mXAxisRenderer;
 
-    // /** the approximator object used for data filtering */
-    // private Approximator mApproximator;
+    /** the approximator object used for data filtering */
+    private Approximator mApproximator;
+
+    /** if true, the content of the chart is cached in layers */
+    private boolean mLayerCacheEnabled = false;
+
+    /**
+     * cached layer below the highlight: grid background, axis lines, grid
+     * lines, limit lines and data
+     */
+    private ChartLayer mBaseLayer = new ChartLayer();
+
+    /**
+     * cached layer above the highlight: extras (e.g. circles), axis labels,
+     * values, legend and description
+     */
+    private ChartLayer mTopLayer = new ChartLayer();
+
+    /** values of the touch-matrix and content size in the last frame */
+    private float[] mLastTouchValues = new float[9];
+    private float[] mTouchValues = new float[9];
+    private float mLastContentWidth = -1f;
+    private float mLastContentHeight = -1f;
+
+    /** index for finding the DataSet closest to a touch point */
+    private HitTestIndex mHitTestIndex = new HitTestIndex();
+
+    /** the Highlight last returned by getHighlightByTouchPoint(...) */
+    private Highlight mLastTouchHighlight;
+
+    /** spatial index for range selections */
+    private SpatialIndex mSpatialIndex = new SpatialIndex();
+
+    /** the entries selected by the last range selection */
+    private Selection mSelection = new Selection();
+
+    /** paint for drawing the selected entries */
+    protected Paint mSelectionPaint;
+
+    /** the corners of a selected rectangle, in values of both axes */
+    private float[] mSelectionCorners = new float[8];
+
+    /** a selected polygon, in values of both axes */
+    private float[] mSelectionPolygon = new float[0];
+
+    /** positions of the selected entries for drawing */
+    private float[] mSelectionBuffer = new float[0];
+
+    /** queue of entries offered by background threads, null if none */
+    private IngestionQueue mIngestionQueue;
+
+    /** schedules a frame when entries have been queued, on any thread */
+    private Runnable mIngestionWakeUp = new Runnable() {
+
+        @Override
+        public void run() {
+            post(mIngestionFrame);
+        }
+    };
+
+    /** requests a frame on the UI thread that drains the queue */
+    private Runnable mIngestionFrame = new Runnable() {
+
+        @Override
+        public void run() {
+            notifyChanged(CHANGE_DATA);
+        }
+    };
+
+    /** data posted by background threads, swapped in by the next frame */
+    private AtomicReference<T> mPendingData = new AtomicReference<T>();
+
+    /** requests a frame on the UI thread that swaps in the posted data */
+    private Runnable mPendingDataFrame = new Runnable() {
+
+        @Override
+        public void run() {
+
+            // without data onDraw(...) returns early, set it right away
+            if (mDataNotSet) {
+
+                T data = mPendingData.getAndSet(null);
+
+                if (data != null)
+                    setData(data);
+            }
+
+            notifyChanged(CHANGE_DATA);
+        }
+    };
+
+    /**
+     * incremented by every asynchronous preparation of the data, only the
+     * latest one is published
+     */
+    private AtomicInteger mPreparationCount = new AtomicInteger(0);
+
+    /**
+     * true while DataSets are prepared on an executor, the IngestionQueue is
+     * not drained meanwhile because the executor reads the entries
+     */
+    private boolean mPreparing = false;
+
+    /** buffer for transforming touch points */
+    protected float[] mTouchPointBuffer = new float[2];
+
+    /** buffer for transforming the content bounds into visible x-indices */
+    protected float[] mVisibleXIndexBuffer = new float[2];
 
     public BarLineChartBase(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
@@ -155,6 +283,12 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         mBorderPaint.setStyle(Style.STROKE);
         mBorderPaint.setColor(Color.BLACK);
         mBorderPaint.setStrokeWidth(Utils.convertDpToPixel(1f));
+
+        mSelectionPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mSelectionPaint.setStyle(Style.STROKE);
+        mSelectionPaint.setStrokeCap(Paint.Cap.ROUND);
+        mSelectionPaint.setColor(Color.rgb(255, 187, 115));
+        mSelectionPaint.setStrokeWidth(Utils.convertDpToPixel(6f));
     }
 
     // for performance tracking
@@ -170,29 +304,209 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
         long starttime = System.currentTimeMillis();
 
-        // // if data filtering is enabled
-        // if (mFilterData) {
-        // mData = getFilteredData();
-        //
-        // Log.i(LOG_TAG, "FilterTime: " + (System.currentTimeMillis() -
-        // starttime) + " ms");
-        // starttime = System.currentTimeMillis();
-        // } else {
-        // mData = getData();
-        // // Log.i(LOG_TAG, "Filtering disabled.");
-        // }
-
-        if (mXAxis.isAdjustXLabelsEnabled())
+        // swap to the data prepared by a background thread
+        T pending = mPendingData.getAndSet(null);
+
+        if (pending != null)
+            swapData(pending, false);
+
+        // add the entries queued by background threads in one batch, unless
+        // the chart draws a version the queue does not add to
+        if (mIngestionQueue != null && !mPreparing && mIngestionQueue.getData() == mData
+                && mIngestionQueue.drain() > 0)
+            notifyEntriesAppended();
+
+        FrameMetrics metrics = mFrameMetrics;
+
+        if (metrics != null)
+            metrics.beginFrame();
+
+        mRenderer.setFrameMetrics(metrics);
+        mBaseLayer.setFrameMetrics(metrics);
+        mTopLayer.setFrameMetrics(metrics);
+
+        // the layers only pay off for frames that redraw nothing but the
+        // highlight, frames of a drag, zoom or animation are drawn directly
+        boolean cached = mLayerCacheEnabled
+                && (mChanges & (CHANGE_VIEWPORT | CHANGE_ANIMATION)) == 0;
+
+        if (cached && mBaseLayer.prepare(getWidth(), getHeight())
+                && mTopLayer.prepare(getWidth(), getHeight())) {
+
+            // the layers are only redrawn if something else than the
+            // highlight changed
+            if (mBaseLayer.isDirty() || mTopLayer.isDirty()) {
+                prepareFrame();
+                drawBaseLayer(mBaseLayer.beginDraw());
+                drawTopLayer(mTopLayer.beginDraw());
+            }
+
+            beginStage(FrameMetrics.STAGE_COMPOSITE);
+            mBaseLayer.draw(canvas, mDrawPaint);
+            endStage(FrameMetrics.STAGE_COMPOSITE);
+
+            drawHighlightOverlay(canvas);
+
+            beginStage(FrameMetrics.STAGE_COMPOSITE);
+            mTopLayer.draw(canvas, mDrawPaint);
+            endStage(FrameMetrics.STAGE_COMPOSITE);
+
+        } else {
+
+            prepareFrame();
+            drawBaseLayer(canvas);
+            drawHighlightOverlay(canvas);
+            drawTopLayer(canvas);
+        }
+
+        beginStage(FrameMetrics.STAGE_MARKERS);
+        drawMarkers(canvas);
+        endStage(FrameMetrics.STAGE_MARKERS);
+
+        if (metrics != null)
+            metrics.endFrame();
+
+        if (mLogEnabled) {
+            long drawtime = (System.currentTimeMillis() - starttime);
+            totalTime += drawtime;
+            drawCycles += 1;
+            long average = totalTime / drawCycles;
+            Log.i(LOG_TAG, "Drawtime: " + drawtime + " ms, average: " + average + " ms, cycles: "
+                    + drawCycles);
+        }
+    }
+
+    /**
+     * Calculates everything the layers need before they are drawn (modulus,
+     * auto-scaled y-ranges, axis labels). Only what depends on the changes
+     * since the last frame is recalculated, a horizontal drag e.g. changes
+     * nothing but the visible range the renderers calculate themselves.
+     */
+    protected void prepareFrame() {
+
+        beginStage(FrameMetrics.STAGE_AXIS);
+        boolean autoScaled = mAutoScaleMinMaxEnabled && autoScaleMinMax();
+        endStage(FrameMetrics.STAGE_AXIS);
+
+        // changes of the viewport are detected, it does not matter who
+        // changed the touch-matrix
+        int changes = (mChanges & ~CHANGE_VIEWPORT) | detectViewPortChanges();
+        mChanges = 0;
+
+        int recalculations = getRecalculations(changes, mXAxis.isAdjustXLabelsEnabled(),
+                autoScaled);
+
+        if ((recalculations & RECALC_MODULUS) != 0) {
+
+            beginStage(FrameMetrics.STAGE_MODULUS);
             calcModulus();
+            endStage(FrameMetrics.STAGE_MODULUS);
+        }
+
+        if ((recalculations & RECALC_Y_AXES) != 0) {
+
+            beginStage(FrameMetrics.STAGE_AXIS);
+
+            if (mAxisLeft.isEnabled())
+                mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum);
+            if (mAxisRight.isEnabled())
+                mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum);
+
+            endStage(FrameMetrics.STAGE_AXIS);
+        }
+
+        if (mLogEnabled)
+            Log.i(LOG_TAG, "Changes since the last frame: " + Integer.toBinaryString(changes));
+    }
+
+    /** recalculation of prepareFrame(): the modulus of the x-labels */
+    public static final int RECALC_MODULUS = 1;
+
+    /** recalculation of prepareFrame(): the labels of the y-axes */
+    public static final int RECALC_Y_AXES = 1 << 1;
+
+    /**
+     * Returns what prepareFrame() needs to recalculate (combination of the
+     * RECALC_ flags) for the given changes since the last frame (combination
+     * of the CHANGE_ flags). The visible range is calculated by the renderers
+     * on every frame and is no recalculation, a horizontal drag e.g. needs
+     * none.
+     * 
+     * @param changes
+     * @param adjustXLabels true if the x-labels are adjusted to the zoom
+     * @param autoScaled true if the y-ranges have been scaled to the visible
+     *            entries for this frame
+     * @return
+     */
+    public static int getRecalculations(int changes, boolean adjustXLabels,
+            boolean autoScaled) {
+
+        int recalculations = 0;
+
+        if (adjustXLabels
+                && (changes & (CHANGE_DATA | CHANGE_SCALE_X | CHANGE_SIZE | CHANGE_STYLE)) != 0)
+            recalculations |= RECALC_MODULUS;
+
+        // the y-labels depend on the visible y-range
+        if (autoScaled
+                || (changes & (CHANGE_DATA | CHANGE_SCALE_Y | CHANGE_TRANSLATION_Y | CHANGE_SIZE
+                | CHANGE_STYLE)) != 0)
+            recalculations |= RECALC_Y_AXES;
+
+        return recalculations;
+    }
+
+    /**
+     * Compares scale and translation of the touch-matrix and the size of the
+     * content with the last frame and returns the CHANGE_ flags for what
+     * changed.
+     * 
+     * @return
+     */
+    private int detectViewPortChanges() {
+
+        mViewPortHandler.getMatrixTouch().getValues(mTouchValues);
+
+        int changes = 0;
+
+        if (mTouchValues[Matrix.MSCALE_X] != mLastTouchValues[Matrix.MSCALE_X])
+            changes |= CHANGE_SCALE_X;
+        if (mTouchValues[Matrix.MSCALE_Y] != mLastTouchValues[Matrix.MSCALE_Y])
+            changes |= CHANGE_SCALE_Y;
+        if (mTouchValues[Matrix.MTRANS_X] != mLastTouchValues[Matrix.MTRANS_X])
+            changes |= CHANGE_TRANSLATION_X;
+        if (mTouchValues[Matrix.MTRANS_Y] != mLastTouchValues[Matrix.MTRANS_Y])
+            changes |= CHANGE_TRANSLATION_Y;
+
+        if (mViewPortHandler.contentWidth() != mLastContentWidth
+                || mViewPortHandler.contentHeight() != mLastContentHeight) {
+
+            changes |= CHANGE_SIZE;
+
+            mLastContentWidth = mViewPortHandler.contentWidth();
+            mLastContentHeight = mViewPortHandler.contentHeight();
+        }
+
+        float[] last = mLastTouchValues;
+        mLastTouchValues = mTouchValues;
+        mTouchValues = last;
+
+        return changes;
+    }
+
+    /**
+     * Draws everything below the highlight: grid background, axis lines, grid
+     * lines, limit lines and the data.
+     * 
+     * @param canvas
+     */
+    protected void drawBaseLayer(Canvas canvas) {
+
+        beginStage(FrameMetrics.STAGE_GRID);
 
         // execute all drawing commands
         drawGridBackground(canvas);
 
-        if (mAxisLeft.isEnabled())
-            mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum);
-        if (mAxisRight.isEnabled())
-            mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum);
-
         mXAxisRenderer.renderAxisLine(canvas);
         mAxisRendererLeft.renderAxisLine(canvas);
         mAxisRendererRight.renderAxisLine(canvas);
@@ -215,7 +529,13 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         if (mAxisRight.isDrawLimitLinesBehindDataEnabled())
             mAxisRendererRight.renderLimitLines(canvas);
 
+        endStage(FrameMetrics.STAGE_GRID);
+
+        beginStage(FrameMetrics.STAGE_DATA);
         mRenderer.drawData(canvas);
+        endStage(FrameMetrics.STAGE_DATA);
+
+        beginStage(FrameMetrics.STAGE_GRID);
 
         if (!mXAxis.isDrawLimitLinesBehindDataEnabled())
             mXAxisRenderer.renderLimitLines(canvas);
@@ -226,40 +546,457 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         if (!mAxisRight.isDrawLimitLinesBehindDataEnabled())
             mAxisRendererRight.renderLimitLines(canvas);
 
+        // Removes clipping rectangle
+        canvas.restoreToCount(clipRestoreCount);
+
+        endStage(FrameMetrics.STAGE_GRID);
+    }
+
+    /**
+     * Draws the range selection and the highlight indicators (if enabled),
+     * clipped to the content.
+     * 
+     * @param canvas
+     */
+    protected void drawHighlightOverlay(Canvas canvas) {
+
+        if (!mDataNotSet && mData != null && !mSelection.isEmpty()) {
+
+            beginStage(FrameMetrics.STAGE_HIGHLIGHT);
+
+            int clipRestoreCount = canvas.save();
+            canvas.clipRect(mViewPortHandler.getContentRect());
+
+            drawSelection(canvas);
+
+            canvas.restoreToCount(clipRestoreCount);
+
+            endStage(FrameMetrics.STAGE_HIGHLIGHT);
+        }
+
         // if highlighting is enabled
-        if (mHighlightEnabled && mHighLightIndicatorEnabled && valuesToHighlight())
+        if (mHighlightEnabled && mHighLightIndicatorEnabled && valuesToHighlight()) {
+
+            beginStage(FrameMetrics.STAGE_HIGHLIGHT);
+
+            int clipRestoreCount = canvas.save();
+            canvas.clipRect(mViewPortHandler.getContentRect());
+
             mRenderer.drawHighlighted(canvas, mIndicesToHightlight);
 
-        // Removes clipping rectangle
-        canvas.restoreToCount(clipRestoreCount);
+            canvas.restoreToCount(clipRestoreCount);
+
+            endStage(FrameMetrics.STAGE_HIGHLIGHT);
+        }
+    }
+
+    /**
+     * Draws everything above the highlight: extras (e.g. circles), axis
+     * labels, values, legend and description.
+     * 
+     * @param canvas
+     */
+    protected void drawTopLayer(Canvas canvas) {
 
+        beginStage(FrameMetrics.STAGE_EXTRAS);
         mRenderer.drawExtras(canvas);
+        endStage(FrameMetrics.STAGE_EXTRAS);
 
+        beginStage(FrameMetrics.STAGE_AXIS_LABELS);
         mXAxisRenderer.renderAxisLabels(canvas);
         mAxisRendererLeft.renderAxisLabels(canvas);
         mAxisRendererRight.renderAxisLabels(canvas);
+        endStage(FrameMetrics.STAGE_AXIS_LABELS);
 
+        beginStage(FrameMetrics.STAGE_VALUES);
         mRenderer.drawValues(canvas);
+        endStage(FrameMetrics.STAGE_VALUES);
 
+        beginStage(FrameMetrics.STAGE_LEGEND);
         mLegendRenderer.renderLegend(canvas);
         // drawLegend();
 
-        drawMarkers(canvas);
-
         drawDescription(canvas);
+        endStage(FrameMetrics.STAGE_LEGEND);
+    }
 
-        // canvas.drawBitmap(mDrawBitmap, 0, 0, mDrawPaint);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
 
-        if (mLogEnabled) {
-            long drawtime = (System.currentTimeMillis() - starttime);
-            totalTime += drawtime;
-            drawCycles += 1;
-            long average = totalTime / drawCycles;
-            Log.i(LOG_TAG, "Drawtime: " + drawtime + " ms, average: " + average + " ms, cycles: "
-                    + drawCycles);
+        // a wake-up posted from a background thread while the chart was
+        // detached is dropped (before API level 24), the queue would never
+        // wake the chart up again
+        if (mIngestionQueue != null) {
+
+            mIngestionQueue.setWakeUp(mIngestionWakeUp);
+
+            if (mIngestionQueue.getDepth() > 0)
+                notifyChanged(CHANGE_DATA);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // recreated by the first frame after the chart is attached again
+        mBaseLayer.release();
+        mTopLayer.release();
+    }
+
+    /**
+     * The cached layers are redrawn after every change but a change of the
+     * highlight, highlighting only redraws the highlight and the MarkerView
+     * on top of the layers.
+     */
+    @Override
+    public void notifyChanged(int changes) {
+
+        invalidateCaches(changes);
+
+        super.notifyChanged(changes);
+    }
+
+    /**
+     * Invalidates everything cached that depends on the given changes (layers
+     * and hit-test indices) without scheduling a frame.
+     * 
+     * @param changes
+     */
+    private void invalidateCaches(int changes) {
+
+        // the layers are null while the View is constructed
+        if (mBaseLayer != null && (changes & ~CHANGE_HIGHLIGHT) != 0) {
+            mBaseLayer.invalidate();
+            mTopLayer.invalidate();
+        }
+
+        if (mHitTestIndex != null && (changes & CHANGE_DATA) != 0) {
+            mHitTestIndex.invalidate();
+            mSpatialIndex.invalidate();
+        }
+    }
+
+    /**
+     * Sets a queue background threads can offer entries to, the chart drains
+     * it into its data before every frame (see IngestionQueue). Entries
+     * offered to the queue schedule a frame. Provide null to detach the
+     * queue.
+     * 
+     * @param queue
+     */
+    public void setIngestionQueue(IngestionQueue queue) {
+
+        if (mIngestionQueue != null)
+            mIngestionQueue.setWakeUp(null);
+
+        mIngestionQueue = queue;
+
+        if (queue != null)
+            queue.setWakeUp(mIngestionWakeUp);
+    }
+
+    /**
+     * Hands a new version of the data (e.g. created with
+     * ChartData.snapshot(...) on a background thread) to the chart, which
+     * swaps to it at the start of the next frame. Can be called from any
+     * thread, the data must not be modified by the caller afterwards. If
+     * several versions are posted before the next frame, only the latest one
+     * is drawn. If the number of DataSets did not change, the chart is updated
+     * like with notifyEntriesAppended() (the legend is not recalculated),
+     * otherwise like with notifyDataSetChanged(). An attached IngestionQueue
+     * adds to the new version on the UI thread if the number of DataSets did
+     * not change and the new version is mutable (see ChartData.isMutable(),
+     * versions built on SnapshotEntryList or SnapshotList are not). Otherwise
+     * the queue is not drained until it is pointed at the data of the chart
+     * again via IngestionQueue.setData(...).
+     * 
+     * @param data
+     */
+    public void postData(T data) {
+
+        if (data == null)
+            return;
+
+        // a frame is already scheduled if data was pending
+        if (mPendingData.getAndSet(data) == null)
+            post(mPendingDataFrame);
+    }
+
+    /**
+     * Partly asynchronous alternative to notifyDataSetChanged() for large
+     * data: the part that iterates over all entries, the minimum, maximum and
+     * sum of every DataSet (one task per DataSet, in parallel if the executor
+     * has several threads), of the ChartData and the average x-value length,
+     * is calculated on the given executor for a new version of the data (see
+     * DataSet.snapshot(...)), the chart keeps drawing the current version
+     * meanwhile. Once that is done, the chart swaps to the new version on the
+     * UI thread and recalculates axes, legend and offsets there (they measure
+     * text with the Paint objects of the chart, which are not thread-safe),
+     * buffers only grow. Then the listener (may be null) is called. If this
+     * is called again (or the data is replaced) before the preparation
+     * finished, the preparation is discarded without calling the listener.
+     * Call this on the UI thread after the entries have been modified, do not
+     * modify them until the listener is called. An attached IngestionQueue is
+     * not drained during the preparation and adds to the prepared version
+     * afterwards. Throws an UnsupportedOperationException for the
+     * CombinedChart and DataSets that do not support snapshots (see
+     * DataSet.isSnapshotSupported()). If the preparation fails, the chart
+     * keeps the current data and reports the error to the listener on the UI
+     * thread (or logs it if there is no listener).
+     * 
+     * @param executor
+     * @param listener
+     */
+    public void notifyDataSetChangedAsync(Executor executor,
+            final OnDataPreparedListener listener) {
+
+        if (mDataNotSet)
+            return;
+
+        if (mData instanceof CombinedData)
+            throw new UnsupportedOperationException(
+                    "The CombinedChart does not support asynchronous preparation.");
+
+        for (int i = 0; i < mData.getDataSetCount(); i++) {
+            if (!mData.getDataSetByIndex(i).isSnapshotSupported())
+                throw new UnsupportedOperationException("DataSet " + i
+                        + " does not support asynchronous preparation.");
+        }
+
+        mPreparing = true;
+
+        final T data = mData;
+        final int preparation = mPreparationCount.incrementAndGet();
+        final int count = data.getDataSetCount();
+
+        final DataSet<?>[] prepared = new DataSet<?>[count];
+        final AtomicInteger remaining = new AtomicInteger(count);
+
+        // runs on the thread that prepared the last DataSet
+        final Runnable finish = new Runnable() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public void run() {
+
+                if (preparation != mPreparationCount.get())
+                    return;
+
+                final T next;
+
+                try {
+                    next = (T) prepareChartData((ChartData<?>) data, prepared);
+                } catch (Throwable t) {
+                    failPreparation(preparation, t, listener);
+                    return;
+                }
+
+                post(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        if (preparation != mPreparationCount.get())
+                            return;
+
+                        mPreparing = false;
+
+                        if (mData != data)
+                            return;
+
+                        swapData(next, true);
+                        notifyChanged(CHANGE_DATA);
+
+                        if (listener != null)
+                            listener.onDataPrepared(next);
+                    }
+                });
+            }
+        };
+
+        if (count == 0) {
+            executor.execute(finish);
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+
+            final int index = i;
+
+            executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    if (preparation != mPreparationCount.get())
+                        return;
+
+                    try {
+                        prepared[index] = prepareDataSet(data.getDataSetByIndex(index));
+                    } catch (Throwable t) {
+                        failPreparation(preparation, t, listener);
+                        return;
+                    }
+
+                    if (remaining.decrementAndGet() == 0)
+                        finish.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Ends the given preparation because of the given error, which is reported
+     * to the listener on the UI thread unless a newer preparation has been
+     * started. The chart keeps its current data.
+     * 
+     * @param preparation
+     * @param t
+     * @param listener
+     */
+    private void failPreparation(final int preparation, final Throwable t,
+            final OnDataPreparedListener listener) {
+
+        post(new Runnable() {
+
+            @Override
+            public void run() {
+
+                if (preparation != mPreparationCount.get())
+                    return;
+
+                mPreparing = false;
+
+                if (listener != null)
+                    listener.onPreparationFailed(t);
+                else
+                    Log.e(LOG_TAG, "Preparing the data failed.", t);
+            }
+        });
+    }
+
+    /**
+     * Creates a version of the given DataSet with minimum, maximum and sum
+     * recalculated from its entries.
+     * 
+     * @param set
+     * @return
+     */
+    private static <E extends Entry> DataSet<E> prepareDataSet(DataSet<E> set) {
+        return set.snapshot(set.getYVals());
+    }
+
+    /**
+     * Creates a version of the given data holding the given prepared
+     * DataSets.
+     * 
+     * @param data
+     * @param sets
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static <D extends DataSet<? extends Entry>> ChartData<D> prepareChartData(
+            ChartData<D> data, DataSet<?>[] sets) {
+
+        List<D> list = new ArrayList<D>(sets.length);
+
+        for (int i = 0; i < sets.length; i++)
+            list.add((D) sets[i]);
+
+        return data.snapshot(data.getXVals(), list);
+    }
+
+    /**
+     * Replaces the data of the chart with the given version on the UI thread
+     * and updates the chart for it. If the number of DataSets did not change,
+     * the buffers are kept (only grown), and unless everything is
+     * recalculated the chart is updated like for appended entries.
+     * 
+     * @param data
+     * @param recalculateAll
+     */
+    private void swapData(T data, boolean recalculateAll) {
+
+        T previous = mData;
+        int previousDataSetCount = previous.getDataSetCount();
+
+        mData = data;
+
+        // the queue adds to the DataSets of the new version from now on,
+        // immutable versions (SnapshotEntryList) can not be added to
+        if (mIngestionQueue != null && mIngestionQueue.getData() == previous
+                && data.getDataSetCount() == previousDataSetCount && data.isMutable())
+            mIngestionQueue.setData(data);
+
+        for (DataSet<?> set : data.getDataSets()) {
+            if (set.needsDefaultFormatter())
+                set.setValueFormatter(mDefaultFormatter);
+        }
+
+        if (data.getDataSetCount() != previousDataSetCount) {
+
+            notifyDataSetChanged();
+
+        } else if (recalculateAll) {
+
+            mChanges |= CHANGE_DATA;
+            invalidateCaches(CHANGE_DATA);
+
+            if (mRenderer != null)
+                mRenderer.growBuffers();
+
+            computeAxesAndLegend();
+
+        } else {
+
+            notifyEntriesAppended();
+
+            // the x-axis still holds the x-values of the previous version
+            mXAxisRenderer.computeAxis(data.getXValAverageLength(), data.getXVals());
+        }
+    }
+
+    /**
+     * Returns the queue the chart drains before every frame, null if none.
+     * 
+     * @return
+     */
+    public IngestionQueue getIngestionQueue() {
+        return mIngestionQueue;
+    }
+
+    /**
+     * If set to true, the content of the chart (everything but the highlight
+     * and the MarkerView) is cached in two bitmaps of the size of the chart
+     * and only redrawn after a change (invalidate() or notifyChanged(...)).
+     * Highlighting values then only costs drawing the bitmaps. Frames of a
+     * drag, zoom or animation bypass the cache. The bitmaps need 8 bytes per
+     * pixel, they are released when the chart is detached from its window.
+     * Default: false
+     * 
+     * @param enabled
+     */
+    public void setLayerCacheEnabled(boolean enabled) {
+
+        mLayerCacheEnabled = enabled;
+
+        if (!enabled) {
+            mBaseLayer.release();
+            mTopLayer.release();
         }
     }
 
+    /**
+     * Returns true if the content of the chart is cached in layers.
+     * 
+     * @return
+     */
+    public boolean isLayerCacheEnabled() {
+        return mLayerCacheEnabled;
+    }
+
     /**
      * RESET PERFORMANCE TRACKING FIELDS
      */
@@ -298,9 +1035,23 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
                 Log.i(LOG_TAG, "Preparing...");
         }
 
+        mData.notifyDataSetsChanged();
+
+        mChanges |= CHANGE_DATA;
+        invalidateCaches(CHANGE_DATA);
+
         if (mRenderer != null)
             mRenderer.initBuffers();
 
+        computeAxesAndLegend();
+    }
+
+    /**
+     * Recalculates the axes, the legend and the offsets for the current data.
+     * The legend is only measured again if its labels or colors changed.
+     */
+    private void computeAxesAndLegend() {
+
         calcMinMax();
 
         if (mAxisLeft.needsDefaultFormatter())
@@ -318,6 +1069,84 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         calculateOffsets();
     }
 
+    /**
+     * Lightweight alternative to notifyDataSetChanged() for streaming data.
+     * Call this after entries have been appended to the DataSets of the chart
+     * (via addEntry(...)) and x-values have been appended to the ChartData.
+     * Buffers only grow when they are too small (with spare capacity), the
+     * axes and offsets are only recalculated if the y-range of an axis changed,
+     * the legend is not recalculated. Call notifyDataSetChanged() instead if
+     * DataSets have been added or removed, or their labels or colors changed.
+     */
+    public void notifyEntriesAppended() {
+
+        if (mDataNotSet)
+            return;
+
+        int xLabelLength = Math.round(mData.getXValAverageLength());
+
+        mData.notifyDataAppended();
+
+        mChanges |= CHANGE_DATA;
+        invalidateCaches(CHANGE_DATA);
+
+        if (mRenderer != null)
+            mRenderer.growBuffers();
+
+        float leftMin = mAxisLeft.mAxisMinimum;
+        float leftMax = mAxisLeft.mAxisMaximum;
+        float rightMin = mAxisRight.mAxisMinimum;
+        float rightMax = mAxisRight.mAxisMaximum;
+
+        calcMinMax();
+
+        // the label width only depends on the rounded average x-value length
+        if (xLabelLength != Math.round(mData.getXValAverageLength()))
+            mXAxisRenderer.computeAxis(mData.getXValAverageLength(), mData.getXVals());
+
+        boolean yRangeChanged = leftMin != mAxisLeft.mAxisMinimum
+                || leftMax != mAxisLeft.mAxisMaximum
+                || rightMin != mAxisRight.mAxisMinimum
+                || rightMax != mAxisRight.mAxisMaximum;
+
+        if (yRangeChanged) {
+            mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum);
+            mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum);
+        }
+
+        // the y-labels (and with them the offsets) can only change if the
+        // y-range changed
+        if (yRangeChanged)
+            calculateOffsets();
+        else
+            prepareValuePxMatrix();
+    }
+
+    /**
+     * Recalculates the y-axis ranges from the visible entries if the visible
+     * x-range changed since the last call. Returns true if the ranges have
+     * been recalculated.
+     * 
+     * @return
+     */
+    protected boolean autoScaleMinMax() {
+
+        int lowest = getLowestVisibleXIndex();
+        int highest = getHighestVisibleXIndex();
+
+        if (lowest == mAutoScaleLastLowestVisibleXIndex
+                && highest == mAutoScaleLastHighestVisibleXIndex)
+            return false;
+
+        mAutoScaleLastLowestVisibleXIndex = lowest;
+        mAutoScaleLastHighestVisibleXIndex = highest;
+
+        calcMinMax();
+        calculateOffsets();
+
+        return true;
+    }
+
     @Override
     protected void calcMinMax() {
 
@@ -326,6 +1155,30 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         float minRight = mData.getYMin(AxisDependency.RIGHT);
         float maxRight = mData.getYMax(AxisDependency.RIGHT);
 
+        // only consider the visible entries, the visible range can only be
+        // determined once the chart has been measured
+        if (mAutoScaleMinMaxEnabled && mViewPortHandler.hasChartDimens()) {
+
+            int lowest = getLowestVisibleXIndex();
+            int highest = getHighestVisibleXIndex();
+
+            float visibleMinLeft = mData.getYMin(AxisDependency.LEFT, lowest, highest);
+            float visibleMaxLeft = mData.getYMax(AxisDependency.LEFT, lowest, highest);
+            float visibleMinRight = mData.getYMin(AxisDependency.RIGHT, lowest, highest);
+            float visibleMaxRight = mData.getYMax(AxisDependency.RIGHT, lowest, highest);
+
+            // NaN if nothing is visible, keep the full range in that case
+            if (!Float.isNaN(visibleMinLeft) && !Float.isNaN(visibleMaxLeft)) {
+                minLeft = visibleMinLeft;
+                maxLeft = visibleMaxLeft;
+            }
+
+            if (!Float.isNaN(visibleMinRight) && !Float.isNaN(visibleMaxRight)) {
+                minRight = visibleMinRight;
+                maxRight = visibleMaxRight;
+            }
+        }
+
         float leftRange = Math.abs(maxLeft - (mAxisLeft.isStartAtZeroEnabled() ? 0 : minLeft));
         float rightRange = Math.abs(maxRight - (mAxisRight.isStartAtZeroEnabled() ? 0 : minRight));
 
@@ -554,7 +1407,8 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void zoomIn() {
         Matrix save = mViewPortHandler.zoomIn(getWidth() / 2f, -(getHeight() / 2f));
-        mViewPortHandler.refresh(save, this, true);
+        mViewPortHandler.refresh(save, this, false);
+        notifyChanged(CHANGE_VIEWPORT);
     }
 
     /**
@@ -562,7 +1416,8 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void zoomOut() {
         Matrix save = mViewPortHandler.zoomOut(getWidth() / 2f, -(getHeight() / 2f));
-        mViewPortHandler.refresh(save, this, true);
+        mViewPortHandler.refresh(save, this, false);
+        notifyChanged(CHANGE_VIEWPORT);
     }
 
     /**
@@ -576,7 +1431,8 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void zoom(float scaleX, float scaleY, float x, float y) {
         Matrix save = mViewPortHandler.zoom(scaleX, scaleY, x, -y);
-        mViewPortHandler.refresh(save, this, true);
+        mViewPortHandler.refresh(save, this, false);
+        notifyChanged(CHANGE_VIEWPORT);
     }
 
     /**
@@ -585,7 +1441,8 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void fitScreen() {
         Matrix save = mViewPortHandler.fitScreen();
-        mViewPortHandler.refresh(save, this, true);
+        mViewPortHandler.refresh(save, this, false);
+        notifyChanged(CHANGE_VIEWPORT);
     }
 
     /**
@@ -867,6 +1724,31 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         this.mDragEnabled = enabled;
     }
 
+    /**
+     * If set to true, the y-axis ranges are calculated from the entries that
+     * are currently visible (and recalculated whenever the visible x-range
+     * changes) instead of from all entries. The minimum and maximum of the
+     * visible entries are answered by a range-query structure of each DataSet,
+     * panning does not iterate over the entries. Default: false
+     * 
+     * @param enabled
+     */
+    public void setAutoScaleMinMaxEnabled(boolean enabled) {
+        mAutoScaleMinMaxEnabled = enabled;
+        mAutoScaleLastLowestVisibleXIndex = -1;
+        mAutoScaleLastHighestVisibleXIndex = -1;
+    }
+
+    /**
+     * Returns true if the y-axis ranges are calculated from the visible
+     * entries only.
+     * 
+     * @return
+     */
+    public boolean isAutoScaleMinMaxEnabled() {
+        return mAutoScaleMinMaxEnabled;
+    }
+
     /**
      * Returns true if dragging is enabled for the chart, false if not.
      * 
@@ -975,9 +1857,9 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
             return null;
         }
 
-        // create an array of the touch-point
-        float[] pts = new float[2];
+        float[] pts = mTouchPointBuffer;
         pts[0] = x;
+        pts[1] = y;
 
         // take any transformer to determine the x-axis value
         mLeftAxisTransformer.pixelsToValue(pts);
@@ -1003,24 +1885,24 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
             xIndex = (int) base + 1;
         }
 
-        List<SelInfo> valsAtIndex = getYValsAtIndex(xIndex);
-
-        float leftdist = Utils.getMinimumDistance(valsAtIndex, y, AxisDependency.LEFT);
-        float rightdist = Utils.getMinimumDistance(valsAtIndex, y, AxisDependency.RIGHT);
+        // closest DataSet on both axes, without collecting the values at the
+        // x-index (see getYValsAtIndex(...))
+        int dataSetIndex = mHitTestIndex.getClosestDataSetIndex(mData, xIndex, y,
+                mLeftAxisTransformer, mRightAxisTransformer);
 
-        if (mData.getFirstRight() == null)
-            rightdist = Float.MAX_VALUE;
-        if (mData.getFirstLeft() == null)
-            leftdist = Float.MAX_VALUE;
+        if (dataSetIndex == -1)
+            return null;
 
-        AxisDependency axis = leftdist < rightdist ? AxisDependency.LEFT : AxisDependency.RIGHT;
+        // dragging over the same value does not create a new Highlight
+        Highlight last = mLastTouchHighlight;
 
-        int dataSetIndex = Utils.getClosestDataSetIndex(valsAtIndex, y, axis);
+        if (last != null && last.getXIndex() == xIndex && last.getDataSetIndex() == dataSetIndex
+                && last.getStackIndex() == -1)
+            return last;
 
-        if (dataSetIndex == -1)
-            return null;
+        mLastTouchHighlight = new Highlight(xIndex, dataSetIndex);
 
-        return new Highlight(xIndex, dataSetIndex);
+        return mLastTouchHighlight;
     }
 
     /**
@@ -1055,6 +1937,251 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         return vals;
     }
 
+    /**
+     * Selects all entries inside the given rectangle (in pixels, e.g. the
+     * area dragged by the user) and returns them. The selection is drawn
+     * above the data until it is cleared. Replaces the previous selection,
+     * the returned object is reused by the next selection.
+     * 
+     * @param x1
+     * @param y1
+     * @param x2
+     * @param y2
+     * @return
+     */
+    public Selection selectValuesInRect(float x1, float y1, float x2, float y2) {
+
+        float[] pts = mSelectionCorners;
+
+        pts[0] = x1;
+        pts[1] = y1;
+        pts[2] = x2;
+        pts[3] = y2;
+        mLeftAxisTransformer.pixelsToValue(pts);
+
+        pts[4] = x1;
+        pts[5] = y1;
+        pts[6] = x2;
+        pts[7] = y2;
+        mRightAxisTransformer.pixelsToValue(pts, 4, 4);
+
+        return select(null, true, null, 0);
+    }
+
+    /**
+     * Selects all entries of the DataSets plotted against the given axis whose
+     * x-index and value are inside the given ranges (bounds included) and
+     * returns them, see selectValuesInRect(float, float, float, float).
+     * 
+     * @param xIndexFrom
+     * @param xIndexTo
+     * @param valFrom
+     * @param valTo
+     * @param axis
+     * @return
+     */
+    public Selection selectValuesInRect(float xIndexFrom, float xIndexTo, float valFrom,
+            float valTo, AxisDependency axis) {
+
+        float[] pts = mSelectionCorners;
+
+        pts[0] = pts[4] = xIndexFrom;
+        pts[1] = pts[5] = valFrom;
+        pts[2] = pts[6] = xIndexTo;
+        pts[3] = pts[7] = valTo;
+
+        return select(axis, true, null, 0);
+    }
+
+    /**
+     * Selects all entries inside the given polygon (lasso, in pixels, x and y
+     * of every vertex after another, even-odd rule) and returns them, see
+     * selectValuesInRect(float, float, float, float).
+     * 
+     * @param polygon
+     * @param count the number of floats of the polygon (two per vertex)
+     * @return
+     */
+    public Selection selectValuesInPath(float[] polygon, int count) {
+
+        float[] pts = mSelectionPolygon;
+
+        if (pts.length < count * 2) {
+            pts = new float[count * 2];
+            mSelectionPolygon = pts;
+        }
+
+        // the polygon in values of the left axis, followed by the right axis
+        System.arraycopy(polygon, 0, pts, 0, count);
+        System.arraycopy(polygon, 0, pts, count, count);
+
+        mLeftAxisTransformer.pixelsToValue(pts, 0, count);
+        mRightAxisTransformer.pixelsToValue(pts, count, count);
+
+        return select(null, false, pts, count);
+    }
+
+    /**
+     * Selects all entries of the DataSets plotted against the given axis that
+     * are inside the given polygon (lasso, pairs of x-index and value, even-odd
+     * rule) and returns them, see selectValuesInRect(float, float, float,
+     * float).
+     * 
+     * @param polygon
+     * @param count the number of floats of the polygon (two per vertex)
+     * @param axis
+     * @return
+     */
+    public Selection selectValuesInPath(float[] polygon, int count, AxisDependency axis) {
+
+        float[] pts = mSelectionPolygon;
+
+        if (pts.length < count * 2) {
+            pts = new float[count * 2];
+            mSelectionPolygon = pts;
+        }
+
+        System.arraycopy(polygon, 0, pts, 0, count);
+        System.arraycopy(polygon, 0, pts, count, count);
+
+        return select(axis, false, pts, count);
+    }
+
+    /**
+     * Queries the spatial index for every DataSet (of the given axis, all if
+     * null) with the rectangle in mSelectionCorners or the given polygon, both
+     * in values of the left axis followed by values of the right axis.
+     * 
+     * @param axis
+     * @param rect
+     * @param polygon
+     * @param count
+     * @return
+     */
+    private Selection select(AxisDependency axis, boolean rect, float[] polygon, int count) {
+
+        Selection selection = mSelection;
+
+        if (mDataNotSet || mData == null) {
+            selection.clear(0);
+            return selection;
+        }
+
+        selection.clear(mData.getDataSetCount());
+
+        float[] c = mSelectionCorners;
+
+        for (int i = 0; i < mData.getDataSetCount(); i++) {
+
+            AxisDependency dependency = mData.getDataSetByIndex(i).getAxisDependency();
+
+            if (axis != null && dependency != axis)
+                continue;
+
+            int offset = dependency == AxisDependency.LEFT ? 0 : 4;
+
+            if (rect) {
+                mSpatialIndex.queryRect(mData, i,
+                        Math.min(c[offset], c[offset + 2]), Math.min(c[offset + 1], c[offset + 3]),
+                        Math.max(c[offset], c[offset + 2]), Math.max(c[offset + 1], c[offset + 3]),
+                        selection);
+            } else {
+                mSpatialIndex.queryPolygon(mData, i, polygon,
+                        dependency == AxisDependency.LEFT ? 0 : count, count, selection);
+            }
+        }
+
+        notifyChanged(CHANGE_HIGHLIGHT);
+
+        return selection;
+    }
+
+    /**
+     * Returns the entries selected by the last range selection
+     * (selectValuesInRect(...) or selectValuesInPath(...)).
+     * 
+     * @return
+     */
+    public Selection getSelection() {
+        return mSelection;
+    }
+
+    /**
+     * Clears the range selection.
+     */
+    public void clearSelection() {
+        mSelection.clear(0);
+        notifyChanged(CHANGE_HIGHLIGHT);
+    }
+
+    /**
+     * Sets the color the selected entries are drawn with.
+     * 
+     * @param color
+     */
+    public void setSelectionColor(int color) {
+        mSelectionPaint.setColor(color);
+        notifyChanged(CHANGE_HIGHLIGHT);
+    }
+
+    /**
+     * Sets the size (in dp) of the points the selected entries are drawn
+     * with. Default: 6dp
+     * 
+     * @param size
+     */
+    public void setSelectionPointSize(float size) {
+        mSelectionPaint.setStrokeWidth(Utils.convertDpToPixel(size));
+        notifyChanged(CHANGE_HIGHLIGHT);
+    }
+
+    /**
+     * Draws the entries of the range selection as points, one batch per
+     * DataSet.
+     * 
+     * @param canvas
+     */
+    protected void drawSelection(Canvas canvas) {
+
+        Selection selection = mSelection;
+        int setCount = Math.min(selection.getDataSetCount(), mData.getDataSetCount());
+
+        for (int i = 0; i < setCount; i++) {
+
+            int count = selection.getCount(i);
+
+            if (count == 0)
+                continue;
+
+            DataSet<?> set = mData.getDataSetByIndex(i);
+
+            if (mSelectionBuffer.length < count * 2)
+                mSelectionBuffer = new float[count * 2];
+
+            float[] buffer = mSelectionBuffer;
+            int[] positions = selection.getPositions(i);
+            int entryCount = set.getEntryCount();
+            int size = 0;
+
+            for (int j = 0; j < count; j++) {
+
+                int pos = positions[j];
+
+                // the data might have changed since the selection was made
+                if (pos >= entryCount)
+                    continue;
+
+                buffer[size++] = set.getXIndexAt(pos);
+                buffer[size++] = set.getYValAt(pos);
+            }
+
+            getTransformer(set.getAxisDependency()).pointValuesToPixel(buffer, 0, size,
+                    mAnimator.getPhaseY());
+
+            canvas.drawPoints(buffer, 0, size, mSelectionPaint);
+        }
+    }
+
     /**
      * Returns the x and y values in the chart at the given touch point
      * (encapsulated in a PointD). This method transforms pixel coordinates to
@@ -1148,9 +2275,9 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      * @return
      */
     public int getLowestVisibleXIndex() {
-        float[] pts = new float[] {
-                mViewPortHandler.contentLeft(), mViewPortHandler.contentBottom()
-        };
+        float[] pts = mVisibleXIndexBuffer;
+        pts[0] = mViewPortHandler.contentLeft();
+        pts[1] = mViewPortHandler.contentBottom();
         getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
         return (pts[0] <= 0) ? 0 : (int) (pts[0] + 1);
     }
@@ -1162,9 +2289,9 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      * @return
      */
     public int getHighestVisibleXIndex() {
-        float[] pts = new float[] {
-                mViewPortHandler.contentRight(), mViewPortHandler.contentBottom()
-        };
+        float[] pts = mVisibleXIndexBuffer;
+        pts[0] = mViewPortHandler.contentRight();
+        pts[1] = mViewPortHandler.contentBottom();
         getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
         return (pts[0] >= mData.getXValCount()) ? mData.getXValCount() - 1 : (int) pts[0];
     }
@@ -1250,7 +2377,7 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void enableFiltering(Approximator a) {
         mFilterData = true;
-        // mApproximator = a;
+        mApproximator = a;
     }
 
     /**
@@ -1269,6 +2396,11 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         return mFilterData;
     }
 
+    @Override
+    public Approximator getApproximator() {
+        return mFilterData ? mApproximator : null;
+    }
+
     /**
      * if set to true, both x and y axis can be scaled with 2 fingers, if false,
      * x and y axis can be scaled separately. default: false
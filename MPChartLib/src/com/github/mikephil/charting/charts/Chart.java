@@ -35,9 +35,11 @@ import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.ChartInterface;
 import com.github.mikephil.charting.listener.OnChartGestureListener;
 import com.github.mikephil.charting.listener.OnChartValueSelectedListener;
+import com.github.mikephil.charting.listener.OnFrameMetricsListener;
 import com.github.mikephil.charting.renderer.DataRenderer;
 import com.github.mikephil.charting.renderer.LegendRenderer;
 import com.github.mikephil.charting.utils.DefaultValueFormatter;
+import com.github.mikephil.charting.utils.FrameMetrics;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ValueFormatter;
@@ -175,7 +177,7 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
                 @Override
                 public void onAnimationUpdate(ValueAnimator animation) {
                     // ViewCompat.postInvalidateOnAnimation(Chart.this);
-                    postInvalidate();
+                    post(mAnimationFrame);
                 }
             });
 
@@ -314,7 +316,9 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
 
     /**
      * Lets the chart know its underlying data has changed and performs all
-     * necessary recalculations.
+     * necessary recalculations. Every DataSet is notified as well, so values
+     * of entries that have been changed in place (e.g. via Entry.setVal(...))
+     * are picked up.
      */
     public abstract void notifyDataSetChanged();
 
@@ -352,6 +356,82 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
     /** flag that indicates if offsets calculation has already been done or not */
     private boolean mOffsetsCalculated = false;
 
+    /** change flag: entries, x-values or DataSets changed */
+    public static final int CHANGE_DATA = 1;
+
+    /** change flag: the x-axis has been zoomed */
+    public static final int CHANGE_SCALE_X = 1 << 1;
+
+    /** change flag: the y-axis has been zoomed */
+    public static final int CHANGE_SCALE_Y = 1 << 2;
+
+    /** change flag: the chart has been dragged horizontally */
+    public static final int CHANGE_TRANSLATION_X = 1 << 3;
+
+    /** change flag: the chart has been dragged vertically */
+    public static final int CHANGE_TRANSLATION_Y = 1 << 4;
+
+    /** change flag: the size of the chart or its content changed */
+    public static final int CHANGE_SIZE = 1 << 5;
+
+    /** change flag: styling (colors, labels, axis settings, ...) changed */
+    public static final int CHANGE_STYLE = 1 << 6;
+
+    /** change flag: the highlighted values changed */
+    public static final int CHANGE_HIGHLIGHT = 1 << 7;
+
+    /** change flag: the animation phases changed */
+    public static final int CHANGE_ANIMATION = 1 << 8;
+
+    /** all changes of the viewport (zoom and translation) */
+    public static final int CHANGE_VIEWPORT = CHANGE_SCALE_X | CHANGE_SCALE_Y
+            | CHANGE_TRANSLATION_X | CHANGE_TRANSLATION_Y;
+
+    /** the changes since the last frame, combination of the CHANGE_ flags */
+    protected int mChanges = CHANGE_DATA | CHANGE_SIZE | CHANGE_STYLE;
+
+    /** redraws the chart after the animation phases changed */
+    private Runnable mAnimationFrame = new Runnable() {
+
+        @Override
+        public void run() {
+            notifyChanged(CHANGE_ANIMATION);
+        }
+    };
+
+    /**
+     * Redraws the chart after an unknown change, e.g. of the styling. Same as
+     * notifyChanged(CHANGE_STYLE), use notifyChanged(...) if it is known what
+     * changed so that the chart only recalculates what depends on it.
+     */
+    @Override
+    public void invalidate() {
+        notifyChanged(CHANGE_STYLE);
+    }
+
+    /**
+     * Records the given changes (combination of the CHANGE_ flags) and redraws
+     * the chart. Before the next frame is drawn, the chart only recalculates
+     * what depends on the recorded changes (e.g. the x-label modulus is not
+     * recalculated after a horizontal drag).
+     * 
+     * @param changes
+     */
+    public void notifyChanged(int changes) {
+        mChanges |= changes;
+        super.invalidate();
+    }
+
+    /**
+     * Returns the changes that have been recorded since the last frame
+     * (combination of the CHANGE_ flags).
+     * 
+     * @return
+     */
+    public int getChanges() {
+        return mChanges;
+    }
+
     /**
      * Bitmap object used for drawing. This is necessary because hardware
      * acceleration uses OpenGL which only allows a specific texture size to be
@@ -457,8 +537,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         // set the indices to highlight
         mIndicesToHightlight = highs;
 
-        // redraw the chart
-        invalidate();
+        // redraw the highlight
+        notifyChanged(CHANGE_HIGHLIGHT);
     }
 
     /**
@@ -503,8 +583,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             };
         }
 
-        // redraw the chart
-        invalidate();
+        // redraw the highlight
+        notifyChanged(CHANGE_HIGHLIGHT);
 
         if (mSelectionListener != null) {
 
@@ -1217,6 +1297,72 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         return mViewPortHandler;
     }
 
+    /** records the stages of every frame, null if disabled */
+    protected FrameMetrics mFrameMetrics = null;
+
+    /**
+     * Sets the FrameMetrics object that records the time spent in the stages
+     * of every frame and counts entries fed, entries culled and draw calls.
+     * Provide null to disable recording (default), the chart then records
+     * nothing.
+     * 
+     * @param metrics
+     */
+    public void setFrameMetrics(FrameMetrics metrics) {
+        mFrameMetrics = metrics;
+    }
+
+    /**
+     * Returns the FrameMetrics object of the chart, null if recording is
+     * disabled.
+     * 
+     * @return
+     */
+    public FrameMetrics getFrameMetrics() {
+        return mFrameMetrics;
+    }
+
+    /**
+     * Sets a listener that is called with the metrics of every frame,
+     * recording is enabled (with a rolling window of 120 frames) if it is not
+     * already. Provide null to disable recording.
+     * 
+     * @param l
+     */
+    public void setOnFrameMetricsListener(OnFrameMetricsListener l) {
+
+        if (l == null) {
+            mFrameMetrics = null;
+            return;
+        }
+
+        if (mFrameMetrics == null)
+            mFrameMetrics = new FrameMetrics();
+
+        mFrameMetrics.setOnFrameMetricsListener(l);
+    }
+
+    /**
+     * Starts timing the given stage (FrameMetrics.STAGE_...) if recording is
+     * enabled.
+     * 
+     * @param stage
+     */
+    protected void beginStage(int stage) {
+        if (mFrameMetrics != null)
+            mFrameMetrics.begin(stage);
+    }
+
+    /**
+     * Stops timing the given stage if recording is enabled.
+     * 
+     * @param stage
+     */
+    protected void endStage(int stage) {
+        if (mFrameMetrics != null)
+            mFrameMetrics.end(stage);
+    }
+
     /**
      * Returns the Renderer object the chart uses for drawing data.
      * 
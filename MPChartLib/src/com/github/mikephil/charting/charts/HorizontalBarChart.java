@@ -194,6 +194,28 @@ public class HorizontalBarChart extends BarChart {
         return new PointF(vals[0], vals[1]);
     }
 
+    @Override
+    public int getLowestVisibleXIndex() {
+
+        // the x-axis is vertical
+        float[] pts = mVisibleXIndexBuffer;
+        pts[0] = mViewPortHandler.contentLeft();
+        pts[1] = mViewPortHandler.contentBottom();
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return (pts[1] <= 0) ? 0 : (int) (pts[1] + 1);
+    }
+
+    @Override
+    public int getHighestVisibleXIndex() {
+
+        // the x-axis is vertical
+        float[] pts = mVisibleXIndexBuffer;
+        pts[0] = mViewPortHandler.contentLeft();
+        pts[1] = mViewPortHandler.contentTop();
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return (pts[1] >= mData.getXValCount()) ? mData.getXValCount() - 1 : (int) pts[1];
+    }
+
     /**
      * Returns the Highlight object (contains x-index and DataSet index) of the
      * selected value at the given touch point inside the BarChart.
@@ -210,8 +232,7 @@ public class HorizontalBarChart extends BarChart {
             return null;
         }
 
-        // create an array of the touch-point
-        float[] pts = new float[2];
+        float[] pts = mTouchPointBuffer;
         pts[0] = x;
         pts[1] = y;
 
@@ -82,6 +82,8 @@ public abstract class PieRadarChartBase<T extends ChartData<? extends DataSet<?
         if (mDataNotSet)
             return;
 
+        mData.notifyDataSetsChanged();
+
         calcMinMax();
 
         mLegendRenderer.computeLegend(mData);
@@ -131,6 +131,8 @@ public class RadarChart extends PieRadarChartBase<RadarData> {
         if (mDataNotSet)
             return;
 
+        mData.notifyDataSetsChanged();
+
         calcMinMax();
 
         if (mYAxis.needsDefaultFormatter()) {
@@ -65,6 +65,15 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
         return copied;
     }
 
+    @Override
+    protected void onSnapshot(DataSet<BarEntry> previous) {
+        super.onSnapshot(previous);
+
+        mStackSize = 1;
+        calcStackSize(mYVals);
+        calcEntryCountIncludingStacks(mYVals);
+    }
+
     /**
      * Calculates the total number of entries this DataSet represents, including
      * stacks. All values belonging to a stack are calculated separately.
@@ -75,7 +84,7 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
 
         for (int i = 0; i < yVals.size(); i++) {
 
-            float[] vals = yVals.get(i).getVals();
+            float[] vals = getStackAt(yVals, i);
 
             if (vals == null)
                 mEntryCountStacks++;
@@ -92,13 +101,25 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
 
         for (int i = 0; i < yVals.size(); i++) {
 
-            float[] vals = yVals.get(i).getVals();
+            float[] vals = getStackAt(yVals, i);
 
             if (vals != null && vals.length > mStackSize)
                 mStackSize = vals.length;
         }
     }
 
+    /**
+     * Returns the stack values of the entry at the given position, without
+     * creating an Entry object for columnar entries.
+     */
+    private static float[] getStackAt(List<BarEntry> yVals, int index) {
+
+        if (yVals instanceof ColumnarEntryList)
+            return ((ColumnarEntryList<?>) yVals).getStack(index);
+
+        return yVals.get(index).getVals();
+    }
+
     /**
      * Returns the maximum number of bars that can be stacked upon another in
      * this DataSet.
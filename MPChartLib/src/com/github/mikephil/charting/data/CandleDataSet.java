@@ -90,6 +90,16 @@ public class CandleDataSet extends BarLineScatterCandleDataSet<CandleEntry> {
         }
     }
 
+    @Override
+    protected float getYLowAt(int index) {
+        return mYVals.get(index).getLow();
+    }
+
+    @Override
+    protected float getYHighAt(int index) {
+        return mYVals.get(index).getHigh();
+    }
+
     /**
      * Sets the space that is left out on the left and right side of each
      * candle, default 0.1f (10%), max 0.45f, min 0f
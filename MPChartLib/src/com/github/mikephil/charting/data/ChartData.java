@@ -18,7 +18,7 @@ import java.util.List;
  * 
  * @author Philipp Jahoda
  */
-public abstract class ChartData<T extends DataSet<? extends Entry>> {
+public abstract class ChartData<T extends DataSet<? extends Entry>> implements Cloneable {
 
     /** maximum y-value in the y-value array across all axes */
     protected float mYMax = 0.0f;
@@ -46,6 +46,12 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     private float mXValAverageLength = 0;
 
+    /** sum of the lengths of the x-values the average length is based on */
+    private float mXValLengthSum = 0f;
+
+    /** number of x-values the average length is based on */
+    private int mXValLengthCount = 0;
+
     /** holds all x-values the chart represents */
     protected List<String> mXVals;
 
@@ -141,18 +147,36 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     private void calcXValAverageLength() {
 
-        if (mXVals.size() <= 0) {
-            mXValAverageLength = 1;
-            return;
+        mXValLengthSum = 0f;
+        mXValLengthCount = 0;
+
+        appendXValAverageLength();
+    }
+
+    /**
+     * updates the average length of the x-value strings with the x-values that
+     * have been added since the last calculation
+     */
+    private void appendXValAverageLength() {
+
+        // x-values have been removed, start over
+        if (mXValLengthCount > mXVals.size()) {
+            mXValLengthSum = 0f;
+            mXValLengthCount = 0;
         }
 
-        float sum = 1f;
+        for (int i = mXValLengthCount; i < mXVals.size(); i++) {
+            mXValLengthSum += mXVals.get(i).length();
+        }
+
+        mXValLengthCount = mXVals.size();
 
-        for (int i = 0; i < mXVals.size(); i++) {
-            sum += mXVals.get(i).length();
+        if (mXValLengthCount <= 0) {
+            mXValAverageLength = 1;
+            return;
         }
 
-        mXValAverageLength = sum / (float) mXVals.size();
+        mXValAverageLength = (1f + mXValLengthSum) / (float) mXValLengthCount;
     }
 
     /**
@@ -184,6 +208,100 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
         init(mDataSets);
     }
 
+    /**
+     * Call this method if the values of entries have been changed in place
+     * (e.g. via Entry.setVal(...)). Every DataSet recalculates what it derived
+     * from its entries (see DataSet.notifyDataSetChanged()), then the ChartData
+     * is recalculated. Called by Chart.notifyDataSetChanged().
+     */
+    public void notifyDataSetsChanged() {
+        for (int i = 0; i < mDataSets.size(); i++)
+            mDataSets.get(i).notifyDataSetChanged();
+
+        notifyDataChanged();
+    }
+
+    /**
+     * Call this method instead of notifyDataChanged() if entries have only been
+     * appended to the DataSets (via addEntry(...)) and x-values have only been
+     * appended to the x-values. Minimum, maximum, sum and count are gathered
+     * from the values each DataSet already keeps up to date instead of
+     * iterating over all entries, the average x-value length is only updated
+     * with the new x-values.
+     */
+    public void notifyDataAppended() {
+
+        calcMinMax(mDataSets);
+        calcYValueSum(mDataSets);
+        calcYValueCount(mDataSets);
+
+        appendXValAverageLength();
+    }
+
+    /**
+     * Returns a new version of this ChartData that holds the given x-values
+     * and DataSets (e.g. created with DataSet.snapshot(...)) and shares
+     * everything else with this ChartData, which stays unchanged. Meant for
+     * preparing data on a background thread while the chart draws this
+     * version, hand the result to BarLineChartBase.postData(...). Minimum,
+     * maximum, sum and count are gathered from the values each DataSet
+     * already holds, if the x-values are a SnapshotList that extends the
+     * x-values of this ChartData, the average x-value length is only updated
+     * with the appended x-values.
+     * 
+     * @param xVals
+     * @param dataSets
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public ChartData<T> snapshot(List<String> xVals, List<T> dataSets) {
+
+        ChartData<T> next;
+
+        try {
+            next = (ChartData<T>) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        next.mXVals = xVals;
+        next.mDataSets = dataSets;
+
+        next.isLegal(dataSets);
+
+        next.calcMinMax(dataSets);
+        next.calcYValueSum(dataSets);
+        next.calcYValueCount(dataSets);
+
+        if (xVals instanceof SnapshotList && mXVals instanceof SnapshotList
+                && ((SnapshotList<?>) xVals).isExtensionOf((SnapshotList<?>) mXVals))
+            next.appendXValAverageLength();
+        else
+            next.calcXValAverageLength();
+
+        return next;
+    }
+
+    /**
+     * Returns true if entries and x-values can be added to this ChartData,
+     * false if it holds an immutable SnapshotList of x-values or DataSets
+     * that are not mutable (see snapshot(...)).
+     * 
+     * @return
+     */
+    public boolean isMutable() {
+
+        if (mXVals instanceof SnapshotList)
+            return false;
+
+        for (int i = 0; i < mDataSets.size(); i++) {
+            if (!mDataSets.get(i).isMutable())
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * calc minimum and maximum y value over all datasets
      */
@@ -322,6 +440,85 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
             return mRightAxisMin;
     }
 
+    /**
+     * Returns the minimum y-value of the DataSets of the specified axis in the
+     * given x-index range, NaN if there is none. If no DataSet depends on the
+     * specified axis, the DataSets of the other axis are used.
+     * 
+     * @param axis
+     * @param minXIndex
+     * @param maxXIndex
+     * @return
+     */
+    public float getYMin(AxisDependency axis, int minXIndex, int maxXIndex) {
+
+        axis = getAxisWithDataSets(axis);
+
+        float min = Float.NaN;
+
+        for (int i = 0; i < mDataSets.size(); i++) {
+
+            T set = mDataSets.get(i);
+
+            if (set.getAxisDependency() != axis)
+                continue;
+
+            float setMin = set.getYMin(minXIndex, maxXIndex);
+
+            if (Float.isNaN(min) || setMin < min)
+                min = setMin;
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns the maximum y-value of the DataSets of the specified axis in the
+     * given x-index range, NaN if there is none. If no DataSet depends on the
+     * specified axis, the DataSets of the other axis are used.
+     * 
+     * @param axis
+     * @param minXIndex
+     * @param maxXIndex
+     * @return
+     */
+    public float getYMax(AxisDependency axis, int minXIndex, int maxXIndex) {
+
+        axis = getAxisWithDataSets(axis);
+
+        float max = Float.NaN;
+
+        for (int i = 0; i < mDataSets.size(); i++) {
+
+            T set = mDataSets.get(i);
+
+            if (set.getAxisDependency() != axis)
+                continue;
+
+            float setMax = set.getYMax(minXIndex, maxXIndex);
+
+            if (Float.isNaN(max) || setMax > max)
+                max = setMax;
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the given axis if at least one DataSet depends on it, the other
+     * axis if not (same as handleEmptyAxis(...)).
+     */
+    private AxisDependency getAxisWithDataSets(AxisDependency axis) {
+
+        if (axis == AxisDependency.LEFT && getFirstLeft() == null)
+            return AxisDependency.RIGHT;
+
+        if (axis == AxisDependency.RIGHT && getFirstRight() == null)
+            return AxisDependency.LEFT;
+
+        return axis;
+    }
+
     /**
      * Returns the greatest y-value the data object contains.
      * 
@@ -398,7 +595,15 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      * @param index
      */
     public void removeXValue(int index) {
-        mXVals.remove(index);
+
+        String xVal = mXVals.remove(index);
+
+        // keep the running sum of the x-value lengths in sync, otherwise
+        // removing and appending x-values would make the average drift
+        if (index < mXValLengthCount) {
+            mXValLengthSum -= xVal.length();
+            mXValLengthCount--;
+        }
     }
 
     /**
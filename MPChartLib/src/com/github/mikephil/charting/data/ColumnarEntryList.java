@@ -0,0 +1,428 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.Utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of entries that stores its values column by column in growable
+ * primitive arrays (values, x-indices and an optional payload) instead of
+ * holding one Entry object per value. It can be handed to any DataSet
+ * constructor that accepts a List of entries (e.g.
+ * new LineDataSet(ColumnarEntryList.create(100000), "label")). The buffers and
+ * the DataSet read the primitive columns directly, Entry objects are only
+ * created when get(...) is called. IMPORTANT: Entries returned by get(...) are
+ * copies, modifying them does not modify the list, use set(...) instead.
+ * Stacked values are only supported by lists created with createForBars(...).
+ *
+ * @param <T> the type of Entry the list represents
+ */
+public abstract class ColumnarEntryList<T extends Entry> extends AbstractList<T> implements
+        RandomAccess {
+
+    /** the y-values of all entries */
+    protected float[] mVals;
+
+    /** the x-indices of all entries */
+    protected int[] mXIndices;
+
+    /** the payload of all entries, null as long as no Entry has a payload */
+    protected Object[] mData;
+
+    /** the stack values of all entries, null as long as no Entry is stacked */
+    protected float[][] mStacks;
+
+    /** the number of entries in the list */
+    protected int mSize = 0;
+
+    /**
+     * position of the first entry in the backing arrays, the entry at
+     * position i is stored at mArrayOffset + i
+     */
+    protected int mArrayOffset = 0;
+
+    /** value that is subtracted from the stored x-indices */
+    protected int mXIndexOffset = 0;
+
+    /**
+     * Creates a new list with the given initial capacity.
+     *
+     * @param capacity
+     */
+    protected ColumnarEntryList(int capacity) {
+
+        if (capacity < 1)
+            capacity = 1;
+
+        mVals = new float[capacity];
+        mXIndices = new int[capacity];
+    }
+
+    /**
+     * Creates a columnar list for Line- and ScatterDataSets.
+     *
+     * @param capacity the initial capacity, the list grows if needed
+     * @return
+     */
+    public static ColumnarEntryList<Entry> create(int capacity) {
+        return new ColumnarEntryList<Entry>(capacity) {
+
+            @Override
+            protected Entry createEntry(int index) {
+                return new Entry(getVal(index), getXIndex(index), getData(index));
+            }
+        };
+    }
+
+    /**
+     * Creates a columnar list for BarDataSets, stacked bars are supported.
+     *
+     * @param capacity the initial capacity, the list grows if needed
+     * @return
+     */
+    public static ColumnarEntryList<BarEntry> createForBars(int capacity) {
+        return new ColumnarEntryList<BarEntry>(capacity) {
+
+            @Override
+            protected BarEntry createEntry(int index) {
+
+                float[] stack = getStack(index);
+
+                if (stack != null) {
+                    BarEntry e = new BarEntry(stack, getXIndex(index));
+                    e.setData(getData(index));
+                    return e;
+                }
+
+                return new BarEntry(getVal(index), getXIndex(index), getData(index));
+            }
+        };
+    }
+
+    /**
+     * Creates the Entry object for the values at the given position.
+     *
+     * @param index
+     * @return
+     */
+    protected abstract T createEntry(int index);
+
+    /**
+     * Returns a newly created Entry representing the values at the given
+     * position. Try to use getVal(...) and getXIndex(...) instead in
+     * performance critical situations.
+     */
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return createEntry(index);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns the y-value at the given position.
+     *
+     * @param index
+     * @return
+     */
+    public float getVal(int index) {
+        return mVals[mArrayOffset + index];
+    }
+
+    /**
+     * Returns the x-index at the given position.
+     *
+     * @param index
+     * @return
+     */
+    public int getXIndex(int index) {
+        return mXIndices[mArrayOffset + index] - mXIndexOffset;
+    }
+
+    /**
+     * Returns the payload at the given position, or null if there is none.
+     *
+     * @param index
+     * @return
+     */
+    public Object getData(int index) {
+        return mData == null ? null : mData[mArrayOffset + index];
+    }
+
+    /**
+     * Returns the stack values at the given position, or null if the value is
+     * not stacked.
+     *
+     * @param index
+     * @return
+     */
+    public float[] getStack(int index) {
+        return mStacks == null ? null : mStacks[mArrayOffset + index];
+    }
+
+    /**
+     * Returns the array backing the y-values. The value at position i is
+     * stored at getArrayOffset() + i. Do not modify.
+     *
+     * @return
+     */
+    public float[] getValArray() {
+        return mVals;
+    }
+
+    /**
+     * Returns the array backing the x-indices. The x-index at position i is
+     * stored at getArrayOffset() + i and has to be reduced by
+     * getXIndexOffset(). Do not modify.
+     *
+     * @return
+     */
+    public int[] getXIndexArray() {
+        return mXIndices;
+    }
+
+    /**
+     * Returns the position of the first entry in the backing arrays.
+     *
+     * @return
+     */
+    public int getArrayOffset() {
+        return mArrayOffset;
+    }
+
+    /**
+     * Returns the value that is subtracted from the x-indices stored in the
+     * backing array.
+     *
+     * @return
+     */
+    public int getXIndexOffset() {
+        return mXIndexOffset;
+    }
+
+    /**
+     * Appends a value without creating an Entry object.
+     *
+     * @param val
+     * @param xIndex
+     */
+    public void add(float val, int xIndex) {
+        add(val, xIndex, null);
+    }
+
+    /**
+     * Appends a value with a payload without creating an Entry object.
+     *
+     * @param val
+     * @param xIndex
+     * @param data
+     */
+    public void add(float val, int xIndex, Object data) {
+
+        ensureCapacity(mSize + 1);
+
+        int pos = mArrayOffset + mSize;
+
+        mVals[pos] = val;
+        mXIndices[pos] = xIndex;
+        store(pos, data, null);
+
+        mSize++;
+        modCount++;
+    }
+
+    @Override
+    public void add(int index, T e) {
+
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        if (e == null)
+            throw new NullPointerException("ColumnarEntryList does not support null entries.");
+
+        ensureCapacity(mSize + 1);
+
+        int pos = mArrayOffset + index;
+        int moved = mSize - index;
+
+        if (moved > 0) {
+            System.arraycopy(mVals, pos, mVals, pos + 1, moved);
+            System.arraycopy(mXIndices, pos, mXIndices, pos + 1, moved);
+            if (mData != null)
+                System.arraycopy(mData, pos, mData, pos + 1, moved);
+            if (mStacks != null)
+                System.arraycopy(mStacks, pos, mStacks, pos + 1, moved);
+        }
+
+        mSize++;
+        write(pos, e);
+        modCount++;
+    }
+
+    @Override
+    public T set(int index, T e) {
+        checkIndex(index);
+
+        if (e == null)
+            throw new NullPointerException("ColumnarEntryList does not support null entries.");
+
+        T old = createEntry(index);
+        write(mArrayOffset + index, e);
+        return old;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index);
+
+        T old = createEntry(index);
+
+        int pos = mArrayOffset + index;
+        int moved = mSize - index - 1;
+
+        if (moved > 0) {
+            System.arraycopy(mVals, pos + 1, mVals, pos, moved);
+            System.arraycopy(mXIndices, pos + 1, mXIndices, pos, moved);
+            if (mData != null)
+                System.arraycopy(mData, pos + 1, mData, pos, moved);
+            if (mStacks != null)
+                System.arraycopy(mStacks, pos + 1, mStacks, pos, moved);
+        }
+
+        mSize--;
+
+        // release references
+        if (mData != null)
+            mData[mArrayOffset + mSize] = null;
+        if (mStacks != null)
+            mStacks[mArrayOffset + mSize] = null;
+
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Entries are compared by value (Entry.equalTo(...)) because the list does
+     * not hold the Entry objects that were added.
+     */
+    @Override
+    public int indexOf(Object o) {
+
+        if (!(o instanceof Entry))
+            return -1;
+
+        Entry e = (Entry) o;
+
+        for (int i = 0; i < mSize; i++) {
+            if (getXIndex(i) == e.getXIndex() && e.equalTo(createEntry(i)))
+                return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+        int index = indexOf(o);
+
+        if (index < 0)
+            return false;
+
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+
+        if (mData != null)
+            Arrays.fill(mData, mArrayOffset, mArrayOffset + mSize, null);
+        if (mStacks != null)
+            Arrays.fill(mStacks, mArrayOffset, mArrayOffset + mSize, null);
+
+        mSize = 0;
+        mArrayOffset = 0;
+        modCount++;
+    }
+
+    /**
+     * Makes sure the columns can hold at least the given number of entries
+     * (starting at the array offset) without growing.
+     *
+     * @param capacity
+     */
+    public void ensureCapacity(int capacity) {
+
+        capacity += mArrayOffset;
+
+        if (capacity <= mVals.length)
+            return;
+
+        int newCapacity = Math.max(capacity, mVals.length + (mVals.length >> 1) + 1);
+
+        mVals = Utils.copyOf(mVals, newCapacity);
+        mXIndices = Utils.copyOf(mXIndices, newCapacity);
+
+        if (mData != null)
+            mData = Utils.copyOf(mData, newCapacity);
+        if (mStacks != null)
+            mStacks = Utils.copyOf(mStacks, newCapacity);
+    }
+
+    /**
+     * Writes the values of the given Entry to the given position in the
+     * backing arrays.
+     *
+     * @param index
+     * @param e
+     */
+    private void write(int index, T e) {
+
+        mVals[index] = e.getVal();
+        mXIndices[index] = e.getXIndex();
+
+        float[] stack = null;
+
+        if (e instanceof BarEntry)
+            stack = ((BarEntry) e).getVals();
+
+        store(index, e.getData(), stack);
+    }
+
+    /**
+     * Stores payload and stack values at the given position in the backing
+     * arrays, the columns are only allocated once they are needed.
+     */
+    private void store(int index, Object data, float[] stack) {
+
+        if (data != null && mData == null)
+            mData = new Object[mVals.length];
+
+        if (mData != null)
+            mData[index] = data;
+
+        if (stack != null && mStacks == null)
+            mStacks = new float[mVals.length][];
+
+        if (mStacks != null)
+            mStacks[index] = stack;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
@@ -68,6 +68,16 @@ public class CombinedData extends BarLineScatterCandleData<BarLineScatterCandleD
         return mCandleData;
     }
 
+    /**
+     * Not supported, the combined data consists of the data of the
+     * different chart types.
+     */
+    @Override
+    public ChartData<BarLineScatterCandleDataSet<?>> snapshot(List<String> xVals,
+            List<BarLineScatterCandleDataSet<?>> dataSets) {
+        throw new UnsupportedOperationException("CombinedData does not support snapshots.");
+    }
+
     @Override
     public void notifyDataChanged() {
         mLineData.notifyDataChanged();
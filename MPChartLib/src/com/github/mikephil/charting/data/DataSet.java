@@ -10,6 +10,7 @@ import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.DefaultValueFormatter;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ValueFormatter;
+import com.github.mikephil.charting.utils.ValueFormatterMemo;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,7 +23,7 @@ import java.util.List;
  * 
  * @author Philipp Jahoda
  */
-public abstract class DataSet<T extends Entry> {
+public abstract class DataSet<T extends Entry> implements Cloneable {
 
     /** List representing all colors that are used for this DataSet */
     protected List<Integer> mColors = null;
@@ -37,7 +38,25 @@ public abstract class DataSet<T extends Entry> {
     protected float mYMin = 0.0f;
 
     /** the total sum of all y-values */
-    private float mYValueSum = 0f;
+    protected float mYValueSum = 0f;
+
+    /**
+     * range-query structure for the minimum and maximum of the entries in a
+     * range, created on first use
+     */
+    protected MinMaxRangeIndex mRangeIndex = null;
+
+    /**
+     * modification count the range-query structure is in sync with, it is
+     * rebuilt if the DataSet has been modified since
+     */
+    protected int mRangeIndexModificationCount = 0;
+
+    /**
+     * incremented whenever entries are added or removed or the DataSet is
+     * notified about changes, used to invalidate cached calculations
+     */
+    protected int mModificationCount = 0;
 
     /** label that describes the DataSet or the data the DataSet represents */
     private String mLabel = "DataSet";
@@ -60,6 +79,12 @@ public abstract class DataSet<T extends Entry> {
     /** custom formatter that is used instead of the auto-formatter if set */
     protected ValueFormatter mValueFormatter;
 
+    /** formatter used as long as no formatter is set */
+    private ValueFormatter mFallbackFormatter;
+
+    /** remembers the formatted values, null if disabled */
+    private ValueFormatterMemo mValueFormatterMemo;
+
     /** this specifies which axis this DataSet should be plotted against */
     protected AxisDependency mAxisDependency = AxisDependency.LEFT;
 
@@ -90,10 +115,116 @@ public abstract class DataSet<T extends Entry> {
 
     /**
      * Use this method to tell the data set that the underlying data has changed
+     * (e.g. values of Entry objects have been modified directly). The renderers
+     * reuse the geometry of the previous frame until this is called.
      */
     public void notifyDataSetChanged() {
         calcMinMax();
         calcYValueSum();
+        mModificationCount++;
+    }
+
+    /**
+     * Returns a new version of this DataSet that holds the given entries and
+     * shares everything else (label, colors, formatter, axis, ...) with this
+     * DataSet, which stays unchanged. Meant for preparing data on a background
+     * thread (see ChartData.snapshot(...)) while the chart draws this version,
+     * neither version must be modified afterwards. If the given entries are a
+     * SnapshotEntryList that extends the entries of this DataSet (see
+     * SnapshotEntryList.isExtensionOf(...)), only the appended entries are
+     * scanned for minimum, maximum and sum.
+     * 
+     * @param yVals
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public DataSet<T> snapshot(List<T> yVals) {
+
+        DataSet<T> next;
+
+        try {
+            next = (DataSet<T>) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        next.mYVals = yVals == null ? new ArrayList<T>() : yVals;
+        next.onSnapshot(this);
+
+        return next;
+    }
+
+    /**
+     * Returns true if snapshot(...) is supported by this DataSet.
+     * 
+     * @return
+     */
+    public boolean isSnapshotSupported() {
+        return true;
+    }
+
+    /**
+     * Returns true if entries can be added to and removed from this DataSet,
+     * false if it holds an immutable SnapshotEntryList (see snapshot(...)).
+     * 
+     * @return
+     */
+    public boolean isMutable() {
+        return !(mYVals instanceof SnapshotEntryList);
+    }
+
+    /**
+     * Called on the new version created by snapshot(...) after the entries
+     * have been replaced. Subclasses reset calculations based on the entries
+     * of the previous version here.
+     * 
+     * @param previous
+     */
+    protected void onSnapshot(DataSet<T> previous) {
+
+        mRangeIndex = null;
+        mFallbackFormatter = null;
+        mModificationCount++;
+
+        if (mValueFormatterMemo != null)
+            mValueFormatterMemo = new ValueFormatterMemo(mValueFormatter);
+
+        int from = previous.mYVals.size();
+
+        if (from > 0 && mYVals instanceof SnapshotEntryList
+                && previous.mYVals instanceof SnapshotEntryList
+                && ((SnapshotEntryList) mYVals)
+                        .isExtensionOf((SnapshotEntryList) previous.mYVals)) {
+
+            // continue the calculations of the previous version
+            float[] vals = ((SnapshotEntryList) mYVals).getValArray();
+
+            for (int i = from, count = mYVals.size(); i < count; i++) {
+
+                if (vals[i] < mYMin)
+                    mYMin = vals[i];
+
+                if (vals[i] > mYMax)
+                    mYMax = vals[i];
+
+                mYValueSum += Math.abs(vals[i]);
+            }
+
+        } else {
+            calcMinMax();
+            calcYValueSum();
+        }
+    }
+
+    /**
+     * Returns a counter that changes whenever entries are added or removed or
+     * notifyDataSetChanged() is called. Calculations based on the entries can
+     * be cached as long as the counter does not change.
+     * 
+     * @return
+     */
+    public int getModificationCount() {
+        return mModificationCount;
     }
 
     /**
@@ -104,6 +235,11 @@ public abstract class DataSet<T extends Entry> {
             return;
         }
 
+        if (mYVals instanceof ColumnarEntryList) {
+            calcMinMax((ColumnarEntryList<?>) mYVals);
+            return;
+        }
+
         mYMin = mYVals.get(0).getVal();
         mYMax = mYVals.get(0).getVal();
 
@@ -122,6 +258,28 @@ public abstract class DataSet<T extends Entry> {
         }
     }
 
+    /**
+     * calc minimum and maximum y value by scanning the value-column of the
+     * provided columnar entries
+     */
+    private void calcMinMax(ColumnarEntryList<?> columns) {
+
+        float[] vals = columns.getValArray();
+        int from = columns.getArrayOffset();
+
+        mYMin = vals[from];
+        mYMax = vals[from];
+
+        for (int i = from + 1, count = from + columns.size(); i < count; i++) {
+
+            if (vals[i] < mYMin)
+                mYMin = vals[i];
+
+            if (vals[i] > mYMax)
+                mYMax = vals[i];
+        }
+    }
+
     /**
      * calculates the sum of all y-values
      */
@@ -129,6 +287,17 @@ public abstract class DataSet<T extends Entry> {
 
         mYValueSum = 0;
 
+        if (mYVals instanceof ColumnarEntryList) {
+
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) mYVals;
+            float[] vals = columns.getValArray();
+
+            for (int i = columns.getArrayOffset(), count = i + columns.size(); i < count; i++)
+                mYValueSum += Math.abs(vals[i]);
+
+            return;
+        }
+
         for (int i = 0; i < mYVals.size(); i++) {
             Entry e = mYVals.get(i);
             if (e != null)
@@ -156,10 +325,10 @@ public abstract class DataSet<T extends Entry> {
      */
     public float getYValForXIndex(int xIndex) {
 
-        Entry e = getEntryForXIndex(xIndex);
+        int index = getEntryIndex(xIndex);
 
-        if (e != null)
-            return e.getVal();
+        if (index >= 0)
+            return getYValAt(index);
         else
             return Float.NaN;
     }
@@ -176,31 +345,80 @@ public abstract class DataSet<T extends Entry> {
      */
     public T getEntryForXIndex(int x) {
 
+        int index = getEntryIndex(x);
+
+        if (index < 0)
+            return null;
+
+        return mYVals.get(index);
+    }
+
+    /**
+     * Returns the position (in the Entry array of the DataSet) of the first
+     * Entry found at the given xIndex with binary search. If no Entry at the
+     * specified x-index is found, the position of the Entry at the closest
+     * x-index is returned. Returns -1 if the DataSet holds no entries. Runs in
+     * O(log n), this is what the renderers use to determine the visible range.
+     * 
+     * @param x
+     * @return
+     */
+    public int getEntryIndex(int x) {
+
         int low = 0;
         int high = mYVals.size() - 1;
-        T closest = null;
+        int closest = -1;
 
         while (low <= high) {
             int m = (high + low) / 2;
 
-            if (x == mYVals.get(m).getXIndex()) {
-                while (m > 0 && mYVals.get(m - 1).getXIndex() == x)
+            if (x == getXIndexAt(m)) {
+                while (m > 0 && getXIndexAt(m - 1) == x)
                     m--;
 
-                return mYVals.get(m);
+                return m;
             }
 
-            if (x > mYVals.get(m).getXIndex())
+            if (x > getXIndexAt(m))
                 low = m + 1;
             else
                 high = m - 1;
 
-            closest = mYVals.get(m);
+            closest = m;
         }
 
         return closest;
     }
 
+    /**
+     * Returns the position (in the Entry array of the DataSet) of the first
+     * Entry that is drawn when the x-axis starts at the given xIndex. Never
+     * returns a value smaller than 0.
+     * 
+     * @param minXIndex
+     * @return
+     */
+    public int getEntryIndexFrom(int minXIndex) {
+
+        int index = getEntryIndex(minXIndex);
+
+        return index < 0 ? 0 : index;
+    }
+
+    /**
+     * Returns the position (in the Entry array of the DataSet) right after the
+     * last Entry that is drawn when the x-axis ends at the given xIndex
+     * (exclusive upper bound). Never returns a value larger than the number of
+     * entries.
+     * 
+     * @param maxXIndex
+     * @return
+     */
+    public int getEntryIndexTo(int maxXIndex) {
+
+        return Math.min(getEntryIndex(maxXIndex) + 1, mYVals.size());
+    }
+
     /**
      * Returns all Entry objects at the given xIndex. INFORMATION: This method
      * does calculations at runtime. Do not over-use in performance critical
@@ -248,6 +466,38 @@ public abstract class DataSet<T extends Entry> {
         return entries;
     }
 
+    /**
+     * Returns the x-index of the Entry at the given position in the Entry
+     * array. Does not create an Entry object if the DataSet is backed by a
+     * ColumnarEntryList.
+     * 
+     * @param index
+     * @return
+     */
+    public int getXIndexAt(int index) {
+
+        if (mYVals instanceof ColumnarEntryList)
+            return ((ColumnarEntryList<?>) mYVals).getXIndex(index);
+
+        return mYVals.get(index).getXIndex();
+    }
+
+    /**
+     * Returns the y-value of the Entry at the given position in the Entry
+     * array. Does not create an Entry object if the DataSet is backed by a
+     * ColumnarEntryList.
+     * 
+     * @param index
+     * @return
+     */
+    public float getYValAt(int index) {
+
+        if (mYVals instanceof ColumnarEntryList)
+            return ((ColumnarEntryList<?>) mYVals).getVal(index);
+
+        return mYVals.get(index).getVal();
+    }
+
     /**
      * returns the DataSets Entry array
      * 
@@ -284,6 +534,84 @@ public abstract class DataSet<T extends Entry> {
         return mYMax;
     }
 
+    /**
+     * Returns the minimum y-value of all entries that are drawn when the x-axis
+     * ranges from minXIndex to maxXIndex, NaN if there are none. Answered in
+     * O(log n) by a range-query structure that is created on first use.
+     * 
+     * @param minXIndex
+     * @param maxXIndex
+     * @return
+     */
+    public float getYMin(int minXIndex, int maxXIndex) {
+
+        return getRangeIndex().getMin(getEntryIndexFrom(minXIndex),
+                getEntryIndexTo(maxXIndex));
+    }
+
+    /**
+     * Returns the maximum y-value of all entries that are drawn when the x-axis
+     * ranges from minXIndex to maxXIndex, NaN if there are none. Answered in
+     * O(log n) by a range-query structure that is created on first use.
+     * 
+     * @param minXIndex
+     * @param maxXIndex
+     * @return
+     */
+    public float getYMax(int minXIndex, int maxXIndex) {
+
+        return getRangeIndex().getMax(getEntryIndexFrom(minXIndex),
+                getEntryIndexTo(maxXIndex));
+    }
+
+    /**
+     * Returns the lowest y-value the Entry at the given position in the Entry
+     * array covers. Override this if entries cover a range of y-values.
+     * 
+     * @param index
+     * @return
+     */
+    protected float getYLowAt(int index) {
+        return getYValAt(index);
+    }
+
+    /**
+     * Returns the highest y-value the Entry at the given position in the Entry
+     * array covers. Override this if entries cover a range of y-values.
+     * 
+     * @param index
+     * @return
+     */
+    protected float getYHighAt(int index) {
+        return getYValAt(index);
+    }
+
+    /**
+     * Returns the range-query structure for the entries, (re-)builds it in
+     * O(n) if it does not exist yet or if the DataSet has been modified (see
+     * getModificationCount()) since it was built or updated.
+     * 
+     * @return
+     */
+    protected MinMaxRangeIndex getRangeIndex() {
+
+        int count = mYVals.size();
+
+        if (mRangeIndex == null || mRangeIndexModificationCount != mModificationCount
+                || mRangeIndex.size() != count) {
+
+            mRangeIndex = new MinMaxRangeIndex(count);
+
+            for (int i = 0; i < count; i++)
+                mRangeIndex.setLeaf(i, getYLowAt(i), getYHighAt(i));
+
+            mRangeIndex.build(count);
+            mRangeIndexModificationCount = mModificationCount;
+        }
+
+        return mRangeIndex;
+    }
+
     /**
      * Returns the number of entries this DataSet holds.
      * 
@@ -295,19 +623,18 @@ public abstract class DataSet<T extends Entry> {
 
     /**
      * The xIndex of an Entry object is provided. This method returns the actual
-     * index in the Entry array of the DataSet. IMPORTANT: This method does
-     * calculations at runtime, do not over-use in performance critical
-     * situations.
+     * index in the Entry array of the DataSet, or -1 if there is no Entry at
+     * the given xIndex.
      * 
      * @param xIndex
      * @return
      */
     public int getIndexInEntries(int xIndex) {
 
-        for (int i = 0; i < mYVals.size(); i++) {
-            if (xIndex == mYVals.get(i).getXIndex())
-                return i;
-        }
+        int index = getEntryIndex(xIndex);
+
+        if (index >= 0 && getXIndexAt(index) == xIndex)
+            return index;
 
         return -1;
     }
@@ -448,6 +775,14 @@ public abstract class DataSet<T extends Entry> {
 
         // add the entry
         mYVals.add((T) e);
+        mModificationCount++;
+
+        // keep the range-query structure in sync instead of rebuilding it
+        if (mRangeIndex != null && mRangeIndexModificationCount == mModificationCount - 1) {
+            int index = mYVals.size() - 1;
+            mRangeIndex.append(getYLowAt(index), getYHighAt(index));
+            mRangeIndexModificationCount = mModificationCount;
+        }
     }
 
     /**
@@ -472,6 +807,7 @@ public abstract class DataSet<T extends Entry> {
             mYValueSum -= val;
 
             calcMinMax();
+            mModificationCount++;
         }
 
         return removed;
@@ -606,6 +942,19 @@ public abstract class DataSet<T extends Entry> {
      */
     public int getEntryPosition(Entry e) {
 
+        // look at the entries sharing the x-index of the provided entry first
+        int index = getIndexInEntries(e.getXIndex());
+
+        if (index >= 0) {
+
+            for (int i = index; i < mYVals.size()
+                    && getXIndexAt(i) == e.getXIndex(); i++) {
+                if (e.equalTo(mYVals.get(i)))
+                    return i;
+            }
+        }
+
+        // fallback for entries that are not sorted by x-index
         for (int i = 0; i < mYVals.size(); i++) {
             if (e.equalTo(mYVals.get(i)))
                 return i;
@@ -632,16 +981,68 @@ public abstract class DataSet<T extends Entry> {
     }
 
     /**
-     * Returns the formatter used for drawing the values inside the chart.
+     * Returns the formatter that has been set for drawing the values inside
+     * the chart, null if none has been set.
      *
      * @return
      */
     public ValueFormatter getValueFormatter() {
-        if (mValueFormatter == null)
-            return new DefaultValueFormatter(1);
         return mValueFormatter;
     }
 
+    /**
+     * Returns the formatter the renderers draw the values with: the formatter
+     * that has been set (or a default one if none has been set), wrapped in the
+     * ValueFormatterMemo if remembering the formatted values is enabled.
+     *
+     * @return
+     */
+    public ValueFormatter getValueFormatterForDrawing() {
+
+        ValueFormatter f = mValueFormatter;
+
+        if (f == null) {
+
+            if (mFallbackFormatter == null)
+                mFallbackFormatter = new DefaultValueFormatter(1);
+
+            f = mFallbackFormatter;
+        }
+
+        if (mValueFormatterMemo != null) {
+            mValueFormatterMemo.setFormatter(f);
+            return mValueFormatterMemo;
+        }
+
+        return f;
+    }
+
+    /**
+     * If set to true, the Strings the ValueFormatter returns are remembered
+     * for the most recent values (see ValueFormatterMemo), so that values that
+     * do not change between frames are not formatted again every frame. Only
+     * enable this if the output of the formatter depends on nothing but the
+     * value. Default: false
+     * 
+     * @param enabled
+     */
+    public void setValueFormatterMemoEnabled(boolean enabled) {
+
+        if (!enabled)
+            mValueFormatterMemo = null;
+        else if (mValueFormatterMemo == null)
+            mValueFormatterMemo = new ValueFormatterMemo(mValueFormatter);
+    }
+
+    /**
+     * Returns true if the formatted values are remembered.
+     * 
+     * @return
+     */
+    public boolean isValueFormatterMemoEnabled() {
+        return mValueFormatterMemo != null;
+    }
+
     /**
      * If this component has no ValueFormatter or is only equipped with the
      * default one (no custom set), return true.
@@ -0,0 +1,456 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free queue for entries that are produced on background threads (e.g.
+ * sensor callbacks) and added to a ChartData on the UI thread. Any number of
+ * threads can offer(...) entries, the chart drains the queue once per frame
+ * and adds everything queued in one batch, so that the DataSets are only ever
+ * modified on the UI thread. Attach it to a chart via
+ * BarLineChartBase.setIngestionQueue(...). What happens when entries arrive
+ * faster than they are drawn depends on the ConflationPolicy.
+ */
+public class IngestionQueue {
+
+    /**
+     * What to do with entries that arrive while the queue is full (or, for
+     * KEEP_LATEST_PER_DATASET, while the last Entry of the DataSet has not
+     * been drained yet).
+     */
+    public enum ConflationPolicy {
+
+        /** keep every Entry, offer(...) returns false if the queue is full */
+        KEEP_ALL,
+
+        /** only keep the newest Entry of every DataSet until the next frame */
+        KEEP_LATEST_PER_DATASET,
+
+        /** drop the oldest queued Entry to make room for the new one */
+        DROP_OLDEST
+    }
+
+    /** the data the entries are added to, only accessed on the UI thread */
+    private ChartData<?> mData;
+
+    private ConflationPolicy mPolicy;
+
+    /**
+     * sequence number of every slot of the ring buffer: equal to the position
+     * of the next offer if the slot is free, one more if it holds an Entry
+     */
+    private AtomicLongArray mSequences;
+
+    /** entries and their DataSet indices, one per slot */
+    private Entry[] mEntries;
+    private int[] mDataSetIndices;
+
+    /** mask for the slot of a position, the capacity is a power of two */
+    private int mMask;
+
+    /** position of the next offer and the next poll */
+    private AtomicLong mTail = new AtomicLong(0);
+    private AtomicLong mHead = new AtomicLong(0);
+
+    /** the newest Entry of every DataSet (KEEP_LATEST_PER_DATASET) */
+    private AtomicReferenceArray<Entry> mLatest;
+
+    /** DataSet index of the last polled Entry, only used by drain() */
+    private int[] mPolledIndex = new int[1];
+
+    /** true if the chart has been woken up and not drained since */
+    private AtomicBoolean mWakeUpPending = new AtomicBoolean(false);
+
+    /** called (on the offering thread) when the chart needs to drain */
+    private volatile Runnable mWakeUp;
+
+    /** if true, x-values are appended for entries beyond the last x-value */
+    private boolean mAppendXValues = true;
+
+    /** metrics */
+    private AtomicLong mOfferedCount = new AtomicLong(0);
+    private AtomicLong mDroppedCount = new AtomicLong(0);
+    private AtomicLong mRejectedCount = new AtomicLong(0);
+    private AtomicLong mMaxDepth = new AtomicLong(0);
+    private long mDrainedCount = 0;
+
+    /**
+     * Creates a queue for the given data that holds up to the given number of
+     * entries (rounded up to a power of two) between two frames. The data
+     * needs to be mutable (see ChartData.isMutable()). With
+     * KEEP_LATEST_PER_DATASET the queue keeps one Entry per DataSet of the
+     * given data, the number of DataSets can not change afterwards.
+     *
+     * @param data
+     * @param capacity
+     * @param policy
+     */
+    public IngestionQueue(ChartData<?> data, int capacity, ConflationPolicy policy) {
+
+        checkMutable(data);
+
+        int size = 2;
+        while (size < capacity)
+            size <<= 1;
+
+        mData = data;
+        mPolicy = policy;
+
+        if (policy == ConflationPolicy.KEEP_LATEST_PER_DATASET) {
+            mLatest = new AtomicReferenceArray<Entry>(data.getDataSetCount());
+            return;
+        }
+
+        mSequences = new AtomicLongArray(size);
+        mEntries = new Entry[size];
+        mDataSetIndices = new int[size];
+        mMask = size - 1;
+
+        for (int i = 0; i < size; i++)
+            mSequences.set(i, i);
+    }
+
+    /**
+     * Queues the given Entry for the DataSet at the given index. Can be called
+     * from any thread. Returns false if the Entry has been rejected because
+     * the queue is full (KEEP_ALL) or the DataSet index is negative.
+     *
+     * @param e
+     * @param dataSetIndex
+     * @return
+     */
+    public boolean offer(Entry e, int dataSetIndex) {
+
+        mOfferedCount.incrementAndGet();
+
+        // the DataSets are only accessed on the UI thread, an index that is
+        // too high is rejected by ChartData.addEntry(...) while draining
+        if (e == null || dataSetIndex < 0) {
+            mRejectedCount.incrementAndGet();
+            return false;
+        }
+
+        switch (mPolicy) {
+
+            case KEEP_LATEST_PER_DATASET:
+
+                if (dataSetIndex >= mLatest.length()) {
+                    mRejectedCount.incrementAndGet();
+                    return false;
+                }
+
+                if (mLatest.getAndSet(dataSetIndex, e) != null)
+                    mDroppedCount.incrementAndGet();
+                break;
+
+            case DROP_OLDEST:
+
+                while (!push(e, dataSetIndex)) {
+                    if (poll(null) != null)
+                        mDroppedCount.incrementAndGet();
+                }
+                break;
+
+            default:
+
+                if (!push(e, dataSetIndex)) {
+                    mRejectedCount.incrementAndGet();
+                    return false;
+                }
+                break;
+        }
+
+        long depth = getDepth();
+        long max = mMaxDepth.get();
+
+        while (depth > max && !mMaxDepth.compareAndSet(max, depth))
+            max = mMaxDepth.get();
+
+        Runnable wakeUp = mWakeUp;
+
+        if (wakeUp != null && !mWakeUpPending.getAndSet(true))
+            wakeUp.run();
+
+        return true;
+    }
+
+    /**
+     * Adds the given Entry to the ring buffer, returns false if it is full.
+     *
+     * @param e
+     * @param dataSetIndex
+     * @return
+     */
+    private boolean push(Entry e, int dataSetIndex) {
+
+        long pos = mTail.get();
+
+        while (true) {
+
+            int slot = (int) (pos & mMask);
+            long dif = mSequences.get(slot) - pos;
+
+            if (dif == 0) {
+
+                if (mTail.compareAndSet(pos, pos + 1)) {
+
+                    mEntries[slot] = e;
+                    mDataSetIndices[slot] = dataSetIndex;
+
+                    // publishes the Entry to the polling thread
+                    mSequences.set(slot, pos + 1);
+                    return true;
+                }
+
+                pos = mTail.get();
+
+            } else if (dif < 0) {
+                return false;
+            } else {
+                pos = mTail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest Entry from the ring buffer and returns it, null if
+     * it is empty. Its DataSet index is stored in the given array if not null.
+     *
+     * @param dataSetIndex
+     * @return
+     */
+    private Entry poll(int[] dataSetIndex) {
+
+        long pos = mHead.get();
+
+        while (true) {
+
+            int slot = (int) (pos & mMask);
+            long dif = mSequences.get(slot) - (pos + 1);
+
+            if (dif == 0) {
+
+                if (mHead.compareAndSet(pos, pos + 1)) {
+
+                    Entry e = mEntries[slot];
+
+                    if (dataSetIndex != null)
+                        dataSetIndex[0] = mDataSetIndices[slot];
+
+                    mEntries[slot] = null;
+
+                    // frees the slot for the next round
+                    mSequences.set(slot, pos + mMask + 1);
+                    return e;
+                }
+
+                pos = mHead.get();
+
+            } else if (dif < 0) {
+                return null;
+            } else {
+                pos = mHead.get();
+            }
+        }
+    }
+
+    /**
+     * Adds all queued entries (at most one capacity worth, so that fast
+     * producers cannot stall the frame) to the ChartData. Call this on the UI
+     * thread, the chart does it before drawing. Returns the number of
+     * entries added, call notifyEntriesAppended() on the chart if it is not 0.
+     *
+     * @return
+     */
+    public int drain() {
+
+        // entries offered from now on wake the chart up again
+        mWakeUpPending.set(false);
+
+        int added = 0;
+        int maxXIndex = -1;
+
+        if (mPolicy == ConflationPolicy.KEEP_LATEST_PER_DATASET) {
+
+            for (int i = 0; i < mLatest.length(); i++) {
+
+                Entry e = mLatest.getAndSet(i, null);
+
+                if (e != null) {
+                    mData.addEntry(e, i);
+                    maxXIndex = Math.max(maxXIndex, e.getXIndex());
+                    added++;
+                }
+            }
+
+        } else {
+
+            int[] index = mPolledIndex;
+
+            for (int i = 0; i <= mMask; i++) {
+
+                Entry e = poll(index);
+
+                if (e == null)
+                    break;
+
+                mData.addEntry(e, index[0]);
+                maxXIndex = Math.max(maxXIndex, e.getXIndex());
+                added++;
+            }
+        }
+
+        if (mAppendXValues) {
+            for (int x = mData.getXValCount(); x <= maxXIndex; x++)
+                mData.addXValue(String.valueOf(x));
+        }
+
+        mDrainedCount += added;
+
+        return added;
+    }
+
+    /**
+     * Sets the Runnable that is called on the offering thread when entries
+     * have been queued and the queue has not been drained since, the chart
+     * uses it to schedule a frame. Resets a pending wake-up, the next offered
+     * Entry calls the Runnable again, the chart does this when it is
+     * attached to a window.
+     *
+     * @param wakeUp
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        mWakeUp = wakeUp;
+        mWakeUpPending.set(false);
+    }
+
+    /**
+     * If set to true, drain() appends x-values (the x-index as a String) to
+     * the ChartData for entries beyond its last x-value. Default: true
+     *
+     * @param enabled
+     */
+    public void setAppendXValues(boolean enabled) {
+        mAppendXValues = enabled;
+    }
+
+    /**
+     * Sets the data the entries are added to from now on, e.g. a new version
+     * created with ChartData.snapshot(...). Only call this on the UI thread.
+     * The chart does it when it swaps to a new version of the data the queue
+     * adds to. Throws an IllegalArgumentException if the data is immutable
+     * (see ChartData.isMutable()) or, with KEEP_LATEST_PER_DATASET, if the
+     * number of DataSets differs from the data the queue was created for.
+     *
+     * @param data
+     */
+    public void setData(ChartData<?> data) {
+
+        checkMutable(data);
+
+        if (mLatest != null && data.getDataSetCount() != mLatest.length())
+            throw new IllegalArgumentException(
+                    "The data needs to have the same number of DataSets.");
+
+        mData = data;
+    }
+
+    private static void checkMutable(ChartData<?> data) {
+
+        if (!data.isMutable())
+            throw new IllegalArgumentException(
+                    "Entries can not be added to immutable data (SnapshotList, SnapshotEntryList).");
+    }
+
+    /**
+     * Returns the data the entries are added to.
+     *
+     * @return
+     */
+    public ChartData<?> getData() {
+        return mData;
+    }
+
+    /**
+     * Returns the policy of the queue.
+     *
+     * @return
+     */
+    public ConflationPolicy getPolicy() {
+        return mPolicy;
+    }
+
+    /**
+     * Returns the number of entries currently queued (approximately, while
+     * entries are offered).
+     *
+     * @return
+     */
+    public long getDepth() {
+
+        if (mPolicy == ConflationPolicy.KEEP_LATEST_PER_DATASET) {
+
+            int depth = 0;
+
+            for (int i = 0; i < mLatest.length(); i++) {
+                if (mLatest.get(i) != null)
+                    depth++;
+            }
+
+            return depth;
+        }
+
+        return Math.max(0, mTail.get() - mHead.get());
+    }
+
+    /**
+     * Returns the largest number of entries that have been queued at once.
+     *
+     * @return
+     */
+    public long getMaxDepth() {
+        return mMaxDepth.get();
+    }
+
+    /**
+     * Returns the number of entries that have been offered.
+     *
+     * @return
+     */
+    public long getOfferedCount() {
+        return mOfferedCount.get();
+    }
+
+    /**
+     * Returns the number of queued entries that have been dropped in favour of
+     * newer ones (KEEP_LATEST_PER_DATASET, DROP_OLDEST).
+     *
+     * @return
+     */
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * Returns the number of entries that have been rejected by offer(...).
+     *
+     * @return
+     */
+    public long getRejectedCount() {
+        return mRejectedCount.get();
+    }
+
+    /**
+     * Returns the number of entries that have been added to the data. Only
+     * call this on the UI thread.
+     *
+     * @return
+     */
+    public long getDrainedCount() {
+        return mDrainedCount;
+    }
+}
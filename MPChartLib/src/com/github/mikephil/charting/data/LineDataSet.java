@@ -36,6 +36,21 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
 
     private boolean mDrawCircleHole = true;
 
+    /** if true, dense lines are drawn from the level-of-detail pyramid */
+    private boolean mLodEnabled = false;
+
+    /** level-of-detail pyramid of the entries, created on first use */
+    protected MinMaxPyramid mLodPyramid = null;
+
+    /**
+     * control points of the cubic segments between the entries, created on
+     * first use
+     */
+    protected float[] mCubicControlPoints = null;
+
+    /** number of entries the control points have been calculated for */
+    private int mCubicControlPointCount = 0;
+
     public LineDataSet(List<Entry> yVals, String label) {
         super(yVals, label);
 
@@ -66,6 +81,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         copied.mDashPathEffect = mDashPathEffect;
         copied.mDrawCircles = mDrawCircles;
         copied.mDrawCubic = mDrawCubic;
+        copied.mLodEnabled = mLodEnabled;
         copied.mHighLightColor = mHighLightColor;
 
         return copied;
@@ -84,6 +100,9 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         if (intensity < 0.05f)
             intensity = 0.05f;
 
+        if (intensity != mCubicIntensity)
+            resetCubicControlPoints();
+
         mCubicIntensity = intensity;
     }
 
@@ -191,6 +210,156 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         return mDrawCubic;
     }
 
+    /**
+     * If set to true, linear lines with many more entries than pixels are
+     * drawn from a level-of-detail pyramid: only the first, lowest, highest
+     * and last entry of each group of entries that falls onto the same pixel
+     * are drawn, which looks the same but bounds the number of drawn segments
+     * by the width of the chart. The pyramid costs about two ints per entry and
+     * is recreated after notifyDataSetChanged() (of the DataSet or the chart)
+     * and removeEntry(...). Default: false
+     * 
+     * @param enabled
+     */
+    public void setLodEnabled(boolean enabled) {
+        mLodEnabled = enabled;
+    }
+
+    /**
+     * returns true if drawing from the level-of-detail pyramid is enabled
+     * 
+     * @return
+     */
+    public boolean isLodEnabled() {
+        return mLodEnabled;
+    }
+
+    /**
+     * Returns the level-of-detail pyramid of the entries. It is created on
+     * first use and updated with the entries appended since the last call.
+     * Values changed in place are only picked up after notifyDataSetChanged().
+     * 
+     * @return
+     */
+    public MinMaxPyramid getLodPyramid() {
+
+        if (mLodPyramid == null)
+            mLodPyramid = new MinMaxPyramid(this);
+        else
+            mLodPyramid.update();
+
+        return mLodPyramid;
+    }
+
+    /**
+     * Returns the control points of the cubic segments between the entries.
+     * The segment that ends at the Entry at position k (k > 0) is described by
+     * the four floats starting at (k - 1) * 4: x and y of the first and x and
+     * y of the second control point. The control points only depend on the
+     * neighbouring entries and the cubic intensity, they are calculated once
+     * and updated with the entries appended since the last call. Do not
+     * modify.
+     * 
+     * @return
+     */
+    public float[] getCubicControlPoints() {
+
+        int count = getEntryCount();
+        int size = Math.max(count - 1, 0) * 4;
+
+        if (mCubicControlPoints == null || mCubicControlPoints.length < size) {
+
+            float[] points = new float[size + (size >> 1) + 4];
+
+            if (mCubicControlPoints != null && mCubicControlPointCount > 1)
+                System.arraycopy(mCubicControlPoints, 0, points, 0,
+                        (mCubicControlPointCount - 1) * 4);
+
+            mCubicControlPoints = points;
+        }
+
+        if (count < mCubicControlPointCount)
+            mCubicControlPointCount = 0;
+
+        // the last segment also depends on the entry after it, it needs to be
+        // recalculated when entries are appended
+        for (int k = Math.max(mCubicControlPointCount - 1, 1); k < count; k++)
+            calcCubicControlPoints(k, count);
+
+        mCubicControlPointCount = count;
+
+        return mCubicControlPoints;
+    }
+
+    /**
+     * Discards the calculated control points, they are calculated again for
+     * all entries by the next getCubicControlPoints() call. Call this when
+     * the positions of the entries changed (e.g. entries have been removed).
+     */
+    protected void resetCubicControlPoints() {
+        mCubicControlPointCount = 0;
+    }
+
+    /**
+     * Calculates the control points of the segment that ends at the Entry at
+     * the given position. The tangent at an Entry is parallel to the line
+     * between its neighbours.
+     */
+    private void calcCubicControlPoints(int k, int count) {
+
+        int prevPrev = Math.max(k - 2, 0);
+        int prev = k - 1;
+        int next = Math.min(k + 1, count - 1);
+
+        float prevX = getXIndexAt(prev);
+        float prevY = getYValAt(prev);
+        float curX = getXIndexAt(k);
+        float curY = getYValAt(k);
+
+        int i = prev * 4;
+
+        mCubicControlPoints[i] = prevX + (curX - getXIndexAt(prevPrev)) * mCubicIntensity;
+        mCubicControlPoints[i + 1] = prevY + (curY - getYValAt(prevPrev)) * mCubicIntensity;
+        mCubicControlPoints[i + 2] = curX - (getXIndexAt(next) - prevX) * mCubicIntensity;
+        mCubicControlPoints[i + 3] = curY - (getYValAt(next) - prevY) * mCubicIntensity;
+    }
+
+    /**
+     * Discards the level-of-detail pyramid and the cubic control points, both
+     * are calculated again on next use. Called whenever the entries changed
+     * other than by appending.
+     */
+    protected void resetEntryCaches() {
+        mLodPyramid = null;
+        resetCubicControlPoints();
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        super.notifyDataSetChanged();
+        resetEntryCaches();
+    }
+
+    @Override
+    protected void onSnapshot(DataSet<Entry> previous) {
+        super.onSnapshot(previous);
+
+        // the caches belong to the previous version
+        mCubicControlPoints = null;
+        resetEntryCaches();
+    }
+
+    @Override
+    public boolean removeEntry(Entry e) {
+
+        boolean removed = super.removeEntry(e);
+
+        if (removed)
+            resetEntryCaches();
+
+        return removed;
+    }
+
     /** ALL CODE BELOW RELATED TO CIRCLE-COLORS */
 
     /**
@@ -0,0 +1,352 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.Utils;
+
+/**
+ * Level-of-detail structure for large DataSets. On level L the entries are
+ * grouped into buckets of 2^L consecutive entries, for each bucket the
+ * positions (in the Entry array) of the entries with the lowest and highest
+ * y-value are stored. Together with the first and last entry of each bucket
+ * this is enough to draw a line that looks exactly like the line through all
+ * entries as long as a bucket is not wider than a pixel. Every level is built
+ * from the level below, appended entries are added and the first entry is
+ * removed in O(log n). The buckets are aligned to the absolute position of
+ * the entries (counting the removed ones), so that a window sliding over
+ * streaming data keeps its buckets, they are stored circularly per level.
+ */
+public class MinMaxPyramid {
+
+    /**
+     * the smallest level that is used for reducing, each bucket results in up
+     * to 4 points, smaller buckets would not reduce anything
+     */
+    private static final int MIN_LEVEL = 3;
+
+    /** the DataSet the pyramid is built for */
+    private DataSet<?> mDataSet;
+
+    /** number of entries the pyramid contains */
+    private int mSize = 0;
+
+    /**
+     * number of entries that have been removed from the front, the absolute
+     * position of an entry is its position in the DataSet plus the offset
+     */
+    private int mOffset = 0;
+
+    /**
+     * per level (starting with level 1), absolute position of the lowest
+     * entry of every bucket, the bucket with the absolute index b is stored
+     * at b % length
+     */
+    private int[][] mMinPos = new int[0][];
+
+    /** per level (starting with level 1), position of the highest entry */
+    private int[][] mMaxPos = new int[0][];
+
+    /** positions of the reduced entries, reused for every reduce(...) call */
+    private int[] mPositions = new int[16];
+
+    /**
+     * Creates the pyramid for all entries of the given DataSet in O(n).
+     *
+     * @param set
+     */
+    public MinMaxPyramid(DataSet<?> set) {
+        mDataSet = set;
+        update();
+    }
+
+    /**
+     * Adds the entries that have been appended to the DataSet since the last
+     * call to the pyramid. If entries have been removed (other than via
+     * removeFirst()), the pyramid is rebuilt.
+     */
+    public void update() {
+
+        int count = mDataSet.getEntryCount();
+
+        if (count < mSize) {
+            mSize = 0;
+            mOffset = 0;
+            mMinPos = new int[0][];
+            mMaxPos = new int[0][];
+        }
+
+        if (count == mSize)
+            return;
+
+        int from = mOffset + mSize;
+        int levels = mMinPos.length;
+
+        mSize = count;
+
+        ensureLevels();
+
+        int to = mOffset + mSize - 1;
+
+        // recalculate the buckets that contain new entries level by level,
+        // new levels completely
+        for (int level = 1; level <= mMinPos.length; level++) {
+
+            int first = level > levels ? mOffset : from;
+
+            for (int b = first >> level; b <= to >> level; b++)
+                updateBucket(level, b);
+        }
+    }
+
+    /**
+     * Call this after the first Entry of the DataSet has been removed (e.g. by
+     * a sliding window), the positions of all other entries are reduced by
+     * one. Only the first bucket of every level is recalculated.
+     */
+    public void removeFirst() {
+
+        mOffset++;
+
+        if (mSize == 0)
+            return;
+
+        mSize--;
+
+        if (mSize == 0)
+            return;
+
+        for (int level = 1; level <= mMinPos.length; level++)
+            updateBucket(level, mOffset >> level);
+    }
+
+    /**
+     * Returns the number of entries the pyramid contains.
+     *
+     * @return
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns the level that should be used to draw the given number of
+     * entries onto the given number of pixels so that at most ~4 points are
+     * drawn per pixel, -1 if the entries should be drawn without reducing.
+     * Levels higher than the highest level of a pyramid are clamped by
+     * reduce(...).
+     *
+     * @param entryCount
+     * @param pixels
+     * @return
+     */
+    public static int getLevel(int entryCount, float pixels) {
+
+        if (pixels < 1f)
+            return -1;
+
+        // the smallest bucket size that results in <= pixels buckets
+        int level = (int) Math.ceil(Math.log(entryCount / pixels) / Math.log(2.0));
+
+        if (level < MIN_LEVEL)
+            return -1;
+
+        return level;
+    }
+
+    /**
+     * Reduces the entries in the range [from, to) on the given level to the
+     * first, lowest, highest and last entry of every bucket (in order of their
+     * position). The positions (in the DataSet) are available via
+     * getPositions(), the number of positions is returned.
+     *
+     * @param level
+     * @param from inclusive
+     * @param to exclusive
+     * @return
+     */
+    public int reduce(int level, int from, int to) {
+
+        to = Math.min(to, mSize);
+
+        if (from >= to)
+            return 0;
+
+        level = Math.min(level, mMinPos.length);
+
+        // absolute positions
+        from += mOffset;
+        to += mOffset;
+
+        int firstBucket = from >> level;
+        int lastBucket = (to - 1) >> level;
+
+        ensurePositions((lastBucket - firstBucket + 1) * 4);
+
+        int[] min = mMinPos[level - 1];
+        int[] max = mMaxPos[level - 1];
+
+        int count = 0;
+
+        for (int b = firstBucket; b <= lastBucket; b++) {
+
+            // the buckets at the edges might only be partially in range
+            int first = Math.max(b << level, from);
+            int last = Math.min(((b + 1) << level) - 1, to - 1);
+
+            int slot = b % min.length;
+
+            int low = Math.min(min[slot], max[slot]);
+            int high = Math.max(min[slot], max[slot]);
+
+            count = addPosition(count, first - mOffset);
+
+            if (low > first && low < last)
+                count = addPosition(count, low - mOffset);
+            if (high > first && high < last)
+                count = addPosition(count, high - mOffset);
+
+            count = addPosition(count, last - mOffset);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the positions written by the last reduce(...) call. Do not
+     * modify.
+     *
+     * @return
+     */
+    public int[] getPositions() {
+        return mPositions;
+    }
+
+    private int addPosition(int count, int position) {
+
+        if (count > 0 && mPositions[count - 1] == position)
+            return count;
+
+        mPositions[count] = position;
+        return count + 1;
+    }
+
+    /**
+     * Returns the y-value of the Entry at the given absolute position.
+     */
+    private float getYVal(int position) {
+        return mDataSet.getYValAt(position - mOffset);
+    }
+
+    /**
+     * Recalculates the given (absolute) bucket from the two buckets (or
+     * entries) of the level below that contain entries of the pyramid.
+     */
+    private void updateBucket(int level, int bucket) {
+
+        int first = mOffset;
+        int end = mOffset + mSize;
+
+        int minPos = -1, maxPos = -1;
+
+        for (int child = bucket * 2; child <= bucket * 2 + 1; child++) {
+
+            int childMin, childMax;
+
+            if (level == 1) {
+
+                if (child < first || child >= end)
+                    continue;
+
+                childMin = child;
+                childMax = child;
+
+            } else {
+
+                // the child bucket needs to contain at least one entry
+                if (((child + 1) << (level - 1)) <= first || (child << (level - 1)) >= end)
+                    continue;
+
+                int[] min = mMinPos[level - 2];
+                int[] max = mMaxPos[level - 2];
+
+                childMin = min[child % min.length];
+                childMax = max[child % max.length];
+            }
+
+            if (minPos < 0) {
+                minPos = childMin;
+                maxPos = childMax;
+                continue;
+            }
+
+            if (getYVal(childMin) < getYVal(minPos))
+                minPos = childMin;
+            if (getYVal(childMax) > getYVal(maxPos))
+                maxPos = childMax;
+        }
+
+        int[] min = mMinPos[level - 1];
+
+        mMinPos[level - 1][bucket % min.length] = minPos;
+        mMaxPos[level - 1][bucket % min.length] = maxPos;
+    }
+
+    /**
+     * Makes sure all levels exist and can hold their buckets, the arrays grow
+     * with spare capacity.
+     */
+    private void ensureLevels() {
+
+        // the highest level is the first that has only one bucket
+        int levels = 1;
+        while ((mSize - 1) >> levels > 0)
+            levels++;
+
+        if (levels > mMinPos.length) {
+            mMinPos = Utils.copyOf(mMinPos, levels);
+            mMaxPos = Utils.copyOf(mMaxPos, levels);
+        }
+
+        int firstEntry = mOffset;
+        int lastEntry = mOffset + mSize - 1;
+
+        for (int level = 1; level <= mMinPos.length; level++) {
+
+            int firstBucket = firstEntry >> level;
+            int buckets = (lastEntry >> level) - firstBucket + 1;
+
+            int[] min = mMinPos[level - 1];
+
+            if (min == null || min.length < buckets) {
+
+                int capacity = buckets + (buckets >> 1) + 1;
+
+                mMinPos[level - 1] = move(min, firstBucket, capacity);
+                mMaxPos[level - 1] = move(mMaxPos[level - 1], firstBucket, capacity);
+            }
+        }
+    }
+
+    /**
+     * Moves the buckets of a level starting with the given absolute bucket
+     * index into a new array of the given capacity.
+     */
+    private static int[] move(int[] buckets, int firstBucket, int capacity) {
+
+        int[] moved = new int[capacity];
+
+        if (buckets == null)
+            return moved;
+
+        // all buckets the old array can hold, including the ones that are
+        // calculated afterwards anyway
+        for (int b = firstBucket; b < firstBucket + buckets.length; b++)
+            moved[b % capacity] = buckets[b % buckets.length];
+
+        return moved;
+    }
+
+    private void ensurePositions(int size) {
+        if (mPositions.length < size)
+            mPositions = new int[size + (size >> 1)];
+    }
+}
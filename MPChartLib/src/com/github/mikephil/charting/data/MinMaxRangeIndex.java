@@ -0,0 +1,255 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.Arrays;
+
+/**
+ * Range-query structure (segment tree) that answers the minimum and maximum of
+ * any range of consecutive values in O(log n). Every value consists of a low
+ * and a high part (e.g. the low and high of a CandleEntry, for normal entries
+ * both are the y-value). Appending a value and removing the first value are
+ * O(log n) (amortized), the values are stored circularly so that streaming
+ * data with a fixed window does not require rebuilding the structure.
+ */
+public class MinMaxRangeIndex {
+
+    /** minimum of the low values of each node, leaves start at mCapacity */
+    private float[] mMin;
+
+    /** maximum of the high values of each node, leaves start at mCapacity */
+    private float[] mMax;
+
+    /** the number of leaves */
+    private int mCapacity;
+
+    /** the leaf holding the first value */
+    private int mStart = 0;
+
+    /** the number of values held */
+    private int mSize = 0;
+
+    /**
+     * Creates a new, empty index that can hold the given number of values
+     * before it needs to grow.
+     *
+     * @param capacity
+     */
+    public MinMaxRangeIndex(int capacity) {
+
+        mCapacity = Math.max(capacity, 1);
+        mMin = new float[mCapacity * 2];
+        mMax = new float[mCapacity * 2];
+
+        clear();
+    }
+
+    /**
+     * Returns the number of values held.
+     *
+     * @return
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        Arrays.fill(mMin, Float.POSITIVE_INFINITY);
+        Arrays.fill(mMax, Float.NEGATIVE_INFINITY);
+        mStart = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Appends a value to the end.
+     *
+     * @param low
+     * @param high
+     */
+    public void append(float low, float high) {
+
+        if (mSize == mCapacity)
+            grow(mCapacity * 2);
+
+        update((mStart + mSize) % mCapacity, low, high);
+        mSize++;
+    }
+
+    /**
+     * Removes the first value, the positions of all remaining values are
+     * reduced by one.
+     */
+    public void removeFirst() {
+
+        if (mSize == 0)
+            return;
+
+        update(mStart, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY);
+
+        mStart = (mStart + 1) % mCapacity;
+        mSize--;
+
+        if (mSize == 0)
+            mStart = 0;
+    }
+
+    /**
+     * Returns the minimum of the low values in the range [from, to), NaN if
+     * the range is empty.
+     *
+     * @param from inclusive
+     * @param to exclusive
+     * @return
+     */
+    public float getMin(int from, int to) {
+
+        from = Math.max(from, 0);
+        to = Math.min(to, mSize);
+
+        if (from >= to)
+            return Float.NaN;
+
+        int start = (mStart + from) % mCapacity;
+        int end = start + (to - from);
+
+        // the range wraps around the end of the leaves
+        if (end > mCapacity)
+            return Math.min(queryMin(start, mCapacity), queryMin(0, end - mCapacity));
+
+        return queryMin(start, end);
+    }
+
+    /**
+     * Returns the maximum of the high values in the range [from, to), NaN if
+     * the range is empty.
+     *
+     * @param from inclusive
+     * @param to exclusive
+     * @return
+     */
+    public float getMax(int from, int to) {
+
+        from = Math.max(from, 0);
+        to = Math.min(to, mSize);
+
+        if (from >= to)
+            return Float.NaN;
+
+        int start = (mStart + from) % mCapacity;
+        int end = start + (to - from);
+
+        // the range wraps around the end of the leaves
+        if (end > mCapacity)
+            return Math.max(queryMax(start, mCapacity), queryMax(0, end - mCapacity));
+
+        return queryMax(start, end);
+    }
+
+    /**
+     * Sets the value at the given position without updating the tree, used
+     * for building the index in O(n). build(...) needs to be called afterwards.
+     *
+     * @param index
+     * @param low
+     * @param high
+     */
+    void setLeaf(int index, float low, float high) {
+        mMin[mCapacity + index] = low;
+        mMax[mCapacity + index] = high;
+    }
+
+    /**
+     * Builds the tree from the values set via setLeaf(...).
+     *
+     * @param size the number of values that have been set
+     */
+    void build(int size) {
+
+        mStart = 0;
+        mSize = size;
+
+        for (int i = mCapacity - 1; i > 0; i--) {
+            mMin[i] = Math.min(mMin[2 * i], mMin[2 * i + 1]);
+            mMax[i] = Math.max(mMax[2 * i], mMax[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Sets the given leaf and updates all its parent nodes.
+     */
+    private void update(int leaf, float low, float high) {
+
+        int i = mCapacity + leaf;
+
+        mMin[i] = low;
+        mMax[i] = high;
+
+        for (i >>= 1; i > 0; i >>= 1) {
+            mMin[i] = Math.min(mMin[2 * i], mMin[2 * i + 1]);
+            mMax[i] = Math.max(mMax[2 * i], mMax[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Minimum of the leaves [from, to).
+     */
+    private float queryMin(int from, int to) {
+
+        float min = Float.POSITIVE_INFINITY;
+
+        for (from += mCapacity, to += mCapacity; from < to; from >>= 1, to >>= 1) {
+
+            if ((from & 1) == 1)
+                min = Math.min(min, mMin[from++]);
+            if ((to & 1) == 1)
+                min = Math.min(min, mMin[--to]);
+        }
+
+        return min;
+    }
+
+    /**
+     * Maximum of the leaves [from, to).
+     */
+    private float queryMax(int from, int to) {
+
+        float max = Float.NEGATIVE_INFINITY;
+
+        for (from += mCapacity, to += mCapacity; from < to; from >>= 1, to >>= 1) {
+
+            if ((from & 1) == 1)
+                max = Math.max(max, mMax[from++]);
+            if ((to & 1) == 1)
+                max = Math.max(max, mMax[--to]);
+        }
+
+        return max;
+    }
+
+    /**
+     * Increases the number of leaves, the values are moved to the beginning of
+     * the new leaves.
+     */
+    private void grow(int capacity) {
+
+        float[] min = new float[capacity * 2];
+        float[] max = new float[capacity * 2];
+
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+
+        for (int i = 0; i < mSize; i++) {
+            int leaf = mCapacity + (mStart + i) % mCapacity;
+            min[capacity + i] = mMin[leaf];
+            max[capacity + i] = mMax[leaf];
+        }
+
+        mMin = min;
+        mMax = max;
+        mCapacity = capacity;
+
+        build(mSize);
+    }
+}
@@ -0,0 +1,240 @@
+
+package com.github.mikephil.charting.data;
+
+/**
+ * Fixed-capacity, columnar list of entries for real-time streaming. Appending
+ * a value is O(1), once the capacity is reached the oldest value is evicted in
+ * O(1). Every appended value receives the next logical x-index, the x-indices
+ * returned by the list are relative to the oldest value that is still held
+ * (the first value always has x-index 0), so evicting never requires
+ * re-indexing the remaining values. Minimum and maximum of the held values are
+ * maintained with monotonic deques and are available in O(1).
+ *
+ * The values are written twice into backing arrays of twice the capacity,
+ * which keeps the held window contiguous for the buffers that read the
+ * columns directly. Payload- and stack-values are not supported.
+ */
+public class RingBufferEntryList extends ColumnarEntryList<Entry> {
+
+    /** the maximum number of values held */
+    private int mCapacity;
+
+    /** the logical x-index the next appended value receives */
+    private int mNextXIndex = 0;
+
+    /** the position (< capacity) the next appended value is written to */
+    private int mWritePos = 0;
+
+    /** positions of the candidates for the maximum, decreasing values */
+    private int[] mMaxDeque;
+    private int mMaxHead = 0;
+    private int mMaxSize = 0;
+
+    /** positions of the candidates for the minimum, increasing values */
+    private int[] mMinDeque;
+    private int mMinHead = 0;
+    private int mMinSize = 0;
+
+    /**
+     * Creates a new ring-buffer that holds the given number of values at most.
+     *
+     * @param capacity
+     */
+    public RingBufferEntryList(int capacity) {
+        super(Math.max(capacity, 1) * 2);
+
+        mCapacity = Math.max(capacity, 1);
+        mMaxDeque = new int[mCapacity];
+        mMinDeque = new int[mCapacity];
+    }
+
+    @Override
+    protected Entry createEntry(int index) {
+        return new Entry(getVal(index), getXIndex(index));
+    }
+
+    /**
+     * Returns the maximum number of values this list holds.
+     *
+     * @return
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Returns true if the list is full and appending will evict the oldest
+     * value.
+     *
+     * @return
+     */
+    public boolean isFull() {
+        return mSize == mCapacity;
+    }
+
+    /**
+     * Returns the logical x-index of the oldest value held, which equals the
+     * number of values that have been evicted so far.
+     *
+     * @return
+     */
+    public int getXOffset() {
+        return mXIndexOffset;
+    }
+
+    /**
+     * Appends the given value, evicting the oldest value if the list is full.
+     * Returns true if a value was evicted.
+     *
+     * @param val
+     * @return
+     */
+    public boolean append(float val) {
+
+        boolean evicted = false;
+
+        if (mSize == mCapacity) {
+            evictOldest();
+            evicted = true;
+        }
+
+        int xIndex = mNextXIndex++;
+        int pos = mWritePos;
+
+        mWritePos = (pos + 1) % mCapacity;
+
+        // write twice so that the held window is always contiguous
+        mVals[pos] = val;
+        mVals[pos + mCapacity] = val;
+        mXIndices[pos] = xIndex;
+        mXIndices[pos + mCapacity] = xIndex;
+
+        if (mSize == 0) {
+            mXIndexOffset = xIndex;
+            mArrayOffset = pos;
+        }
+
+        mSize++;
+
+        // maintain the monotonic deques
+        while (mMaxSize > 0 && mVals[peekLast(mMaxDeque, mMaxHead, mMaxSize)] <= val)
+            mMaxSize--;
+        mMaxDeque[(mMaxHead + mMaxSize++) % mCapacity] = pos;
+
+        while (mMinSize > 0 && mVals[peekLast(mMinDeque, mMinHead, mMinSize)] >= val)
+            mMinSize--;
+        mMinDeque[(mMinHead + mMinSize++) % mCapacity] = pos;
+
+        modCount++;
+        return evicted;
+    }
+
+    /**
+     * Removes the oldest value held. Returns the removed value.
+     *
+     * @return
+     */
+    public float evictOldest() {
+        checkIndex(0);
+
+        float val = getVal(0);
+        int pos = mArrayOffset;
+
+        if (mMaxSize > 0 && mMaxDeque[mMaxHead] == pos) {
+            mMaxHead = (mMaxHead + 1) % mCapacity;
+            mMaxSize--;
+        }
+
+        if (mMinSize > 0 && mMinDeque[mMinHead] == pos) {
+            mMinHead = (mMinHead + 1) % mCapacity;
+            mMinSize--;
+        }
+
+        mSize--;
+        mXIndexOffset++;
+        mArrayOffset = (pos + 1) % mCapacity;
+
+        modCount++;
+        return val;
+    }
+
+    /**
+     * Returns the minimum value held in O(1), 0 if the list is empty.
+     *
+     * @return
+     */
+    public float getMin() {
+        return mMinSize == 0 ? 0f : mVals[mMinDeque[mMinHead]];
+    }
+
+    /**
+     * Returns the maximum value held in O(1), 0 if the list is empty.
+     *
+     * @return
+     */
+    public float getMax() {
+        return mMaxSize == 0 ? 0f : mVals[mMaxDeque[mMaxHead]];
+    }
+
+    private int peekLast(int[] deque, int head, int size) {
+        return deque[(head + size - 1) % mCapacity];
+    }
+
+    /**
+     * Only appending is supported, the x-index of the given Entry is ignored,
+     * it receives the next logical x-index.
+     */
+    @Override
+    public void add(int index, Entry e) {
+
+        if (index != mSize)
+            throw new UnsupportedOperationException(
+                    "RingBufferEntryList only supports appending.");
+
+        append(e.getVal());
+    }
+
+    @Override
+    public void add(float val, int xIndex, Object data) {
+        append(val);
+    }
+
+    @Override
+    public Entry set(int index, Entry e) {
+        throw new UnsupportedOperationException("RingBufferEntryList does not support set().");
+    }
+
+    /**
+     * Only the oldest value (index 0) can be removed.
+     */
+    @Override
+    public Entry remove(int index) {
+
+        if (index != 0)
+            throw new UnsupportedOperationException(
+                    "RingBufferEntryList only supports removing the oldest value.");
+
+        Entry e = createEntry(0);
+        evictOldest();
+        return e;
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        mMaxSize = 0;
+        mMinSize = 0;
+        mMaxHead = 0;
+        mMinHead = 0;
+        mXIndexOffset = mNextXIndex;
+        mArrayOffset = mWritePos;
+        modCount++;
+    }
+
+    /**
+     * The capacity is fixed, this does nothing.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+    }
+}
@@ -0,0 +1,125 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.List;
+
+/**
+ * LineDataSet for real-time streaming that holds a fixed number of values
+ * (the window). Appending a value is O(1), once the window is full the oldest
+ * value is evicted in O(1). The x-indices of the held values are relative to
+ * the oldest value (the first value always has x-index 0), the number of
+ * evicted values is available via getXOffset(), so the remaining values never
+ * need to be re-indexed. Minimum and maximum are maintained incrementally,
+ * getYMin() and getYMax() stay O(1). The ChartData this DataSet is added to
+ * should hold exactly as many x-values as the window size.
+ */
+public class SlidingWindowLineDataSet extends LineDataSet {
+
+    /**
+     * Creates a new DataSet that holds the given number of values at most.
+     *
+     * @param windowSize
+     * @param label
+     */
+    public SlidingWindowLineDataSet(int windowSize, String label) {
+        super(new RingBufferEntryList(windowSize), label);
+    }
+
+    /**
+     * Appends the given value, evicting the oldest value if the window is
+     * full. The value receives the next logical x-index.
+     *
+     * @param val
+     */
+    public void addValue(float val) {
+
+        RingBufferEntryList buffer = getBuffer();
+
+        boolean full = buffer.isFull();
+
+        if (full)
+            mYValueSum -= Math.abs(buffer.getVal(0));
+
+        buffer.append(val);
+        mModificationCount++;
+
+        // move the window of the range-query structure along
+        if (mRangeIndex != null && mRangeIndexModificationCount == mModificationCount - 1) {
+            if (full)
+                mRangeIndex.removeFirst();
+            mRangeIndex.append(val, val);
+            mRangeIndexModificationCount = mModificationCount;
+        }
+
+        // the pyramid adds the new value with the next update()
+        if (full && mLodPyramid != null)
+            mLodPyramid.removeFirst();
+
+        // evicting shifts the positions (and x-indices) of all entries
+        if (full)
+            resetCubicControlPoints();
+
+        mYValueSum += Math.abs(val);
+        mYMin = buffer.getMin();
+        mYMax = buffer.getMax();
+    }
+
+    /**
+     * Appends the value of the given Entry, the x-index of the Entry is
+     * ignored, see addValue(...).
+     */
+    @Override
+    public void addEntry(Entry e) {
+
+        if (e == null)
+            return;
+
+        addValue(e.getVal());
+    }
+
+    /**
+     * Returns the logical x-index of the oldest value held, which equals the
+     * number of values that have been evicted so far.
+     *
+     * @return
+     */
+    public int getXOffset() {
+        return getBuffer().getXOffset();
+    }
+
+    /**
+     * Returns the maximum number of values this DataSet holds.
+     *
+     * @return
+     */
+    public int getWindowSize() {
+        return getBuffer().getCapacity();
+    }
+
+    @Override
+    protected void calcMinMax() {
+
+        RingBufferEntryList buffer = getBuffer();
+
+        mYMin = buffer.getMin();
+        mYMax = buffer.getMax();
+    }
+
+    @Override
+    public boolean isSnapshotSupported() {
+        return false;
+    }
+
+    /**
+     * Not supported, the window is modified in place.
+     */
+    @Override
+    public DataSet<Entry> snapshot(List<Entry> yVals) {
+        throw new UnsupportedOperationException(
+                "SlidingWindowLineDataSet does not support snapshots.");
+    }
+
+    private RingBufferEntryList getBuffer() {
+        return (RingBufferEntryList) mYVals;
+    }
+}
@@ -0,0 +1,283 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.Utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, versioned list of entries (columnar, see ColumnarEntryList) for
+ * preparing data on a background thread while the chart draws the previous
+ * version. A new version is created with edit() and Editor.build(), the
+ * versions share their columns: appending to the newest version writes behind
+ * the end of the columns, which no older version ever reads, so a version
+ * with 1M entries appended by 1k entries only costs the 1k entries. Only
+ * changing existing entries (Editor.set(...)) or appending to an older
+ * version copies the columns. Use it with DataSet.snapshot(...) and
+ * ChartData.snapshot(...).
+ */
+public class SnapshotEntryList extends ColumnarEntryList<Entry> {
+
+    /**
+     * shared by all versions on the same columns: the size of the version
+     * whose end may be extended in place, -1 while an Editor extends it
+     */
+    private final AtomicInteger mTip;
+
+    private SnapshotEntryList(float[] vals, int[] xIndices, Object[] data, int size,
+            AtomicInteger tip) {
+        super(1);
+
+        mVals = vals;
+        mXIndices = xIndices;
+        mData = data;
+        mSize = size;
+        mTip = tip;
+    }
+
+    /**
+     * Creates an empty list with the given capacity.
+     *
+     * @param capacity
+     * @return
+     */
+    public static SnapshotEntryList create(int capacity) {
+
+        capacity = Math.max(capacity, 1);
+
+        return new SnapshotEntryList(new float[capacity], new int[capacity], null, 0,
+                new AtomicInteger(0));
+    }
+
+    /**
+     * Creates a list holding the values of the given entries.
+     *
+     * @param entries
+     * @return
+     */
+    public static SnapshotEntryList create(List<? extends Entry> entries) {
+
+        Editor editor = create(entries.size()).edit();
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            editor.add(e.getVal(), e.getXIndex(), e.getData());
+        }
+
+        return editor.build();
+    }
+
+    /**
+     * Returns an Editor for creating the next version of this list, this
+     * version stays unchanged. Can be called on any thread.
+     *
+     * @return
+     */
+    public Editor edit() {
+        return new Editor(this, mTip.compareAndSet(mSize, -1));
+    }
+
+    /**
+     * Returns true if this list consists of the given (older) version with
+     * entries appended, so that calculations over the older version (e.g.
+     * minimum and maximum) can be continued from its size.
+     *
+     * @param previous
+     * @return
+     */
+    public boolean isExtensionOf(SnapshotEntryList previous) {
+        return previous.mVals == mVals && previous.mSize <= mSize;
+    }
+
+    @Override
+    protected Entry createEntry(int index) {
+        return new Entry(getVal(index), getXIndex(index), getData(index));
+    }
+
+    @Override
+    public void add(float val, int xIndex, Object data) {
+        throw immutable();
+    }
+
+    @Override
+    public void add(int index, Entry e) {
+        throw immutable();
+    }
+
+    @Override
+    public Entry set(int index, Entry e) {
+        throw immutable();
+    }
+
+    @Override
+    public Entry remove(int index) {
+        throw immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException(
+                "SnapshotEntryList is immutable, create a new version with edit().");
+    }
+
+    /**
+     * Creates the next version of a SnapshotEntryList. Not thread-safe, use
+     * one Editor on one thread, build() it exactly once.
+     */
+    public static class Editor {
+
+        private float[] mVals;
+        private int[] mXIndices;
+        private Object[] mData;
+        private int mSize;
+
+        /** the tip of the columns of the version the Editor started from */
+        private AtomicInteger mTip;
+
+        /** the size of the version the Editor started from */
+        private int mBaseSize;
+
+        /**
+         * true if entries may be written behind the end of the columns, false
+         * if they need to be copied first
+         */
+        private boolean mOwnsTail;
+
+        /** true if the columns are new and not shared with any version */
+        private boolean mPrivate = false;
+
+        private boolean mBuilt = false;
+
+        private Editor(SnapshotEntryList base, boolean ownsTail) {
+            mVals = base.mVals;
+            mXIndices = base.mXIndices;
+            mData = base.mData;
+            mSize = base.mSize;
+            mBaseSize = base.mSize;
+            mTip = base.mTip;
+            mOwnsTail = ownsTail;
+        }
+
+        /**
+         * Appends a value.
+         *
+         * @param val
+         * @param xIndex
+         */
+        public Editor add(float val, int xIndex) {
+            return add(val, xIndex, null);
+        }
+
+        /**
+         * Appends a value with a payload.
+         *
+         * @param val
+         * @param xIndex
+         * @param data
+         */
+        public Editor add(float val, int xIndex, Object data) {
+
+            checkNotBuilt();
+
+            if (!mOwnsTail || mSize == mVals.length)
+                copyColumns(Math.max(mSize + 1, mSize + (mSize >> 1) + 1));
+
+            mVals[mSize] = val;
+            mXIndices[mSize] = xIndex;
+
+            if (data != null && mData == null)
+                mData = new Object[mVals.length];
+
+            if (mData != null)
+                mData[mSize] = data;
+
+            mSize++;
+            return this;
+        }
+
+        /**
+         * Changes the value at the given position, the columns are copied
+         * the first time an Editor changes an existing entry.
+         *
+         * @param index
+         * @param val
+         */
+        public Editor set(int index, float val) {
+
+            checkNotBuilt();
+
+            if (index < 0 || index >= mSize)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+            if (!mPrivate)
+                copyColumns(mVals.length);
+
+            mVals[index] = val;
+            return this;
+        }
+
+        /**
+         * Returns the number of entries of the version that is built.
+         *
+         * @return
+         */
+        public int size() {
+            return mSize;
+        }
+
+        /**
+         * Creates the new version.
+         *
+         * @return
+         */
+        public SnapshotEntryList build() {
+
+            checkNotBuilt();
+            mBuilt = true;
+
+            AtomicInteger tip = mTip;
+
+            if (mPrivate)
+                tip = new AtomicInteger(mSize);
+            else if (mOwnsTail)
+                tip.set(mSize);
+
+            return new SnapshotEntryList(mVals, mXIndices, mData, mSize, tip);
+        }
+
+        /**
+         * Moves the entries into new columns of the given capacity that are
+         * not shared with any other version.
+         */
+        private void copyColumns(int capacity) {
+
+            // the version the editor started from can be extended again
+            if (mOwnsTail && !mPrivate)
+                mTip.set(mBaseSize);
+
+            mVals = Utils.copyOf(mVals, capacity);
+            mXIndices = Utils.copyOf(mXIndices, capacity);
+
+            if (mData != null)
+                mData = Utils.copyOf(mData, capacity);
+
+            mOwnsTail = true;
+            mPrivate = true;
+        }
+
+        private void checkNotBuilt() {
+            if (mBuilt)
+                throw new IllegalStateException("The Editor has already been built.");
+        }
+    }
+}
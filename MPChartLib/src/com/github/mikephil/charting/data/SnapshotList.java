@@ -0,0 +1,107 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.Utils;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, versioned list (e.g. for the x-values of a ChartData) for
+ * preparing data on a background thread while the chart draws the previous
+ * version. Like SnapshotEntryList, the versions share their array: appending
+ * to the newest version writes behind its end, which no older version ever
+ * reads, so appending only costs the appended items. Appending to an older
+ * version copies the array.
+ */
+public class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] mItems;
+
+    private final int mSize;
+
+    /**
+     * shared by all versions on the same array: the size of the version whose
+     * end may be extended in place, -1 while it is being extended
+     */
+    private final AtomicInteger mTip;
+
+    private SnapshotList(Object[] items, int size, AtomicInteger tip) {
+        mItems = items;
+        mSize = size;
+        mTip = tip;
+    }
+
+    /**
+     * Creates a list holding the given items.
+     *
+     * @param items
+     * @return
+     */
+    public static <E> SnapshotList<E> create(List<? extends E> items) {
+        return new SnapshotList<E>(new Object[0], 0, new AtomicInteger(0)).append(items);
+    }
+
+    /**
+     * Returns a new version of this list with the given items appended, this
+     * version stays unchanged. Can be called on any thread.
+     *
+     * @param items
+     * @return
+     */
+    public SnapshotList<E> append(List<? extends E> items) {
+
+        int size = mSize + items.size();
+
+        Object[] array = mItems;
+        AtomicInteger tip = mTip;
+
+        boolean ownsTail = tip.compareAndSet(mSize, -1);
+
+        if (!ownsTail || size > array.length) {
+
+            array = Utils.copyOf(array, Math.max(size, mSize + (mSize >> 1) + 1));
+
+            // the shared array can be extended again by the same version
+            if (ownsTail)
+                tip.set(mSize);
+
+            tip = new AtomicInteger(-1);
+        }
+
+        for (int i = 0; i < items.size(); i++)
+            array[mSize + i] = items.get(i);
+
+        tip.set(size);
+
+        return new SnapshotList<E>(array, size, tip);
+    }
+
+    /**
+     * Returns true if this list consists of the given (older) version with
+     * items appended.
+     *
+     * @param previous
+     * @return
+     */
+    public boolean isExtensionOf(SnapshotList<?> previous) {
+        return previous.mItems == mItems && previous.mSize <= mSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        return (E) mItems[index];
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+}
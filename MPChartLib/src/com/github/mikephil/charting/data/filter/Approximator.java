@@ -1,10 +1,23 @@
 
 package com.github.mikephil.charting.data.filter;
 
+import com.github.mikephil.charting.data.ColumnarEntryList;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.utils.Utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Implemented according to Wiki-Pseudocode {@link}
@@ -29,9 +42,52 @@ public class Approximator {
      */
     private boolean[] keep;
 
+    /**
+     * stack of the start- and end-positions of the ranges Douglas-Peucker
+     * still needs to process, reused across calls
+     */
+    private int[] mStack = new int[64];
+
+    /**
+     * number of entries from which on Douglas-Peucker distributes independent
+     * ranges across threads
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** thread pool shared by all Approximators, created on first use */
+    private static ExecutorService mExecutor;
+
+    /**
+     * the smallest resolution (log2 of the x-indices per pixel) at which
+     * reduce(...) reduces the entries
+     */
+    private static final int MIN_LEVEL = 3;
+
+    /** the reductions calculated by reduce(...) per DataSet */
+    private Map<DataSet<?>, Reductions> mReductions = new WeakHashMap<DataSet<?>, Reductions>();
+
+    /** the number of configuration changes */
+    private int mConfigurationCount = 0;
+
+    /** the positions of the last reduce(...) call */
+    private int[] mPositions = new int[0];
+
+    /** the first position of the last reduce(...) call in mPositions */
+    private int mOffset = 0;
+
     /** enums for the different types of filtering algorithms */
     public enum ApproximatorType {
-        NONE, DOUGLAS_PEUCKER
+        NONE, DOUGLAS_PEUCKER, LARGEST_TRIANGLE_THREE_BUCKETS, M4
+    }
+
+    /**
+     * The reductions of one DataSet per resolution, valid as long as the
+     * modification count of the DataSet does not change.
+     */
+    private static class Reductions {
+        int modificationCount;
+        int entryCount;
+        Map<Integer, int[]> positions = new HashMap<Integer, int[]>();
     }
 
     /**
@@ -60,6 +116,7 @@ public class Approximator {
     public void setup(ApproximatorType type, double tolerance) {
         mType = type;
         mTolerance = tolerance;
+        clearReductions();
     }
 
     /**
@@ -69,6 +126,7 @@ public class Approximator {
      */
     public void setTolerance(double tolerance) {
         mTolerance = tolerance;
+        clearReductions();
     }
 
     /**
@@ -78,6 +136,7 @@ public class Approximator {
      */
     public void setType(ApproximatorType type) {
         this.mType = type;
+        clearReductions();
     }
 
     /**
@@ -90,6 +149,22 @@ public class Approximator {
     public void setRatios(float deltaRatio, float scaleRatio) {
         mDeltaRatio = deltaRatio;
         mScaleRatio = scaleRatio;
+        clearReductions();
+    }
+
+    /**
+     * Returns the number of times the configuration (type, tolerance or
+     * ratios) changed, reductions calculated before a change are outdated.
+     * 
+     * @return
+     */
+    public int getConfigurationCount() {
+        return mConfigurationCount;
+    }
+
+    private void clearReductions() {
+        mReductions.clear();
+        mConfigurationCount++;
     }
 
     /**
@@ -114,8 +189,6 @@ public class Approximator {
         if (tolerance <= 0)
             return points;
 
-        keep = new boolean[points.size()];
-
         switch (mType) {
             case DOUGLAS_PEUCKER:
                 return reduceWithDouglasPeuker(points, tolerance);
@@ -126,9 +199,280 @@ public class Approximator {
         }
     }
 
+    /**
+     * Reduces the entries of the given DataSet in the range [from, to) for
+     * drawing according to type. LARGEST_TRIANGLE_THREE_BUCKETS and M4 reduce
+     * the whole DataSet once per resolution (power of two x-indices per
+     * pixel), DOUGLAS_PEUCKER reduces it once with the set tolerance. The
+     * reductions are cached until the DataSet is modified, panning and zooming
+     * within the same resolution reuse the cached reduction. The positions (in the Entry array) of the
+     * remaining entries are available via getPositions(), starting at
+     * getOffset(). Returns the number of positions, -1 if the entries should
+     * be drawn without reducing.
+     * 
+     * @param set
+     * @param from inclusive
+     * @param to exclusive
+     * @param xPerPixel the number of x-indices that fall onto one pixel
+     * @return
+     */
+    public int reduce(DataSet<?> set, int from, int to, float xPerPixel) {
+
+        if (set.getEntryCount() < 3)
+            return -1;
+
+        int level;
+
+        if (mType == ApproximatorType.DOUGLAS_PEUCKER) {
+
+            // does not depend on the resolution
+            if (mTolerance <= 0)
+                return -1;
+
+            level = 0;
+
+        } else if (mType == ApproximatorType.LARGEST_TRIANGLE_THREE_BUCKETS
+                || mType == ApproximatorType.M4) {
+
+            level = (int) Math.ceil(Math.log(xPerPixel) / Math.log(2.0));
+
+            if (level < MIN_LEVEL)
+                return -1;
+
+        } else {
+            return -1;
+        }
+
+        Reductions reductions = mReductions.get(set);
+
+        if (reductions == null || reductions.modificationCount != set.getModificationCount()
+                || reductions.entryCount != set.getEntryCount()) {
+
+            reductions = new Reductions();
+            reductions.modificationCount = set.getModificationCount();
+            reductions.entryCount = set.getEntryCount();
+            mReductions.put(set, reductions);
+        }
+
+        int[] positions = reductions.positions.get(level);
+
+        if (positions == null) {
+
+            if (mType == ApproximatorType.DOUGLAS_PEUCKER)
+                positions = getDouglasPeuckerIndices(set.getYVals(), mTolerance);
+            else if (mType == ApproximatorType.M4)
+                positions = reduceWithM4(set, level);
+            else
+                positions = reduceWithLargestTriangleThreeBuckets(set, level);
+
+            reductions.positions.put(level, positions);
+        }
+
+        // include the position before the range to connect the line
+        int start = Math.max(lowerBound(positions, from) - 1, 0);
+        int end = lowerBound(positions, to);
+
+        mPositions = positions;
+        mOffset = start;
+
+        return Math.max(end - start, 0);
+    }
+
+    /**
+     * Returns the positions of the last reduce(...) call, the first one is
+     * located at getOffset(). Do not modify.
+     * 
+     * @return
+     */
+    public int[] getPositions() {
+        return mPositions;
+    }
+
+    /**
+     * Returns the index of the first position of the last reduce(...) call in
+     * the array returned by getPositions().
+     * 
+     * @return
+     */
+    public int getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Returns the index of the first position that is not smaller than the
+     * given position.
+     */
+    private static int lowerBound(int[] positions, int position) {
+
+        int low = 0;
+        int high = positions.length;
+
+        while (low < high) {
+
+            int m = (low + high) >>> 1;
+
+            if (positions[m] < position)
+                low = m + 1;
+            else
+                high = m;
+        }
+
+        return low;
+    }
+
+    /**
+     * M4 aggregation: the entries are grouped into columns of 2^level
+     * x-indices (one pixel), of each column the first, lowest, highest and
+     * last entry are kept. Drawing the kept entries results in the same pixels
+     * as drawing all entries.
+     * 
+     * @param set
+     * @param level
+     * @return
+     */
+    private int[] reduceWithM4(DataSet<?> set, int level) {
+
+        int count = set.getEntryCount();
+        int firstX = set.getXIndexAt(0);
+
+        int[] positions = new int[Math.min(count, 16)];
+        int size = 0;
+
+        int column = 0;
+        int first = 0, min = 0, max = 0;
+
+        for (int i = 0; i <= count; i++) {
+
+            int c = i < count ? (set.getXIndexAt(i) - firstX) >> level : -1;
+
+            if (i > 0 && c != column) {
+
+                // column complete, keep first, min, max and last in order
+                int last = i - 1;
+                int low = Math.min(min, max);
+                int high = Math.max(min, max);
+
+                if (positions.length < size + 4)
+                    positions = Utils.copyOf(positions, Math.max(positions.length * 2, size + 4));
+
+                positions[size++] = first;
+                if (low != first && low != last)
+                    positions[size++] = low;
+                if (high != low && high != first && high != last)
+                    positions[size++] = high;
+                if (last != first)
+                    positions[size++] = last;
+            }
+
+            if (i == count)
+                break;
+
+            float val = set.getYValAt(i);
+
+            if (i == 0 || c != column) {
+                column = c;
+                first = i;
+                min = i;
+                max = i;
+            } else {
+                if (val < set.getYValAt(min))
+                    min = i;
+                if (val > set.getYValAt(max))
+                    max = i;
+            }
+        }
+
+        return Utils.copyOf(positions, size);
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: the entries are divided into two buckets
+     * per pixel (columns of 2^level x-indices), of each bucket the entry that
+     * forms the largest triangle with the entry kept from the previous bucket
+     * and the average of the next bucket is kept. First and last entry always
+     * stay.
+     * 
+     * @param set
+     * @param level
+     * @return
+     */
+    private int[] reduceWithLargestTriangleThreeBuckets(DataSet<?> set, int level) {
+
+        int count = set.getEntryCount();
+        int xRange = set.getXIndexAt(count - 1) - set.getXIndexAt(0) + 1;
+
+        // two buckets per pixel, plus first and last
+        int threshold = ((xRange - 1) >> (level - 1)) + 3;
+
+        if (threshold >= count) {
+
+            int[] positions = new int[count];
+            for (int i = 0; i < count; i++)
+                positions[i] = i;
+            return positions;
+        }
+
+        int[] positions = new int[threshold];
+        int size = 0;
+
+        double every = (double) (count - 2) / (threshold - 2);
+
+        int a = 0;
+        positions[size++] = a;
+
+        for (int i = 0; i < threshold - 2; i++) {
+
+            // average of the next bucket
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, count);
+
+            double avgX = 0, avgY = 0;
+
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += set.getXIndexAt(j);
+                avgY += set.getYValAt(j);
+            }
+
+            int avgLength = avgEnd - avgStart;
+
+            if (avgLength > 0) {
+                avgX /= avgLength;
+                avgY /= avgLength;
+            }
+
+            // the entry of the current bucket forming the largest triangle
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+
+            double ax = set.getXIndexAt(a);
+            double ay = set.getYValAt(a);
+
+            double maxArea = -1;
+            int next = rangeStart;
+
+            for (int j = rangeStart; j < rangeEnd; j++) {
+
+                double area = Math.abs((ax - avgX) * (set.getYValAt(j) - ay)
+                        - (ax - set.getXIndexAt(j)) * (avgY - ay));
+
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+
+            positions[size++] = next;
+            a = next;
+        }
+
+        positions[size++] = count - 1;
+
+        return Utils.copyOf(positions, size);
+    }
+
     /**
      * uses the douglas peuker algorithm to reduce the given List of
-     * entries
+     * entries, the kept Entry objects are returned (not copied)
      * 
      * @param entries
      * @param epsilon
@@ -140,49 +484,243 @@ public class Approximator {
             return entries;
         }
 
+        int[] indices = getDouglasPeuckerIndices(entries, epsilon);
+
+        // create a new array with series, only take the kept ones
+        List<Entry> reducedEntries = new ArrayList<Entry>(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            reducedEntries.add(entries.get(indices[i]));
+        }
+        return reducedEntries;
+    }
+
+    /**
+     * Applies the Douglas-Peucker-Reduction to the given entries and returns
+     * the positions of the entries that are kept, ascending. The reduction is
+     * done iteratively (no recursion), scratch arrays are reused across calls.
+     * Large inputs (more than 65536 entries) are split into independent ranges
+     * that are processed in parallel.
+     * 
+     * @param entries
+     * @param epsilon the angle in degrees that will trigger the filtering
+     * @return
+     */
+    public int[] getDouglasPeuckerIndices(List<? extends Entry> entries, double epsilon) {
+
+        int size = entries.size();
+
+        if (epsilon <= 0 || size < 3) {
+
+            int[] indices = new int[size];
+            for (int i = 0; i < size; i++)
+                indices[i] = i;
+            return indices;
+        }
+
+        if (keep == null || keep.length < size)
+            keep = new boolean[size];
+        else
+            Arrays.fill(keep, 0, size, false);
+
         // first and last always stay
         keep[0] = true;
-        keep[entries.size() - 1] = true;
+        keep[size - 1] = true;
 
-        // first and last entry are entry point to recursion
-        algorithmDouglasPeucker(entries, epsilon, 0, entries.size() - 1);
+        int threads = Runtime.getRuntime().availableProcessors();
 
-        // create a new array with series, only take the kept ones
-        List<Entry> reducedEntries = new ArrayList<Entry>();
-        for (int i = 0; i < entries.size(); i++) {
-            if (keep[i]) {
-                Entry curEntry = entries.get(i);
-                reducedEntries.add(new Entry(curEntry.getVal(), curEntry.getXIndex()));
-            }
+        if (size >= PARALLEL_THRESHOLD && threads > 1)
+            algorithmDouglasPeuckerParallel(entries, epsilon, threads);
+        else
+            mStack = algorithmDouglasPeucker(entries, epsilon, 0, size - 1, mStack);
+
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (keep[i])
+                count++;
         }
-        return reducedEntries;
+
+        int[] indices = new int[count];
+
+        for (int i = 0, j = 0; i < size; i++) {
+            if (keep[i])
+                indices[j++] = i;
+        }
+
+        return indices;
     }
 
     /**
-     * apply the Douglas-Peucker-Reduction to an List of Entry with a given
-     * epsilon (tolerance)
+     * apply the Douglas-Peucker-Reduction to the range [start, end] of the
+     * given entries, with an explicit stack instead of recursion so that
+     * monotonic inputs cannot overflow the call stack. Marks the kept entries
+     * in the keep array and returns the (possibly grown) stack.
      * 
      * @param entries
-     * @param epsilon as y-value
+     * @param epsilon as angle
      * @param start
      * @param end
+     * @param stack
+     * @return
      */
-    private void algorithmDouglasPeucker(List<Entry> entries, double epsilon, int start,
-            int end) {
-        if (end <= start + 1) {
-            // recursion finished
-            return;
+    private int[] algorithmDouglasPeucker(List<? extends Entry> entries, double epsilon,
+            int start, int end, int[] stack) {
+
+        int top = 0;
+
+        stack[top++] = start;
+        stack[top++] = end;
+
+        while (top > 0) {
+
+            end = stack[--top];
+            start = stack[--top];
+
+            int maxDistIndex = findFarthest(entries, epsilon, start, end);
+
+            // no entry exceeds the tolerance, don't keep any
+            if (maxDistIndex < 0)
+                continue;
+
+            keep[maxDistIndex] = true;
+
+            if (top + 4 > stack.length)
+                stack = Utils.copyOf(stack, stack.length * 2);
+
+            // ranges without inner entries are finished
+            if (end > maxDistIndex + 1) {
+                stack[top++] = maxDistIndex;
+                stack[top++] = end;
+            }
+
+            if (maxDistIndex > start + 1) {
+                stack[top++] = start;
+                stack[top++] = maxDistIndex;
+            }
         }
 
-        // find the greatest distance between start and endpoint
-        int maxDistIndex = 0;
-        double distMax = 0;
+        return stack;
+    }
+
+    /**
+     * Splits the entries sequentially until there are enough independent
+     * ranges, then processes the ranges on the shared thread pool. The ranges
+     * only share their already kept end-points, each thread writes to its own
+     * part of the keep array.
+     * 
+     * @param entries
+     * @param epsilon
+     * @param threads
+     */
+    private void algorithmDouglasPeuckerParallel(final List<? extends Entry> entries,
+            final double epsilon, int threads) {
+
+        List<int[]> ranges = new ArrayList<int[]>();
+        ranges.add(new int[] {
+                0, entries.size() - 1
+        });
+
+        int minLength = entries.size() / (threads * 4);
+
+        while (ranges.size() > 0 && ranges.size() < threads * 4) {
+
+            // split the largest range
+            int largest = 0;
+
+            for (int i = 1; i < ranges.size(); i++) {
+                int[] r = ranges.get(i);
+                if (r[1] - r[0] > ranges.get(largest)[1] - ranges.get(largest)[0])
+                    largest = i;
+            }
+
+            int[] range = ranges.get(largest);
+
+            if (range[1] - range[0] < minLength)
+                break;
 
-        Entry firstEntry = entries.get(start);
-        Entry lastEntry = entries.get(end);
+            ranges.remove(largest);
+
+            int maxDistIndex = findFarthest(entries, epsilon, range[0], range[1]);
+
+            if (maxDistIndex < 0)
+                continue;
+
+            keep[maxDistIndex] = true;
+
+            if (maxDistIndex > range[0] + 1)
+                ranges.add(new int[] {
+                        range[0], maxDistIndex
+                });
+
+            if (range[1] > maxDistIndex + 1)
+                ranges.add(new int[] {
+                        maxDistIndex, range[1]
+                });
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(ranges.size());
+
+        for (final int[] range : ranges) {
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    algorithmDouglasPeucker(entries, epsilon, range[0], range[1], new int[64]);
+                    return null;
+                }
+            });
+        }
+
+        try {
+
+            for (Future<Void> future : getExecutor().invokeAll(tasks))
+                future.get();
+
+        } catch (InterruptedException e) {
+
+            // finish on the calling thread, marking entries again is harmless
+            Thread.currentThread().interrupt();
+
+            for (int[] range : ranges)
+                mStack = algorithmDouglasPeucker(entries, epsilon, range[0], range[1], mStack);
+
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the position of the entry in (start, end) that deviates the most
+     * from the line between start and end, -1 if no entry deviates more than
+     * epsilon.
+     * 
+     * @param entries
+     * @param epsilon
+     * @param start
+     * @param end
+     * @return
+     */
+    private int findFarthest(List<? extends Entry> entries, double epsilon, int start, int end) {
+
+        if (end <= start + 1)
+            return -1;
+
+        float startX = getXIndex(entries, start);
+        float startY = getVal(entries, start);
+
+        // the angle of the line between start and end is the same for all
+        // entries in between
+        double lineAngle = calcAngleWithRatios(startX, startY, getXIndex(entries, end),
+                getVal(entries, end));
+
+        int maxDistIndex = -1;
+        double distMax = epsilon;
 
         for (int i = start + 1; i < end; i++) {
-            double dist = calcAngleBetweenLines(firstEntry, lastEntry, firstEntry, entries.get(i));
+
+            double dist = Math.abs(lineAngle
+                    - calcAngleWithRatios(startX, startY, getXIndex(entries, i),
+                            getVal(entries, i)));
 
             // keep the point with the greatest distance
             if (dist > distMax) {
@@ -191,16 +729,56 @@ public class Approximator {
             }
         }
 
-        // Log.i("maxangle", "" + distMax);
+        return maxDistIndex;
+    }
 
-        if (distMax > epsilon) {
-            // keep max dist point
-            keep[maxDistIndex] = true;
+    /**
+     * Returns the x-index at the given position without creating an Entry
+     * object for columnar entries.
+     */
+    private static int getXIndex(List<? extends Entry> entries, int index) {
+
+        if (entries instanceof ColumnarEntryList)
+            return ((ColumnarEntryList<?>) entries).getXIndex(index);
+
+        return entries.get(index).getXIndex();
+    }
+
+    /**
+     * Returns the y-value at the given position without creating an Entry
+     * object for columnar entries.
+     */
+    private static float getVal(List<? extends Entry> entries, int index) {
+
+        if (entries instanceof ColumnarEntryList)
+            return ((ColumnarEntryList<?>) entries).getVal(index);
+
+        return entries.get(index).getVal();
+    }
 
-            // recursive call
-            algorithmDouglasPeucker(entries, epsilon, start, maxDistIndex);
-            algorithmDouglasPeucker(entries, epsilon, maxDistIndex, end);
-        } // else don't keep the point...
+    /**
+     * Returns the thread pool used for parallel filtering, its threads do not
+     * prevent the application from exiting.
+     * 
+     * @return
+     */
+    private static synchronized ExecutorService getExecutor() {
+
+        if (mExecutor == null) {
+
+            mExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactory() {
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "Approximator");
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+        }
+
+        return mExecutor;
     }
 
     /**
@@ -256,9 +834,23 @@ public class Approximator {
      * @return
      */
     public double calcAngleWithRatios(Entry p1, Entry p2) {
+        return calcAngleWithRatios(p1.getXIndex(), p1.getVal(), p2.getXIndex(), p2.getVal());
+    }
+
+    /**
+     * calculates the angle between two points in the chart taking ratios into
+     * consideration
+     * 
+     * @param x1
+     * @param y1
+     * @param x2
+     * @param y2
+     * @return
+     */
+    private double calcAngleWithRatios(float x1, float y1, float x2, float y2) {
 
-        float dx = p2.getXIndex() * mDeltaRatio - p1.getXIndex() * mDeltaRatio;
-        float dy = p2.getVal() * mScaleRatio - p1.getVal() * mScaleRatio;
+        float dx = x2 * mDeltaRatio - x1 * mDeltaRatio;
+        float dy = y2 * mScaleRatio - y1 * mScaleRatio;
         double angle = Math.atan2(dy, dx) * 180.0 / Math.PI;
 
         return angle;
@@ -0,0 +1,289 @@
+
+package com.github.mikephil.charting.data.filter;
+
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+
+/**
+ * Simplifies a stream of entries while they are added (swing filter). Every
+ * offered Entry is checked in O(1) against the current line segment, which
+ * starts at the last kept Entry: as long as a straight line from the last kept
+ * Entry to the newest Entry passes all entries in between with a vertical
+ * distance of at most the tolerance, the entries in between are dropped. The
+ * kept entries are original entries, the line through them never deviates
+ * more than the tolerance (in value units) from the dropped entries. Memory
+ * and drawing cost therefore grow with the complexity of the signal instead of
+ * the sample rate. Use one instance per DataSet, the entries have to be
+ * offered in order of their x-index.
+ *
+ * The newest Entry can only be decided upon once the next Entry arrives, it is
+ * held back until then. Call flush(...) to add it anyway (e.g. when the stream
+ * pauses).
+ */
+public class StreamingApproximator {
+
+    /** the maximum vertical distance between the line and dropped entries */
+    private float mTolerance;
+
+    /** the last kept Entry, start of the current segment */
+    private Entry mAnchor;
+
+    /** the newest Entry, end of the current segment, not yet decided upon */
+    private Entry mPending;
+
+    /** the range of slopes a segment from the anchor may still have */
+    private float mMinSlope = Float.NEGATIVE_INFINITY;
+    private float mMaxSlope = Float.POSITIVE_INFINITY;
+
+    /** the number of entries that have been offered */
+    private int mOfferedCount = 0;
+
+    /** the number of entries that have been kept */
+    private int mKeptCount = 0;
+
+    /**
+     * Creates a new StreamingApproximator with the given tolerance.
+     *
+     * @param tolerance the maximum vertical distance (in value units) between
+     *            the drawn line and the dropped entries
+     */
+    public StreamingApproximator(float tolerance) {
+        setTolerance(tolerance);
+    }
+
+    /**
+     * Sets the maximum vertical distance (in value units) between the drawn
+     * line and the dropped entries. Takes effect with the next segment.
+     *
+     * @param tolerance
+     */
+    public void setTolerance(float tolerance) {
+        mTolerance = Math.max(tolerance, 0f);
+    }
+
+    /**
+     * Returns the tolerance.
+     *
+     * @return
+     */
+    public float getTolerance() {
+        return mTolerance;
+    }
+
+    /**
+     * Offers the next Entry of the stream. Returns the Entry that has been
+     * decided to be kept (the first Entry, or the Entry that ends the previous
+     * segment), null if no Entry is kept.
+     *
+     * @param e
+     * @return
+     */
+    public Entry offer(Entry e) {
+
+        mOfferedCount++;
+
+        // the first entry is always kept
+        if (mAnchor == null) {
+            mAnchor = e;
+            mKeptCount++;
+            return e;
+        }
+
+        Entry kept = null;
+
+        if (mPending != null && !fits(e)) {
+
+            // the pending entry ends the segment and starts the next one
+            kept = mPending;
+            mAnchor = mPending;
+            mPending = null;
+            mKeptCount++;
+        }
+
+        if (mPending == null) {
+            mMinSlope = Float.NEGATIVE_INFINITY;
+            mMaxSlope = Float.POSITIVE_INFINITY;
+        }
+
+        narrow(e);
+        mPending = e;
+
+        return kept;
+    }
+
+    /**
+     * Offers the given Entry and adds it to the given DataSet if it is kept.
+     * Returns true if an Entry was added.
+     *
+     * @param set
+     * @param e
+     * @return
+     */
+    public boolean addEntry(DataSet<?> set, Entry e) {
+
+        Entry kept = offer(e);
+
+        if (kept == null)
+            return false;
+
+        set.addEntry(kept);
+        return true;
+    }
+
+    /**
+     * Offers the given Entry and adds it to the DataSet at the given index of
+     * the ChartData if it is kept. Returns true if an Entry was added.
+     *
+     * @param data
+     * @param e
+     * @param dataSetIndex
+     * @return
+     */
+    public boolean addEntry(ChartData<?> data, Entry e, int dataSetIndex) {
+
+        Entry kept = offer(e);
+
+        if (kept == null)
+            return false;
+
+        data.addEntry(kept, dataSetIndex);
+        return true;
+    }
+
+    /**
+     * Keeps the Entry that is held back (if any) and returns it, the next
+     * segment starts at this Entry. Returns null if there is no such Entry.
+     *
+     * @return
+     */
+    public Entry flush() {
+
+        Entry kept = mPending;
+
+        if (kept != null) {
+            mAnchor = kept;
+            mPending = null;
+            mKeptCount++;
+        }
+
+        return kept;
+    }
+
+    /**
+     * Adds the Entry that is held back (if any) to the given DataSet. Returns
+     * true if an Entry was added.
+     *
+     * @param set
+     * @return
+     */
+    public boolean flush(DataSet<?> set) {
+
+        Entry kept = flush();
+
+        if (kept == null)
+            return false;
+
+        set.addEntry(kept);
+        return true;
+    }
+
+    /**
+     * Adds the Entry that is held back (if any) to the DataSet at the given
+     * index of the ChartData. Returns true if an Entry was added.
+     *
+     * @param data
+     * @param dataSetIndex
+     * @return
+     */
+    public boolean flush(ChartData<?> data, int dataSetIndex) {
+
+        Entry kept = flush();
+
+        if (kept == null)
+            return false;
+
+        data.addEntry(kept, dataSetIndex);
+        return true;
+    }
+
+    /**
+     * Returns the Entry that is held back because it has not been decided
+     * upon yet, null if there is none.
+     *
+     * @return
+     */
+    public Entry getPending() {
+        return mPending;
+    }
+
+    /**
+     * Returns the number of entries that have been offered since creation or
+     * the last reset().
+     *
+     * @return
+     */
+    public int getOfferedCount() {
+        return mOfferedCount;
+    }
+
+    /**
+     * Returns the number of entries that have been kept since creation or the
+     * last reset().
+     *
+     * @return
+     */
+    public int getKeptCount() {
+        return mKeptCount;
+    }
+
+    /**
+     * Forgets the state of the stream, the next offered Entry is kept.
+     */
+    public void reset() {
+        mAnchor = null;
+        mPending = null;
+        mMinSlope = Float.NEGATIVE_INFINITY;
+        mMaxSlope = Float.POSITIVE_INFINITY;
+        mOfferedCount = 0;
+        mKeptCount = 0;
+    }
+
+    /**
+     * Returns true if the line from the anchor to the given Entry passes all
+     * entries of the current segment within the tolerance.
+     */
+    private boolean fits(Entry e) {
+
+        int dx = e.getXIndex() - mAnchor.getXIndex();
+
+        if (dx <= 0)
+            return false;
+
+        float slope = (e.getVal() - mAnchor.getVal()) / dx;
+
+        return slope >= mMinSlope && slope <= mMaxSlope;
+    }
+
+    /**
+     * Narrows the range of slopes so that every line in it passes the given
+     * Entry within the tolerance.
+     */
+    private void narrow(Entry e) {
+
+        int dx = e.getXIndex() - mAnchor.getXIndex();
+
+        // no line can pass an entry at the x-index of the anchor, the
+        // segment ends with the next entry
+        if (dx <= 0) {
+            mMinSlope = Float.POSITIVE_INFINITY;
+            mMaxSlope = Float.NEGATIVE_INFINITY;
+            return;
+        }
+
+        float dy = e.getVal() - mAnchor.getVal();
+
+        mMinSlope = Math.max(mMinSlope, (dy - mTolerance) / dx);
+        mMaxSlope = Math.min(mMaxSlope, (dy + mTolerance) / dx);
+    }
+}
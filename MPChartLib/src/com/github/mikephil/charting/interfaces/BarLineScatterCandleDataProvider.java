@@ -1,6 +1,7 @@
 package com.github.mikephil.charting.interfaces;
 
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.data.filter.Approximator;
 import com.github.mikephil.charting.utils.Transformer;
 
 public interface BarLineScatterCandleDataProvider extends ChartInterface {
@@ -8,4 +9,12 @@ public interface BarLineScatterCandleDataProvider extends ChartInterface {
     public Transformer getTransformer(AxisDependency axis);
     public int getMaxVisibleCount();
     public boolean isInverted(AxisDependency axis);
+
+    /**
+     * Returns the Approximator used for filtering the data while drawing, null
+     * if filtering is disabled.
+     * 
+     * @return
+     */
+    public Approximator getApproximator();
 }
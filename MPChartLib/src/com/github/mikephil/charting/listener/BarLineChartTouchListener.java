@@ -12,6 +12,7 @@ import android.view.View;
 import android.view.View.OnTouchListener;
 
 import com.github.mikephil.charting.charts.BarLineChartBase;
+import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.charts.HorizontalBarChart;
 import com.github.mikephil.charting.data.BarLineScatterCandleData;
 import com.github.mikephil.charting.data.BarLineScatterCandleDataSet;
@@ -170,7 +171,8 @@ public class BarLineChartTouchListener<T extends BarLineChartBase<? extends BarL
 
         // Perform the transformation, update the chart
         // if (needsRefresh())
-        mMatrix = mChart.getViewPortHandler().refresh(mMatrix, mChart, true);
+        mMatrix = mChart.getViewPortHandler().refresh(mMatrix, mChart, false);
+        mChart.notifyChanged(Chart.CHANGE_VIEWPORT);
 
         return true; // indicate event was handled
     }
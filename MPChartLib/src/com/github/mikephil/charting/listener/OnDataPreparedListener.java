@@ -0,0 +1,27 @@
+
+package com.github.mikephil.charting.listener;
+
+import com.github.mikephil.charting.data.ChartData;
+
+/**
+ * Listener for the completion (or failure) of an asynchronous preparation of
+ * the chart data, see BarLineChartBase.notifyDataSetChangedAsync(...).
+ */
+public interface OnDataPreparedListener {
+
+    /**
+     * Called on the UI thread after the chart switched to the prepared
+     * version of its data.
+     *
+     * @param data the data the chart now displays
+     */
+    public void onDataPrepared(ChartData<?> data);
+
+    /**
+     * Called on the UI thread if preparing the data failed, the chart keeps
+     * displaying its current data.
+     *
+     * @param t the error thrown while preparing
+     */
+    public void onPreparationFailed(Throwable t);
+}
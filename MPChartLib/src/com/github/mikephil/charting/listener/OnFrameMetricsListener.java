@@ -0,0 +1,20 @@
+
+package com.github.mikephil.charting.listener;
+
+import com.github.mikephil.charting.utils.FrameMetrics;
+
+/**
+ * Listener for the metrics (stage times and counters) of every frame the
+ * chart draws.
+ */
+public interface OnFrameMetricsListener {
+
+    /**
+     * Called on the UI thread after a frame has been drawn. The metrics
+     * object is reused for the next frame, read the values of interest
+     * (e.g. getStageNanos(...), getPercentile(...)) right away.
+     *
+     * @param metrics
+     */
+    public void onFrameMetrics(FrameMetrics metrics);
+}
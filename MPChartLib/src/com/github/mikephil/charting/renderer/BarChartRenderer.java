@@ -55,12 +55,49 @@ public class BarChartRenderer extends DataRenderer {
 
         for (int i = 0; i < mBarBuffers.length; i++) {
             BarDataSet set = barData.getDataSetByIndex(i);
-            mBarBuffers[i] = new BarBuffer(set.getValueCount() * 4 * set.getStackSize(),
-                    barData.getGroupSpace(),
-                    barData.getDataSetCount(), set.isStacked());
+            mBarBuffers[i] = createBuffer(set.getValueCount() * 4 * set.getStackSize(),
+                    barData, set);
         }
     }
 
+    /**
+     * Only the buffers that are too small for their DataSet are replaced, and
+     * they are replaced by buffers with 50% spare capacity so that appending
+     * entries one by one does not allocate new buffers for every entry.
+     */
+    @Override
+    public void growBuffers() {
+
+        BarData barData = mChart.getBarData();
+
+        if (mBarBuffers == null || mBarBuffers.length != barData.getDataSetCount()) {
+            initBuffers();
+            return;
+        }
+
+        for (int i = 0; i < mBarBuffers.length; i++) {
+
+            BarDataSet set = barData.getDataSetByIndex(i);
+            int size = set.getValueCount() * 4 * set.getStackSize();
+
+            if (mBarBuffers[i].size() < size)
+                mBarBuffers[i] = createBuffer(size + (size >> 1), barData, set);
+        }
+    }
+
+    /**
+     * Creates the buffer of the given size for the given DataSet.
+     *
+     * @param size
+     * @param barData
+     * @param set
+     * @return
+     */
+    protected BarBuffer createBuffer(int size, BarData barData, BarDataSet set) {
+        return new BarBuffer(size, barData.getGroupSpace(), barData.getDataSetCount(),
+                set.isStacked());
+    }
+
     @Override
     public void drawData(Canvas c) {
 
@@ -90,19 +127,37 @@ public class BarChartRenderer extends DataRenderer {
 
         // initialize the buffer
         BarBuffer buffer = mBarBuffers[index];
-        buffer.setPhases(phaseX, phaseY);
+        buffer.setPhases(phaseX, 1f);
         buffer.setBarSpace(dataSet.getBarSpace());
         buffer.setDataSet(index);
         buffer.setInverted(mChart.isInverted(dataSet.getAxisDependency()));
 
-        buffer.feed(entries);
+        int from = buffer.getVisibleFrom(dataSet, mMinX);
+        int to = buffer.getVisibleTo(dataSet, mMaxX);
+
+        // the geometry of the last frame is reused if possible
+        if (!buffer.isRetained(dataSet, from, to)) {
+
+            buffer.limitWithMargin(from, to, entries.size());
+            buffer.feed(entries);
+            buffer.retain(dataSet, 0);
+
+            recordFeed(buffer.getFrom(), buffer.getTo());
+        }
+
+        recordCulled(dataSet, from, to);
+
+        trans.pointValuesToPixel(buffer.getValues(), buffer.buffer, buffer.length(), phaseY);
+
+        int range = buffer.length();
 
-        trans.pointValuesToPixel(buffer.buffer);
+        // the first fed bar is not the first bar of the DataSet
+        int colorOffset = buffer.getFrom() * dataSet.getStackSize();
 
         // if multiple colors
         if (dataSet.getColors().size() > 1) {
 
-            for (int j = 0; j < buffer.size(); j += 4) {
+            for (int j = 0; j < range; j += 4) {
 
                 if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
                     continue;
@@ -119,7 +174,7 @@ public class BarChartRenderer extends DataRenderer {
                 // Set the color for the currently drawn value. If the index
                 // is
                 // out of bounds, reuse colors.
-                mRenderPaint.setColor(dataSet.getColor(j / 4));
+                mRenderPaint.setColor(dataSet.getColor(colorOffset + j / 4));
                 c.drawRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
                         buffer.buffer[j + 3], mRenderPaint);
             }
@@ -127,7 +182,7 @@ public class BarChartRenderer extends DataRenderer {
 
             mRenderPaint.setColor(dataSet.getColor());
 
-            for (int j = 0; j < buffer.size(); j += 4) {
+            for (int j = 0; j < range; j += 4) {
 
                 if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
                     continue;
@@ -207,7 +262,7 @@ public class BarChartRenderer extends DataRenderer {
                 // apply the text-styling defined by the DataSet
                 applyValueTextStyle(dataSet);
 
-                ValueFormatter formatter = dataSet.getValueFormatter();
+                ValueFormatter formatter = dataSet.getValueFormatterForDrawing();
 
                 Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
@@ -227,7 +282,7 @@ public class BarChartRenderer extends DataRenderer {
                                 || !mViewPortHandler.isInBoundsLeft(valuePoints[j]))
                             continue;
 
-                        float val = entries.get(j / 2).getVal();
+                        float val = dataSet.getYValAt(j / 2);
 
                         drawValue(c, formatter.getFormattedValue(val), valuePoints[j],
                                 valuePoints[j + 1] + (val >= 0 ? posOffset : negOffset));
@@ -10,7 +10,6 @@ import com.github.mikephil.charting.buffer.CandleShadowBuffer;
 import com.github.mikephil.charting.data.CandleData;
 import com.github.mikephil.charting.data.CandleDataSet;
 import com.github.mikephil.charting.data.CandleEntry;
-import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.CandleDataProvider;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.Highlight;
@@ -46,6 +45,33 @@ public class CandleStickChartRenderer extends DataRenderer {
         }
     }
 
+    /**
+     * Only the buffers that are too small for their DataSet are replaced, and
+     * they are replaced by buffers with 50% spare capacity so that appending
+     * entries one by one does not allocate new buffers for every entry.
+     */
+    @Override
+    public void growBuffers() {
+
+        CandleData candleData = mChart.getCandleData();
+
+        if (mShadowBuffers == null || mShadowBuffers.length != candleData.getDataSetCount()) {
+            initBuffers();
+            return;
+        }
+
+        for (int i = 0; i < mShadowBuffers.length; i++) {
+
+            int size = candleData.getDataSetByIndex(i).getValueCount() * 4;
+
+            if (mShadowBuffers[i].size() < size)
+                mShadowBuffers[i] = new CandleShadowBuffer(size + (size >> 1));
+
+            if (mBodyBuffers[i].size() < size)
+                mBodyBuffers[i] = new CandleBodyBuffer(size + (size >> 1));
+        }
+    }
+
     @Override
     public void drawData(Canvas c) {
 
@@ -70,22 +96,28 @@ public class CandleStickChartRenderer extends DataRenderer {
 
         List<CandleEntry> entries = dataSet.getYVals();
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
+        int minx = dataSet.getEntryIndexFrom(mMinX);
+        int maxx = dataSet.getEntryIndexTo(mMaxX);
 
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
-
-        int range = (maxx - minx) * 4;
         int to = (int)Math.ceil((maxx - minx) * phaseX + minx);
 
         CandleShadowBuffer shadowBuffer = mShadowBuffers[dataSetIndex];
-        shadowBuffer.setPhases(phaseX, phaseY);
-        shadowBuffer.limitFrom(minx);
-        shadowBuffer.limitTo(maxx);
-        shadowBuffer.feed(entries);
+        shadowBuffer.setPhases(phaseX, 1f);
+
+        // the geometry of the last frame is reused if possible
+        if (!shadowBuffer.isRetained(dataSet, minx, maxx)) {
+
+            shadowBuffer.limitWithMargin(minx, maxx, entries.size());
+            shadowBuffer.feed(entries);
+            shadowBuffer.retain(dataSet, 0);
+
+            recordFeed(shadowBuffer.getFrom(), shadowBuffer.getTo());
+        }
+
+        recordCulled(dataSet, minx, maxx);
 
-        trans.pointValuesToPixel(shadowBuffer.buffer);
+        trans.pointValuesToPixel(shadowBuffer.getValues(), shadowBuffer.buffer,
+                shadowBuffer.length(), phaseY);
 
         mRenderPaint.setStyle(Paint.Style.STROKE);
 
@@ -99,22 +131,31 @@ public class CandleStickChartRenderer extends DataRenderer {
         mRenderPaint.setStrokeWidth(dataSet.getShadowWidth());
 
         // draw the shadow
-        c.drawLines(shadowBuffer.buffer, 0, range, mRenderPaint);
+        c.drawLines(shadowBuffer.buffer, 0, shadowBuffer.length(), mRenderPaint);
 
         CandleBodyBuffer bodyBuffer = mBodyBuffers[dataSetIndex];
         bodyBuffer.setBodySpace(dataSet.getBodySpace());
-        bodyBuffer.setPhases(phaseX, phaseY);
-        bodyBuffer.limitFrom(minx);
-        bodyBuffer.limitTo(maxx);
-        bodyBuffer.feed(entries);
+        bodyBuffer.setPhases(phaseX, 1f);
 
-        trans.pointValuesToPixel(bodyBuffer.buffer);
+        if (!bodyBuffer.isRetained(dataSet, minx, maxx)) {
+
+            bodyBuffer.limitWithMargin(minx, maxx, entries.size());
+            bodyBuffer.feed(entries);
+            bodyBuffer.retain(dataSet, 0);
+
+            recordFeed(bodyBuffer.getFrom(), bodyBuffer.getTo());
+        }
+
+        trans.pointValuesToPixel(bodyBuffer.getValues(), bodyBuffer.buffer, bodyBuffer.length(),
+                phaseY);
+
+        int from = bodyBuffer.getFrom();
 
         // draw the body
-        for (int j = 0; j < range; j += 4) {
+        for (int j = 0, range = bodyBuffer.length(); j < range; j += 4) {
 
             // get the entry
-            CandleEntry e = entries.get(j / 4 + minx);
+            CandleEntry e = entries.get(j / 4 + from);
 
             if (!fitsBounds(e.getXIndex(), mMinX, to))
                 continue;
@@ -128,7 +169,7 @@ public class CandleStickChartRenderer extends DataRenderer {
             if (open > close) { // decreasing
 
                 if (dataSet.getDecreasingColor() == ColorTemplate.COLOR_NONE) {
-                    mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
+                    mRenderPaint.setColor(dataSet.getColor(j / 4 + from));
                 } else {
                     mRenderPaint.setColor(dataSet.getDecreasingColor());
                 }
@@ -140,7 +181,7 @@ public class CandleStickChartRenderer extends DataRenderer {
             } else {
 
                 if (dataSet.getIncreasingColor() == ColorTemplate.COLOR_NONE) {
-                    mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
+                    mRenderPaint.setColor(dataSet.getColor(j / 4 + from));
                 } else {
                     mRenderPaint.setColor(dataSet.getIncreasingColor());
                 }
@@ -214,11 +255,8 @@ public class CandleStickChartRenderer extends DataRenderer {
 
                 List<CandleEntry> entries = dataSet.getYVals();
 
-                Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-                Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-                int minx = dataSet.getEntryPosition(entryFrom);
-                int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+                int minx = dataSet.getEntryIndexFrom(mMinX);
+                int maxx = dataSet.getEntryIndexTo(mMaxX);
 
                 float[] positions = trans.generateTransformedValuesCandle(
                         entries, mAnimator.getPhaseX(), mAnimator.getPhaseY(), minx, maxx);
@@ -238,8 +276,8 @@ public class CandleStickChartRenderer extends DataRenderer {
 
                     float val = entries.get(j / 2 + minx).getHigh();
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), x, y - yOffset,
-                            mValuePaint);
+                    c.drawText(dataSet.getValueFormatterForDrawing().getFormattedValue(val), x,
+                            y - yOffset, mValuePaint);
                 }
             }
         }
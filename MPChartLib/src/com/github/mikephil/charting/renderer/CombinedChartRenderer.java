@@ -6,6 +6,7 @@ import android.graphics.Canvas;
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.charts.CombinedChart;
 import com.github.mikephil.charting.charts.CombinedChart.DrawOrder;
+import com.github.mikephil.charting.utils.FrameMetrics;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
@@ -73,6 +74,32 @@ public class CombinedChartRenderer extends DataRenderer {
             renderer.initBuffers();
     }
 
+    @Override
+    public int getFeedCount() {
+
+        int count = 0;
+
+        for (DataRenderer renderer : mRenderers)
+            count += renderer.getFeedCount();
+
+        return count;
+    }
+
+    @Override
+    public void setFrameMetrics(FrameMetrics metrics) {
+        super.setFrameMetrics(metrics);
+
+        for (DataRenderer renderer : mRenderers)
+            renderer.setFrameMetrics(metrics);
+    }
+
+    @Override
+    public void growBuffers() {
+
+        for (DataRenderer renderer : mRenderers)
+            renderer.growBuffers();
+    }
+
     @Override
     public void drawData(Canvas c) {
 
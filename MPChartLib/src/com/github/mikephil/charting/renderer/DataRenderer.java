@@ -9,6 +9,7 @@ import android.graphics.Paint.Style;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.utils.FrameMetrics;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
@@ -31,6 +32,12 @@ public abstract class DataRenderer extends Renderer {
      */
     protected Paint mValuePaint;
 
+    /** the number of times a buffer has been fed with entries */
+    protected int mFeedCount = 0;
+
+    /** the metrics of the frame that is drawn, null if not recorded */
+    protected FrameMetrics mMetrics;
+
     public DataRenderer(ChartAnimator animator, ViewPortHandler viewPortHandler) {
         super(viewPortHandler);
         this.mAnimator = animator;
@@ -93,8 +100,67 @@ public abstract class DataRenderer extends Renderer {
         mValuePaint.setTextSize(set.getValueTextSize());
     }
 
+    /**
+     * Returns the number of times this renderer fed entries into its buffers
+     * (instead of reusing the geometry of a previous frame). E.g. panning
+     * within the already fed range does not increase the count.
+     * 
+     * @return
+     */
+    public int getFeedCount() {
+        return mFeedCount;
+    }
+
+    /**
+     * Sets the metrics the renderer records the entries fed and culled for,
+     * null to disable recording.
+     * 
+     * @param metrics
+     */
+    public void setFrameMetrics(FrameMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Counts a feed of the entries [from, to) into a buffer.
+     * 
+     * @param from
+     * @param to
+     */
+    protected void recordFeed(int from, int to) {
+
+        mFeedCount++;
+
+        if (mMetrics != null)
+            mMetrics.addEntriesFed(to - from);
+    }
+
+    /**
+     * Counts the entries of the given DataSet outside of the drawn range
+     * [from, to) as culled.
+     * 
+     * @param set
+     * @param from
+     * @param to
+     */
+    protected void recordCulled(DataSet<?> set, int from, int to) {
+
+        if (mMetrics != null)
+            mMetrics.addEntriesCulled(set.getEntryCount() - (to - from));
+    }
+
     public abstract void initBuffers();
 
+    /**
+     * Makes sure the buffers are large enough for the current data after
+     * entries have been appended. The default implementation simply
+     * re-creates all buffers, renderers that are used for streaming data
+     * override this to grow their buffers amortized.
+     */
+    public void growBuffers() {
+        initBuffers();
+    }
+
     public abstract void drawData(Canvas c);
 
     public abstract void drawValues(Canvas c);
@@ -27,6 +27,9 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
 
     private float mYOffset = 0f;
 
+    /** reused for calculating the visible range of x-values */
+    private float[] mVisibleRange = new float[4];
+
     public HorizontalBarChartRenderer(BarDataProvider chart, ChartAnimator animator,
             ViewPortHandler viewPortHandler) {
         super(chart, animator, viewPortHandler);
@@ -35,17 +38,9 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
     }
 
     @Override
-    public void initBuffers() {
-
-        BarData barData = mChart.getBarData();
-        mBarBuffers = new HorizontalBarBuffer[barData.getDataSetCount()];
-
-        for (int i = 0; i < mBarBuffers.length; i++) {
-            BarDataSet set = barData.getDataSetByIndex(i);
-            mBarBuffers[i] = new HorizontalBarBuffer(set.getValueCount() * 4 * set.getStackSize(),
-                    barData.getGroupSpace(),
-                    barData.getDataSetCount(), set.isStacked());
-        }
+    protected BarBuffer createBuffer(int size, BarData barData, BarDataSet set) {
+        return new HorizontalBarBuffer(size, barData.getGroupSpace(),
+                barData.getDataSetCount(), set.isStacked());
     }
 
     protected void drawDataSet(Canvas c, BarDataSet dataSet, int index) {
@@ -62,16 +57,41 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
 
         // initialize the buffer
         BarBuffer buffer = mBarBuffers[index];
-        buffer.setPhases(phaseX, phaseY);
+        buffer.setPhases(phaseX, 1f);
         buffer.setBarSpace(dataSet.getBarSpace());
         buffer.setDataSet(index);
         buffer.setInverted(mChart.isInverted(dataSet.getAxisDependency()));
 
-        buffer.feed(entries);
+        // the x-axis is vertical, the visible x-values range from the bottom
+        // to the top of the content
+        mVisibleRange[0] = mViewPortHandler.contentLeft();
+        mVisibleRange[1] = mViewPortHandler.contentBottom();
+        mVisibleRange[2] = mViewPortHandler.contentLeft();
+        mVisibleRange[3] = mViewPortHandler.contentTop();
+        trans.pixelsToValue(mVisibleRange);
+
+        int from = buffer.getVisibleFrom(dataSet, Math.min(mVisibleRange[1], mVisibleRange[3]));
+        int to = buffer.getVisibleTo(dataSet, Math.max(mVisibleRange[1], mVisibleRange[3]));
+
+        if (!buffer.isRetained(dataSet, from, to)) {
+
+            buffer.limitWithMargin(from, to, entries.size());
+            buffer.feed(entries);
+            buffer.retain(dataSet, 0);
+
+            recordFeed(buffer.getFrom(), buffer.getTo());
+        }
+
+        recordCulled(dataSet, from, to);
+
+        trans.pointValuesToPixel(buffer.getValues(), buffer.buffer, buffer.length(), phaseY);
+
+        int range = buffer.length();
 
-        trans.pointValuesToPixel(buffer.buffer);
+        // the first fed bar is not the first bar of the DataSet
+        int colorOffset = buffer.getFrom() * dataSet.getStackSize();
 
-        for (int j = 0; j < buffer.size(); j += 4) {
+        for (int j = 0; j < range; j += 4) {
 
             if (!mViewPortHandler.isInBoundsTop(buffer.buffer[j + 3]))
                 break;
@@ -88,7 +108,7 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
             // Set the color for the currently drawn value. If the index
             // is
             // out of bounds, reuse colors.
-            mRenderPaint.setColor(dataSet.getColor(j / 4));
+            mRenderPaint.setColor(dataSet.getColor(colorOffset + j / 4));
             c.drawRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
                     buffer.buffer[j + 3], mRenderPaint);
         }
@@ -125,7 +145,7 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
 
                 mYOffset = Utils.calcTextHeight(mValuePaint, "10") / 2f;
 
-                ValueFormatter formatter = dataSet.getValueFormatter();
+                ValueFormatter formatter = dataSet.getValueFormatterForDrawing();
 
                 Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
@@ -147,7 +167,7 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                         if (!mViewPortHandler.isInBoundsBottom(valuePoints[j + 1]))
                             continue;
 
-                        float val = entries.get(j / 2).getVal();
+                        float val = dataSet.getYValAt(j / 2);
                         String valueText = formatter.getFormattedValue(val);
 
                         // calculate the correct offset depending on the draw position of the value
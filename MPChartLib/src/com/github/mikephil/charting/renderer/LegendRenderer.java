@@ -16,6 +16,7 @@ import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class LegendRenderer extends Renderer {
@@ -29,6 +30,19 @@ public class LegendRenderer extends Renderer {
     /** the legend object this renderer renders */
     protected Legend mLegend;
 
+    /** reused for building up the labels and colors of the legend */
+    private List<String> mComputedLabels = new ArrayList<String>();
+    private List<Integer> mComputedColors = new ArrayList<Integer>();
+
+    /**
+     * the settings the dimensions of the legend have been calculated with
+     * (text size, form size and spaces), typeface and position
+     */
+    private float[] mMeasuredSettings = new float[6];
+    private float[] mSettings = new float[6];
+    private Typeface mMeasuredTypeface;
+    private Legend.LegendPosition mMeasuredPosition;
+
     public LegendRenderer(ViewPortHandler viewPortHandler, Legend legend) {
         super(viewPortHandler);
 
@@ -63,13 +77,18 @@ public class LegendRenderer extends Renderer {
 
     /**
      * Prepares the legend and calculates all needed forms, labels and colors.
+     * The dimensions of the legend are only measured again if its labels,
+     * colors or settings changed since the last call.
      * 
      * @param data
      */
     public void computeLegend(ChartData<?> data) {
 
-        List<String> labels = new ArrayList<String>();
-        List<Integer> colors = new ArrayList<Integer>();
+        List<String> labels = mComputedLabels;
+        List<Integer> colors = mComputedColors;
+
+        labels.clear();
+        colors.clear();
 
         // loop for building up the colors and labels used in the legend
         for (int i = 0; i < data.getDataSetCount(); i++) {
@@ -129,9 +148,6 @@ public class LegendRenderer extends Renderer {
             }
         }
 
-        mLegend.setColors(colors);
-        mLegend.setLabels(labels);
-
         Typeface tf = mLegend.getTypeface();
 
         if (tf != null)
@@ -140,8 +156,62 @@ public class LegendRenderer extends Renderer {
         mLegendLabelPaint.setTextSize(mLegend.getTextSize());
         mLegendLabelPaint.setColor(mLegend.getTextColor());
 
+        float[] settings = mSettings;
+        settings[0] = mLegend.getTextSize();
+        settings[1] = mLegend.getFormSize();
+        settings[2] = mLegend.getFormToTextSpace();
+        settings[3] = mLegend.getXEntrySpace();
+        settings[4] = mLegend.getYEntrySpace();
+        settings[5] = mLegend.getStackSpace();
+
+        // measuring the labels is expensive, skip it if nothing changed
+        if (hasEntries(labels, colors) && tf == mMeasuredTypeface
+                && mLegend.getPosition() == mMeasuredPosition
+                && Arrays.equals(settings, mMeasuredSettings))
+            return;
+
+        mLegend.setColors(colors);
+        mLegend.setLabels(labels);
+
         // calculate all dimensions of the mLegend
         mLegend.calculateDimensions(mLegendLabelPaint);
+
+        mSettings = mMeasuredSettings;
+        mMeasuredSettings = settings;
+        mMeasuredTypeface = tf;
+        mMeasuredPosition = mLegend.getPosition();
+    }
+
+    /**
+     * Returns true if the legend holds exactly the given labels and colors.
+     * 
+     * @param labels
+     * @param colors
+     * @return
+     */
+    private boolean hasEntries(List<String> labels, List<Integer> colors) {
+
+        String[] legendLabels = mLegend.getLegendLabels();
+        int[] legendColors = mLegend.getColors();
+
+        if (legendLabels == null || legendColors == null
+                || legendLabels.length != labels.size() || legendColors.length != colors.size())
+            return false;
+
+        for (int i = 0; i < legendLabels.length; i++) {
+
+            String label = labels.get(i);
+
+            if (label == null ? legendLabels[i] != null : !label.equals(legendLabels[i]))
+                return false;
+        }
+
+        for (int i = 0; i < legendColors.length; i++) {
+            if (legendColors[i] != colors.get(i))
+                return false;
+        }
+
+        return true;
     }
 
     public void renderLegend(Canvas c) {
@@ -10,11 +10,15 @@ import android.graphics.Path;
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.buffer.CircleBuffer;
 import com.github.mikephil.charting.buffer.LineBuffer;
+import com.github.mikephil.charting.buffer.PathBuffer;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.data.MinMaxPyramid;
+import com.github.mikephil.charting.data.filter.Approximator;
 import com.github.mikephil.charting.interfaces.LineDataProvider;
 import com.github.mikephil.charting.utils.Highlight;
+import com.github.mikephil.charting.utils.MetricsCanvas;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
@@ -37,15 +41,27 @@ public class LineChartRenderer extends DataRenderer {
      * on this canvas, the paths are rendered, it is initialized with the
      * pathBitmap
      */
-    protected Canvas mBitmapCanvas;
+    protected MetricsCanvas mBitmapCanvas;
 
     protected Path cubicPath = new Path();
     protected Path cubicFillPath = new Path();
 
+    /** linear fill outline transformed into pixels */
+    protected Path mFillPath = new Path();
+
+    /** start- and end-point of the line a fill is closed with */
+    private float[] mFillLine = new float[4];
+
     protected LineBuffer[] mLineBuffers;
 
     protected CircleBuffer[] mCircleBuffers;
 
+    /** value-space cubic lines of the DataSets */
+    protected PathBuffer[] mCubicBuffers;
+
+    /** value-space outlines of the linear fills of the DataSets */
+    protected PathBuffer[] mFillBuffers;
+
     public LineChartRenderer(LineDataProvider chart, ChartAnimator animator,
             ViewPortHandler viewPortHandler) {
         super(animator, viewPortHandler);
@@ -62,11 +78,44 @@ public class LineChartRenderer extends DataRenderer {
         LineData lineData = mChart.getLineData();
         mLineBuffers = new LineBuffer[lineData.getDataSetCount()];
         mCircleBuffers = new CircleBuffer[lineData.getDataSetCount()];
+        mCubicBuffers = new PathBuffer[lineData.getDataSetCount()];
+        mFillBuffers = new PathBuffer[lineData.getDataSetCount()];
 
         for (int i = 0; i < mLineBuffers.length; i++) {
             LineDataSet set = lineData.getDataSetByIndex(i);
             mLineBuffers[i] = new LineBuffer(set.getEntryCount() * 4 - 4);
             mCircleBuffers[i] = new CircleBuffer(set.getEntryCount() * 2);
+            mCubicBuffers[i] = new PathBuffer();
+            mFillBuffers[i] = new PathBuffer();
+        }
+    }
+
+    /**
+     * Only the buffers that are too small for their DataSet are replaced, and
+     * they are replaced by buffers with 50% spare capacity so that appending
+     * entries one by one does not allocate new buffers for every entry.
+     */
+    @Override
+    public void growBuffers() {
+
+        LineData lineData = mChart.getLineData();
+
+        if (mLineBuffers == null || mLineBuffers.length != lineData.getDataSetCount()) {
+            initBuffers();
+            return;
+        }
+
+        for (int i = 0; i < mLineBuffers.length; i++) {
+
+            int count = lineData.getDataSetByIndex(i).getEntryCount();
+            int lineSize = count * 4 - 4;
+            int circleSize = count * 2;
+
+            if (mLineBuffers[i].size() < lineSize)
+                mLineBuffers[i] = new LineBuffer(lineSize + (lineSize >> 1));
+
+            if (mCircleBuffers[i].size() < circleSize)
+                mCircleBuffers[i] = new CircleBuffer(circleSize + (circleSize >> 1));
         }
     }
 
@@ -77,9 +126,11 @@ public class LineChartRenderer extends DataRenderer {
                 || ((int) mViewPortHandler.getChartHeight() != mPathBitmap.getHeight())) {
             mPathBitmap = Bitmap.createBitmap((int) mViewPortHandler.getChartWidth(),
                     (int) mViewPortHandler.getChartHeight(), Bitmap.Config.ARGB_4444);
-            mBitmapCanvas = new Canvas(mPathBitmap);
+            mBitmapCanvas = new MetricsCanvas(mPathBitmap);
         }
 
+        mBitmapCanvas.setFrameMetrics(mMetrics);
+
         mPathBitmap.eraseColor(Color.TRANSPARENT);
 
         LineData lineData = mChart.getLineData();
@@ -119,7 +170,9 @@ public class LineChartRenderer extends DataRenderer {
     }
 
     /**
-     * Draws a cubic line.
+     * Draws a cubic line. The spline is kept in value-space across frames, it
+     * is only rebuilt from the precalculated control points of the DataSet if
+     * the DataSet, the cubic intensity or the drawn range changes too much.
      * 
      * @param c
      * @param dataSet
@@ -127,124 +180,105 @@ public class LineChartRenderer extends DataRenderer {
      */
     protected void drawCubic(Canvas c, LineDataSet dataSet, List<Entry> entries) {
 
-        Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
+        int dataSetIndex = mChart.getLineData().getIndexOfDataSet(dataSet);
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
+        Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+        int minx = dataSet.getEntryIndexFrom(mMinX);
+        int maxx = dataSet.getEntryIndexTo(mMaxX);
 
         float phaseX = mAnimator.getPhaseX();
         float phaseY = mAnimator.getPhaseY();
 
         float intensity = dataSet.getCubicIntensity();
 
-        cubicPath.reset();
-
-        int size = (int) Math.ceil((maxx - minx) * phaseX + minx);
-
-        minx = Math.max(minx, 0); // Decrement by 2 as we always render two
-                                  // extra points to keep cubic flowing
-        size = Math.min(size + 2, entries.size()); // Increment by 2 as we
-                                                   // always render two extra
-                                                   // points to keep cubic
-                                                   // flowing
-
-        if (size - minx >= 4) {
+        // one extra entry is drawn to keep the cubic flowing
+        int size = Math.min((int) Math.ceil((maxx - minx) * phaseX + minx) + 1,
+                entries.size());
 
-            float prevDx = 0f;
-            float prevDy = 0f;
-            float curDx = 0f;
-            float curDy = 0f;
+        PathBuffer spline = mCubicBuffers[dataSetIndex];
 
-            Entry cur = entries.get(minx);
-            Entry next = entries.get(minx + 1);
-            Entry prev = entries.get(minx);
-            Entry prevPrev = entries.get(minx);
+        // the spline of the last frame is reused if possible
+        if (!spline.isRetained(dataSet, minx, size, phaseX, intensity)) {
 
-            // let the spline start
-            cubicPath.moveTo(cur.getXIndex(), cur.getVal() * phaseY);
+            spline.limitWithMargin(minx, size, entries.size(), phaseX);
+            generateCubicPath(spline.path, dataSet, spline.getFrom(), spline.getTo());
+            spline.retain(dataSet, phaseX, intensity);
 
-            prevDx = (next.getXIndex() - cur.getXIndex()) * intensity;
-            prevDy = (next.getVal() - cur.getVal()) * intensity;
+            recordFeed(spline.getFrom(), spline.getTo());
+        }
 
-            cur = entries.get(1);
-            next = entries.get(2);
-            curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-            curDy = (next.getVal() - prev.getVal()) * intensity;
+        recordCulled(dataSet, minx, maxx);
 
-            // the first cubic
-            cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                    cur.getXIndex() - curDx,
-                    (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
+        if (spline.getTo() - spline.getFrom() < 2)
+            return;
 
-            for (int j = minx + 2; j < size - 1; j++) {
+        // if filled is enabled, close the path
+        if (dataSet.isDrawFilledEnabled()) {
 
-                prevPrev = entries.get(j - 2);
-                prev = entries.get(j - 1);
-                cur = entries.get(j);
-                next = entries.get(j + 1);
+            trans.pathValueToPixel(spline.path, cubicFillPath, phaseY);
+            drawCubicFill(mBitmapCanvas, dataSet, cubicFillPath, trans, spline.getFrom(),
+                    spline.getTo());
+        }
 
-                prevDx = (cur.getXIndex() - prevPrev.getXIndex()) * intensity;
-                prevDy = (cur.getVal() - prevPrev.getVal()) * intensity;
-                curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-                curDy = (next.getVal() - prev.getVal()) * intensity;
+        // the spline is built without the y-phase, it is applied when
+        // transforming
+        trans.pathValueToPixel(spline.path, cubicPath, phaseY);
 
-                cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                        cur.getXIndex() - curDx,
-                        (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
-            }
+        mRenderPaint.setColor(dataSet.getColor());
 
-            if (size > entries.size() - 1) {
+        mRenderPaint.setStyle(Paint.Style.STROKE);
 
-                cur = entries.get(entries.size() - 1);
-                prev = entries.get(entries.size() - 2);
-                prevPrev = entries.get(entries.size() - 3);
-                next = cur;
+        mBitmapCanvas.drawPath(cubicPath, mRenderPaint);
 
-                prevDx = (cur.getXIndex() - prevPrev.getXIndex()) * intensity;
-                prevDy = (cur.getVal() - prevPrev.getVal()) * intensity;
-                curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-                curDy = (next.getVal() - prev.getVal()) * intensity;
+        mRenderPaint.setPathEffect(null);
+    }
 
-                // the last cubic
-                cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                        cur.getXIndex() - curDx,
-                        (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
-            }
-        }
+    /**
+     * Builds the cubic line through the entries [from, to) of the given
+     * DataSet in value-space.
+     * 
+     * @param spline
+     * @param dataSet
+     * @param from
+     * @param to
+     */
+    private void generateCubicPath(Path spline, LineDataSet dataSet, int from, int to) {
 
-        // if filled is enabled, close the path
-        if (dataSet.isDrawFilledEnabled()) {
+        spline.reset();
 
-            cubicFillPath.reset();
-            cubicFillPath.addPath(cubicPath);
-            // create a new path, this is bad for performance
-            drawCubicFill(mBitmapCanvas, dataSet, cubicFillPath, trans, minx, maxx);
-        }
+        if (to - from < 2)
+            return;
 
-        mRenderPaint.setColor(dataSet.getColor());
+        float[] points = dataSet.getCubicControlPoints();
 
-        mRenderPaint.setStyle(Paint.Style.STROKE);
+        // let the spline start
+        spline.moveTo(dataSet.getXIndexAt(from), dataSet.getYValAt(from));
 
-        trans.pathValueToPixel(cubicPath);
+        for (int k = from + 1; k < to; k++) {
 
-        mBitmapCanvas.drawPath(cubicPath, mRenderPaint);
+            int i = (k - 1) * 4;
 
-        mRenderPaint.setPathEffect(null);
+            spline.cubicTo(points[i], points[i + 1], points[i + 2], points[i + 3],
+                    dataSet.getXIndexAt(k), dataSet.getYValAt(k));
+        }
     }
 
+    /**
+     * Closes the given spline (already transformed into pixels) towards the
+     * fill line and draws it filled.
+     * 
+     * @param c
+     * @param dataSet
+     * @param spline
+     * @param trans
+     * @param from
+     * @param to
+     */
     protected void drawCubicFill(Canvas c, LineDataSet dataSet, Path spline, Transformer trans,
             int from, int to) {
 
-        float fillMin = mChart.getFillFormatter()
-                .getFillLinePosition(dataSet, mChart.getLineData(), mChart.getYChartMax(),
-                        mChart.getYChartMin());
-
-        spline.lineTo(to - 1, fillMin);
-        spline.lineTo(from, fillMin);
-        spline.close();
+        closeFill(spline, dataSet, trans, from, to);
 
         mRenderPaint.setStyle(Paint.Style.FILL);
 
@@ -252,12 +286,39 @@ public class LineChartRenderer extends DataRenderer {
         // filled is drawn with less alpha
         mRenderPaint.setAlpha(dataSet.getFillAlpha());
 
-        trans.pathValueToPixel(spline);
         mBitmapCanvas.drawPath(spline, mRenderPaint);
 
         mRenderPaint.setAlpha(255);
     }
 
+    /**
+     * Closes the given outline of the entries [from, to) (already transformed
+     * into pixels) along the fill line. The fill line is not animated, it is
+     * transformed without the y-phase.
+     * 
+     * @param outline
+     * @param dataSet
+     * @param trans
+     * @param from
+     * @param to
+     */
+    private void closeFill(Path outline, LineDataSet dataSet, Transformer trans, int from, int to) {
+
+        float fillMin = mChart.getFillFormatter()
+                .getFillLinePosition(dataSet, mChart.getLineData(), mChart.getYChartMax(),
+                        mChart.getYChartMin());
+
+        mFillLine[0] = dataSet.getXIndexAt(to - 1);
+        mFillLine[1] = fillMin;
+        mFillLine[2] = dataSet.getXIndexAt(from);
+        mFillLine[3] = fillMin;
+        trans.pointValuesToPixel(mFillLine);
+
+        outline.lineTo(mFillLine[0], mFillLine[1]);
+        outline.lineTo(mFillLine[2], mFillLine[3]);
+        outline.close();
+    }
+
     /**
      * Draws a normal line.
      * 
@@ -285,21 +346,68 @@ public class LineChartRenderer extends DataRenderer {
             canvas = c;
         }
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
+        int minx = dataSet.getEntryIndexFrom(mMinX);
+        int maxx = dataSet.getEntryIndexTo(mMaxX);
 
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+        LineBuffer buffer = mLineBuffers[dataSetIndex];
+        buffer.setPhases(phaseX, 1f);
 
-        int range = (maxx - minx) * 4 - 4;
+        Approximator approximator = mChart.getApproximator();
+        float xPerPixel = approximator == null ? 0f : getXPerPixel();
 
-        LineBuffer buffer = mLineBuffers[dataSetIndex];
-        buffer.setPhases(phaseX, phaseY);
-        buffer.limitFrom(minx);
-        buffer.limitTo(maxx);
-        buffer.feed(entries);
+        int level = dataSet.isLodEnabled() ? MinMaxPyramid.getLevel(maxx - minx,
+                mViewPortHandler.contentWidth()) : -1;
+
+        // the geometry depends on how the entries are reduced
+        int variant = level;
+
+        if (approximator != null)
+            variant = 31 * (31 * variant + Float.floatToIntBits(xPerPixel))
+                    + approximator.getConfigurationCount();
+
+        // the geometry of the last frame is reused if possible
+        if (!buffer.isRetained(dataSet, minx, maxx, variant)) {
+
+            buffer.limitWithMargin(minx, maxx, entries.size());
+
+            int from = buffer.getFrom();
+            int animatedTo = (int) Math.ceil((buffer.getTo() - from) * phaseX + from);
+
+            int count = approximator == null ? -1 : approximator.reduce(dataSet, from,
+                    animatedTo, xPerPixel);
+
+            if (count >= 0) {
+
+                buffer.feed(entries, approximator.getPositions(), approximator.getOffset(),
+                        count);
+
+            } else if (level > 0) {
+
+                MinMaxPyramid pyramid = dataSet.getLodPyramid();
+
+                count = pyramid.reduce(level, from, animatedTo);
+                buffer.feed(entries, pyramid.getPositions(), 0, count);
+
+            } else {
+                buffer.feed(entries);
+            }
+
+            buffer.retain(dataSet, variant);
 
-        trans.pointValuesToPixel(buffer.buffer);
+            recordFeed(buffer.getFrom(), buffer.getTo());
+        }
+
+        recordCulled(dataSet, minx, maxx);
+
+        // positions of the drawn entries if the line is reduced, null if all
+        // entries are drawn
+        int[] positions = buffer.getPositions();
+        int from = buffer.getFrom();
+
+        // a single entry results in no line segment
+        int range = buffer.length() < 4 ? 0 : buffer.length();
+
+        trans.pointValuesToPixel(buffer.getValues(), buffer.buffer, range, phaseY);
 
         // more than 1 color
         if (dataSet.getColors().size() > 1) {
@@ -319,7 +427,8 @@ public class LineChartRenderer extends DataRenderer {
                     continue;
 
                 // get the color that is set for this line-segment
-                mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
+                mRenderPaint.setColor(dataSet.getColor(positions == null ? j / 4 + from
+                        : positions[j / 4]));
 
                 canvas.drawLine(buffer.buffer[j], buffer.buffer[j + 1],
                         buffer.buffer[j + 2], buffer.buffer[j + 3], mRenderPaint);
@@ -342,61 +451,93 @@ public class LineChartRenderer extends DataRenderer {
         }
     }
 
+    /**
+     * Returns the number of x-indices that currently fall onto one pixel of
+     * the content.
+     * 
+     * @return
+     */
+    protected float getXPerPixel() {
+
+        float pixels = mViewPortHandler.contentWidth() * mViewPortHandler.getScaleX();
+
+        if (pixels <= 0f)
+            return 0f;
+
+        return (mChart.getXChartMax() - mChart.getXChartMin()) / pixels;
+    }
+
+    /**
+     * Draws the fill below a normal line. The outline is kept in value-space
+     * across frames like the line itself.
+     * 
+     * @param c
+     * @param dataSet
+     * @param entries
+     * @param minx
+     * @param maxx
+     * @param trans
+     */
     protected void drawLinearFill(Canvas c, LineDataSet dataSet, List<Entry> entries, int minx,
             int maxx,
             Transformer trans) {
 
+        int dataSetIndex = mChart.getLineData().getIndexOfDataSet(dataSet);
+
+        float phaseX = mAnimator.getPhaseX();
+
+        int size = (int) Math.ceil((maxx - minx) * phaseX + minx);
+
+        PathBuffer outline = mFillBuffers[dataSetIndex];
+
+        if (!outline.isRetained(dataSet, minx, size, phaseX, 0f)) {
+
+            outline.limitWithMargin(minx, size, entries.size(), phaseX);
+            generateFilledPath(outline.path, dataSet, outline.getFrom(), outline.getTo());
+            outline.retain(dataSet, phaseX, 0f);
+
+            recordFeed(outline.getFrom(), outline.getTo());
+        }
+
+        if (outline.getTo() <= outline.getFrom())
+            return;
+
+        trans.pathValueToPixel(outline.path, mFillPath, mAnimator.getPhaseY());
+        closeFill(mFillPath, dataSet, trans, outline.getFrom(), outline.getTo());
+
         mRenderPaint.setStyle(Paint.Style.FILL);
 
         mRenderPaint.setColor(dataSet.getFillColor());
         // filled is drawn with less alpha
         mRenderPaint.setAlpha(dataSet.getFillAlpha());
 
-        Path filled = generateFilledPath(
-                entries,
-                mChart.getFillFormatter().getFillLinePosition(dataSet, mChart.getLineData(),
-                        mChart.getYChartMax(), mChart.getYChartMin()), minx, maxx);
-
-        trans.pathValueToPixel(filled);
-
-        c.drawPath(filled, mRenderPaint);
+        c.drawPath(mFillPath, mRenderPaint);
 
         // restore alpha
         mRenderPaint.setAlpha(255);
     }
 
     /**
-     * Generates the path that is used for filled drawing.
+     * Generates the outline of the entries [from, to) in value-space that is
+     * used for filled drawing, it is closed along the fill line after
+     * transforming.
      * 
-     * @param entries
-     * @return
+     * @param filled the path that is reused for the outline
+     * @param dataSet
+     * @param from
+     * @param to
      */
-    private Path generateFilledPath(List<Entry> entries, float fillMin, int from, int to) {
+    private void generateFilledPath(Path filled, LineDataSet dataSet, int from, int to) {
 
-        float phaseX = mAnimator.getPhaseX();
-        float phaseY = mAnimator.getPhaseY();
-
-        Path filled = new Path();
-        filled.moveTo(entries.get(from).getXIndex(), fillMin);
-        filled.lineTo(entries.get(from).getXIndex(), entries.get(from).getVal() * phaseY);
-
-        // create a new path
-        for (int x = from + 1, count = (int) Math.ceil((to - from) * phaseX + from); x < count; x++) {
-
-            Entry e = entries.get(x);
-            filled.lineTo(e.getXIndex(), e.getVal() * phaseY);
-        }
+        filled.reset();
 
-        // close up
-        filled.lineTo(
-                entries.get(
-                        Math.max(
-                                Math.min((int) Math.ceil((to - from) * phaseX + from) - 1,
-                                        entries.size() - 1), 0)).getXIndex(), fillMin);
+        if (to <= from)
+            return;
 
-        filled.close();
+        filled.moveTo(dataSet.getXIndexAt(from), dataSet.getYValAt(from));
 
-        return filled;
+        for (int x = from + 1; x < to; x++)
+            filled.lineTo(dataSet.getXIndexAt(x), dataSet.getYValAt(x));
     }
 
     @Override
@@ -427,14 +568,8 @@ public class LineChartRenderer extends DataRenderer {
 
                 List<Entry> entries = dataSet.getYVals();
 
-                Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-                Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-                int minx = dataSet.getEntryPosition(entryFrom);
-                if (minx < 0)
-                    minx = 0;
-
-                int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+                int minx = dataSet.getEntryIndexFrom(mMinX);
+                int maxx = dataSet.getEntryIndexTo(mMaxX);
 
                 float[] positions = trans.generateTransformedValuesLine(
                         entries, mAnimator.getPhaseX(), mAnimator.getPhaseY(), minx, maxx);
@@ -450,9 +585,9 @@ public class LineChartRenderer extends DataRenderer {
                     if (!mViewPortHandler.isInBoundsLeft(x) || !mViewPortHandler.isInBoundsY(y))
                         continue;
 
-                    float val = entries.get(j / 2 + minx).getVal();
+                    float val = dataSet.getYValAt(j / 2 + minx);
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), x,
+                    c.drawText(dataSet.getValueFormatterForDrawing().getFormattedValue(val), x,
                             y - valOffset,
                             mValuePaint);
                 }
@@ -486,23 +621,28 @@ public class LineChartRenderer extends DataRenderer {
             Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
             List<Entry> entries = dataSet.getYVals();
 
-            Entry entryFrom = dataSet.getEntryForXIndex((mMinX < 0) ? 0 : mMinX);
-            Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-            int minx = dataSet.getEntryPosition(entryFrom);
-            int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+            int minx = dataSet.getEntryIndexFrom(mMinX);
+            int maxx = dataSet.getEntryIndexTo(mMaxX);
 
             CircleBuffer buffer = mCircleBuffers[i];
-            buffer.setPhases(phaseX, phaseY);
-            buffer.limitFrom(minx);
-            buffer.limitTo(maxx);
-            buffer.feed(entries);
+            buffer.setPhases(phaseX, 1f);
+
+            if (!buffer.isRetained(dataSet, minx, maxx)) {
+
+                buffer.limitWithMargin(minx, maxx, entries.size());
+                buffer.feed(entries);
+                buffer.retain(dataSet, 0);
+
+                recordFeed(buffer.getFrom(), buffer.getTo());
+            }
+
+            trans.pointValuesToPixel(buffer.getValues(), buffer.buffer, buffer.length(), phaseY);
 
-            trans.pointValuesToPixel(buffer.buffer);
+            int from = buffer.getFrom();
 
             float halfsize = dataSet.getCircleSize() / 2f;
 
-            for (int j = 0, count = (int) Math.ceil((maxx - minx) * phaseX + minx) * 2; j < count; j += 2) {
+            for (int j = 0, count = buffer.length(); j < count; j += 2) {
 
                 float x = buffer.buffer[j];
                 float y = buffer.buffer[j + 1];
@@ -515,7 +655,7 @@ public class LineChartRenderer extends DataRenderer {
                 if (!mViewPortHandler.isInBoundsLeft(x) || !mViewPortHandler.isInBoundsY(y))
                     continue;
 
-                int circleColor = dataSet.getCircleColor(j / 2 + minx);
+                int circleColor = dataSet.getCircleColor(j / 2 + from);
 
                 mRenderPaint.setColor(circleColor);
 
@@ -201,7 +201,7 @@ public class PieChartRenderer extends DataRenderer {
                 float value = mChart.isUsePercentValuesEnabled() ? entries.get(j).getVal()
                         / mChart.getYValueSum() * 100f : entries.get(j).getVal();
 
-                String val = dataSet.getValueFormatter().getFormattedValue(value);
+                String val = dataSet.getValueFormatterForDrawing().getFormattedValue(value);
                 
                 float lineHeight = Utils.calcTextHeight(mValuePaint, val) + Utils.convertDpToPixel(4f);
 
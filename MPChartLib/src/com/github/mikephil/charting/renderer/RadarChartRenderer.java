@@ -140,7 +140,7 @@ public class RadarChartRenderer extends DataRenderer {
                 PointF p = Utils.getPosition(center, (e.getVal() - mChart.getYChartMin()) * factor,
                         sliceangle * j + mChart.getRotationAngle());
 
-                c.drawText(dataSet.getValueFormatter().getFormattedValue(e.getVal()),
+                c.drawText(dataSet.getValueFormatterForDrawing().getFormattedValue(e.getVal()),
                         p.x, p.y - yoffset, mValuePaint);
             }
         }
@@ -218,8 +218,12 @@ public class RadarChartRenderer extends DataRenderer {
             // get the index to highlight
             int xIndex = indices[i].getXIndex();
 
-            Entry e = set.getEntryForXIndex(xIndex);
-            int j = set.getEntryPosition(e);
+            int j = set.getEntryIndex(xIndex);
+
+            if (j < 0)
+                continue;
+
+            Entry e = set.getYVals().get(j);
             float y = (e.getVal() - mChart.getYChartMin());
 
             PointF p = Utils.getPosition(center, y * factor,
@@ -46,6 +46,31 @@ public class ScatterChartRenderer extends DataRenderer {
         }
     }
 
+    /**
+     * Only the buffers that are too small for their DataSet are replaced, and
+     * they are replaced by buffers with 50% spare capacity so that appending
+     * entries one by one does not allocate new buffers for every entry.
+     */
+    @Override
+    public void growBuffers() {
+
+        ScatterData scatterData = mChart.getScatterData();
+
+        if (mScatterBuffers == null
+                || mScatterBuffers.length != scatterData.getDataSetCount()) {
+            initBuffers();
+            return;
+        }
+
+        for (int i = 0; i < mScatterBuffers.length; i++) {
+
+            int size = scatterData.getDataSetByIndex(i).getEntryCount() * 2;
+
+            if (mScatterBuffers[i].size() < size)
+                mScatterBuffers[i] = new ScatterBuffer(size + (size >> 1));
+        }
+    }
+
     @Override
     public void drawData(Canvas c) {
 
@@ -74,17 +99,34 @@ public class ScatterChartRenderer extends DataRenderer {
 
         ScatterBuffer buffer = mScatterBuffers[mChart.getScatterData().getIndexOfDataSet(
                 dataSet)];
-        buffer.setPhases(phaseX, phaseY);
-        buffer.feed(entries);
+        buffer.setPhases(phaseX, 1f);
+
+        int minx = dataSet.getEntryIndexFrom(mMinX);
+        int maxx = dataSet.getEntryIndexTo(mMaxX);
+
+        // the geometry of the last frame is reused if possible
+        if (!buffer.isRetained(dataSet, minx, maxx)) {
+
+            buffer.limitWithMargin(minx, maxx, entries.size());
+            buffer.feed(entries);
+            buffer.retain(dataSet, 0);
+
+            recordFeed(buffer.getFrom(), buffer.getTo());
+        }
+
+        recordCulled(dataSet, minx, maxx);
+
+        int range = buffer.length();
+        int from = buffer.getFrom();
 
-        trans.pointValuesToPixel(buffer.buffer);
+        trans.pointValuesToPixel(buffer.getValues(), buffer.buffer, range, phaseY);
 
         switch (shape) {
             case SQUARE:
 
                 mRenderPaint.setStyle(Style.FILL);
 
-                for (int i = 0; i < buffer.size(); i += 2) {
+                for (int i = 0; i < range; i += 2) {
 
                     if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
                         break;
@@ -93,7 +135,7 @@ public class ScatterChartRenderer extends DataRenderer {
                             || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
                         continue;
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
+                    mRenderPaint.setColor(dataSet.getColor(from + i / 2));
                     c.drawRect(buffer.buffer[i] - shapeHalf,
                             buffer.buffer[i + 1] - shapeHalf, buffer.buffer[i]
                                     + shapeHalf, buffer.buffer[i + 1]
@@ -104,7 +146,7 @@ public class ScatterChartRenderer extends DataRenderer {
 
                 mRenderPaint.setStyle(Style.FILL);
 
-                for (int i = 0; i < buffer.size(); i += 2) {
+                for (int i = 0; i < range; i += 2) {
 
                     if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
                         break;
@@ -113,7 +155,7 @@ public class ScatterChartRenderer extends DataRenderer {
                             || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
                         continue;
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
+                    mRenderPaint.setColor(dataSet.getColor(from + i / 2));
                     c.drawCircle(buffer.buffer[i], buffer.buffer[i + 1], shapeHalf,
                             mRenderPaint);
                 }
@@ -125,7 +167,7 @@ public class ScatterChartRenderer extends DataRenderer {
                 // create a triangle path
                 Path tri = new Path();
 
-                for (int i = 0; i < buffer.size(); i += 2) {
+                for (int i = 0; i < range; i += 2) {
 
                     if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
                         break;
@@ -134,7 +176,7 @@ public class ScatterChartRenderer extends DataRenderer {
                             || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
                         continue;
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
+                    mRenderPaint.setColor(dataSet.getColor(from + i / 2));
                     tri.moveTo(buffer.buffer[i], buffer.buffer[i + 1] - shapeHalf);
                     tri.lineTo(buffer.buffer[i] + shapeHalf, buffer.buffer[i + 1] + shapeHalf);
                     tri.lineTo(buffer.buffer[i] - shapeHalf, buffer.buffer[i + 1] + shapeHalf);
@@ -148,7 +190,7 @@ public class ScatterChartRenderer extends DataRenderer {
 
                 mRenderPaint.setStyle(Style.STROKE);
 
-                for (int i = 0; i < buffer.size(); i += 2) {
+                for (int i = 0; i < range; i += 2) {
 
                     if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
                         break;
@@ -157,7 +199,7 @@ public class ScatterChartRenderer extends DataRenderer {
                             || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
                         continue;
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
+                    mRenderPaint.setColor(dataSet.getColor(from + i / 2));
 
                     c.drawLine(buffer.buffer[i] - shapeHalf, buffer.buffer[i + 1],
                             buffer.buffer[i] + shapeHalf,
@@ -234,10 +276,10 @@ public class ScatterChartRenderer extends DataRenderer {
                             || !mViewPortHandler.isInBoundsY(positions[j + 1])))
                         continue;
 
-                    float val = entries.get(j / 2).getVal();
+                    float val = dataSet.getYValAt(j / 2);
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), positions[j],
-                            positions[j + 1] - shapeSize,
+                    c.drawText(dataSet.getValueFormatterForDrawing().getFormattedValue(val),
+                            positions[j], positions[j + 1] - shapeSize,
                             mValuePaint);
                 }
             }
@@ -23,6 +23,10 @@ public class YAxisRenderer extends AxisRenderer {
 
 	protected YAxis mYAxis;
 
+    /** reused for the values at the corners of the content rect */
+    protected PointD mTouchValues1 = new PointD(0, 0);
+    protected PointD mTouchValues2 = new PointD(0, 0);
+
     public YAxisRenderer(ViewPortHandler viewPortHandler, YAxis yAxis, Transformer trans) {
         super(viewPortHandler, trans);
 
@@ -44,10 +48,13 @@ public class YAxisRenderer extends AxisRenderer {
         // zoom / contentrect bounds)
         if (mViewPortHandler.contentWidth() > 10 && !mViewPortHandler.isFullyZoomedOutY()) {
 
-            PointD p1 = mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
-                    mViewPortHandler.contentTop());
-            PointD p2 = mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
-                    mViewPortHandler.contentBottom());
+            PointD p1 = mTouchValues1;
+            PointD p2 = mTouchValues2;
+
+            mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
+                    mViewPortHandler.contentTop(), p1);
+            mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
+                    mViewPortHandler.contentBottom(), p2);
 
             if (!mYAxis.isInverted()) {
                 yMin = (float) p2.y;
@@ -39,10 +39,13 @@ public class YAxisRendererHorizontalBarChart extends YAxisRenderer {
         // zoom / contentrect bounds)
         if (mViewPortHandler.contentHeight() > 10 && !mViewPortHandler.isFullyZoomedOutX()) {
 
-            PointD p1 = mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
-                    mViewPortHandler.contentTop());
-            PointD p2 = mTrans.getValuesByTouchPoint(mViewPortHandler.contentRight(),
-                    mViewPortHandler.contentTop());
+            PointD p1 = mTouchValues1;
+            PointD p2 = mTouchValues2;
+
+            mTrans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
+                    mViewPortHandler.contentTop(), p1);
+            mTrans.getValuesByTouchPoint(mViewPortHandler.contentRight(),
+                    mViewPortHandler.contentTop(), p2);
 
             if (!mYAxis.isInverted()) {
                 yMin = (float) p1.x;
@@ -0,0 +1,124 @@
+
+package com.github.mikephil.charting.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * A cached layer of a chart (e.g. grid and data). The content of the layer is
+ * drawn into a bitmap once and composited onto the canvas of the chart as
+ * long as the layer is not invalidated, so that redrawing the chart e.g. for
+ * a highlight only costs drawing the bitmap.
+ */
+public class ChartLayer {
+
+    /** the bitmap holding the content of the layer */
+    private Bitmap mBitmap;
+
+    /** canvas drawing into the bitmap */
+    private MetricsCanvas mCanvas;
+
+    /** the metrics draw calls are counted for, null if disabled */
+    private FrameMetrics mMetrics;
+
+    /** true if the content of the layer needs to be redrawn */
+    private boolean mDirty = true;
+
+    /**
+     * Makes sure the bitmap of the layer has the given size, a new bitmap
+     * invalidates the layer. Returns false if no bitmap can be created for
+     * the given size.
+     *
+     * @param width
+     * @param height
+     * @return
+     */
+    public boolean prepare(int width, int height) {
+
+        if (width <= 0 || height <= 0)
+            return false;
+
+        if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+
+            release();
+
+            mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mCanvas = new MetricsCanvas(mBitmap);
+            mCanvas.setFrameMetrics(mMetrics);
+            mDirty = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets the metrics the draw calls on the layer are counted for, null to
+     * disable counting.
+     *
+     * @param metrics
+     */
+    public void setFrameMetrics(FrameMetrics metrics) {
+
+        mMetrics = metrics;
+
+        if (mCanvas != null)
+            mCanvas.setFrameMetrics(metrics);
+    }
+
+    /**
+     * Marks the content of the layer as outdated, it is redrawn before it is
+     * composited the next time.
+     */
+    public void invalidate() {
+        mDirty = true;
+    }
+
+    /**
+     * Returns true if the content of the layer needs to be redrawn.
+     *
+     * @return
+     */
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Clears the layer and returns the canvas its content is redrawn on. The
+     * layer is valid afterwards until it is invalidated.
+     *
+     * @return
+     */
+    public Canvas beginDraw() {
+
+        mBitmap.eraseColor(Color.TRANSPARENT);
+        mDirty = false;
+
+        return mCanvas;
+    }
+
+    /**
+     * Composites the layer onto the given canvas.
+     *
+     * @param c
+     * @param paint
+     */
+    public void draw(Canvas c, Paint paint) {
+        c.drawBitmap(mBitmap, 0, 0, paint);
+    }
+
+    /**
+     * Recycles the bitmap of the layer, it is recreated by the next call to
+     * prepare(...).
+     */
+    public void release() {
+
+        if (mBitmap != null)
+            mBitmap.recycle();
+
+        mBitmap = null;
+        mCanvas = null;
+        mDirty = true;
+    }
+}
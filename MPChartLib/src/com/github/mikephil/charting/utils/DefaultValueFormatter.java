@@ -2,18 +2,33 @@
 package com.github.mikephil.charting.utils;
 
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 
 /**
- * Default formatter used for formatting values. Uses a DecimalFormat with
- * pre-calculated number of digits (depending on max and min value).
+ * Default formatter used for formatting values. Formats with a pre-calculated
+ * number of digits (depending on max and min value) and the separators of the
+ * default locale, like a DecimalFormat with the pattern "###,##0.0..." but
+ * without its overhead: The value is written into a reused char-buffer (see
+ * Utils.formatNumber(double, ...)), the only allocation is the returned
+ * String.
  *
  * @author Philipp Jahoda
  */
 public class DefaultValueFormatter implements ValueFormatter {
 
-    /** decimalformat for formatting */
+    /** decimalformat for values that do not fit the buffer */
     private DecimalFormat mFormat;
 
+    /** the number of decimals */
+    private int mDigits;
+
+    /** separators of the default locale */
+    private char mDecimalSeparator;
+    private char mGroupingSeparator;
+
+    /** buffer the value is formatted into */
+    private char[] mBuffer = new char[40];
+
     /**
      * Constructor that specifies to how many digits the value should be
      * formatted.
@@ -30,11 +45,26 @@ public class DefaultValueFormatter implements ValueFormatter {
         }
 
         mFormat = new DecimalFormat("###,###,###,##0" + b.toString());
+
+        DecimalFormatSymbols symbols = mFormat.getDecimalFormatSymbols();
+
+        mDigits = Math.max(0, digits);
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mGroupingSeparator = symbols.getGroupingSeparator();
     }
 
     @Override
     public String getFormattedValue(float value) {
-        // avoid memory allocations here (for performance)
-        return mFormat.format(value);
+
+        char[] buffer = mBuffer;
+
+        int start = Utils.formatNumber(value, mDigits, mDecimalSeparator, mGroupingSeparator,
+                buffer, buffer.length);
+
+        if (start < 0)
+            return mFormat.format(value);
+
+        // use this instead of "new String(...)" because of issue < Android 4.0
+        return String.valueOf(buffer, start, buffer.length - start);
     }
 }
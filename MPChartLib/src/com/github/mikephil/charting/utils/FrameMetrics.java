@@ -0,0 +1,410 @@
+
+package com.github.mikephil.charting.utils;
+
+import android.os.Build;
+
+import com.github.mikephil.charting.listener.OnFrameMetricsListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Records where the time of a frame goes: the time (System.nanoTime()) spent
+ * in every stage of drawing, the number of entries fed into buffers, the
+ * number of entries culled because they are out of view and the number of
+ * draw calls on the canvases of the chart. The times of the last frames are
+ * kept in a rolling window for percentiles. Optionally every stage is emitted
+ * as an android.os.Trace section (API 18+) for systrace, Trace is called via
+ * reflection because the library is compiled against API level 16. Set it on a chart via
+ * setFrameMetrics(...), the chart does not record anything as long as no
+ * FrameMetrics object is set.
+ */
+public class FrameMetrics {
+
+    /** stage: calculating the x-label modulus */
+    public static final int STAGE_MODULUS = 0;
+
+    /** stage: calculating the y-axis entries (and auto-scaling) */
+    public static final int STAGE_AXIS = 1;
+
+    /** stage: grid background, axis lines, grid lines and limit lines */
+    public static final int STAGE_GRID = 2;
+
+    /** stage: DataRenderer.drawData(...) */
+    public static final int STAGE_DATA = 3;
+
+    /** stage: DataRenderer.drawHighlighted(...) */
+    public static final int STAGE_HIGHLIGHT = 4;
+
+    /** stage: DataRenderer.drawExtras(...) */
+    public static final int STAGE_EXTRAS = 5;
+
+    /** stage: x- and y-axis labels */
+    public static final int STAGE_AXIS_LABELS = 6;
+
+    /** stage: DataRenderer.drawValues(...) */
+    public static final int STAGE_VALUES = 7;
+
+    /** stage: legend and description */
+    public static final int STAGE_LEGEND = 8;
+
+    /** stage: MarkerViews */
+    public static final int STAGE_MARKERS = 9;
+
+    /** stage: drawing the cached layers onto the canvas of the chart */
+    public static final int STAGE_COMPOSITE = 10;
+
+    /** the number of stages */
+    public static final int STAGE_COUNT = 11;
+
+    private static final String[] STAGE_NAMES = new String[] {
+            "modulus", "axis", "grid", "data", "highlight", "extras", "axis-labels",
+            "values", "legend", "markers", "composite"
+    };
+
+    /** prefix of the names of the trace sections */
+    private static final String TRACE_PREFIX = "MPChart:";
+
+    /** Trace.beginSection(...) and Trace.endSection(), looked up once */
+    private static Method sBeginSection;
+    private static Method sEndSection;
+    private static boolean sTraceLookedUp = false;
+
+    /** time the current stages and the current frame started */
+    private long[] mStageStart = new long[STAGE_COUNT];
+    private long mFrameStart = 0;
+
+    /** time spent in the stages of the current (or last) frame */
+    private long[] mStageNanos = new long[STAGE_COUNT];
+    private long mFrameNanos = 0;
+
+    /** counters of the current (or last) frame */
+    private int mEntriesFed = 0;
+    private int mEntriesCulled = 0;
+    private int mDrawCalls = 0;
+
+    /**
+     * times of the last frames, one row per stage and one for the whole
+     * frame, used as ring buffers
+     */
+    private long[][] mHistory;
+
+    /** the number of frames recorded so far */
+    private int mFrameCount = 0;
+
+    /** sorted copy of a row of the history, reused for percentiles */
+    private long[] mSorted;
+
+    /** if true, the stages are emitted as trace sections */
+    private boolean mTraceEnabled = false;
+
+    private OnFrameMetricsListener mListener;
+
+    /**
+     * Creates a FrameMetrics object that keeps the times of the last 120
+     * frames for percentiles.
+     */
+    public FrameMetrics() {
+        this(120);
+    }
+
+    /**
+     * Creates a FrameMetrics object that keeps the times of the given number
+     * of frames for percentiles.
+     *
+     * @param window
+     */
+    public FrameMetrics(int window) {
+
+        if (window < 1)
+            window = 1;
+
+        mHistory = new long[STAGE_COUNT + 1][window];
+        mSorted = new long[window];
+    }
+
+    /**
+     * Sets a listener that is called after every frame.
+     *
+     * @param l
+     */
+    public void setOnFrameMetricsListener(OnFrameMetricsListener l) {
+        mListener = l;
+    }
+
+    /**
+     * If set to true, every stage is emitted as a trace section (e.g.
+     * "MPChart:data") that shows up in systrace. Only available on API level
+     * 18 and above. Default: false
+     *
+     * @param enabled
+     */
+    public void setTraceEnabled(boolean enabled) {
+        mTraceEnabled = enabled && Build.VERSION.SDK_INT >= 18 && lookUpTrace();
+    }
+
+    /**
+     * Looks up the methods of android.os.Trace, returns true if they are
+     * available.
+     *
+     * @return
+     */
+    private static synchronized boolean lookUpTrace() {
+
+        if (!sTraceLookedUp) {
+
+            sTraceLookedUp = true;
+
+            try {
+                Class<?> trace = Class.forName("android.os.Trace");
+                sBeginSection = trace.getMethod("beginSection", String.class);
+                sEndSection = trace.getMethod("endSection");
+            } catch (Exception e) {
+                sBeginSection = null;
+                sEndSection = null;
+            }
+        }
+
+        return sBeginSection != null && sEndSection != null;
+    }
+
+    /**
+     * Returns true if the stages are emitted as trace sections.
+     *
+     * @return
+     */
+    public boolean isTraceEnabled() {
+        return mTraceEnabled;
+    }
+
+    /**
+     * Starts a new frame, the times and counters of the last frame are reset.
+     */
+    public void beginFrame() {
+
+        Arrays.fill(mStageNanos, 0L);
+        mEntriesFed = 0;
+        mEntriesCulled = 0;
+        mDrawCalls = 0;
+
+        if (mTraceEnabled)
+            beginSection("frame");
+
+        mFrameStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the current frame, stores its times in the rolling window and
+     * notifies the listener.
+     */
+    public void endFrame() {
+
+        mFrameNanos = System.nanoTime() - mFrameStart;
+
+        if (mTraceEnabled)
+            endSection();
+
+        int slot = mFrameCount % mSorted.length;
+
+        for (int i = 0; i < STAGE_COUNT; i++)
+            mHistory[i][slot] = mStageNanos[i];
+
+        mHistory[STAGE_COUNT][slot] = mFrameNanos;
+
+        mFrameCount++;
+
+        if (mListener != null)
+            mListener.onFrameMetrics(this);
+    }
+
+    /**
+     * Starts timing the given stage. Stages are not nested, every stage can
+     * be recorded multiple times per frame, the times are summed up.
+     *
+     * @param stage one of the STAGE_ constants
+     */
+    public void begin(int stage) {
+
+        if (mTraceEnabled)
+            beginSection(STAGE_NAMES[stage]);
+
+        mStageStart[stage] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing the given stage.
+     *
+     * @param stage one of the STAGE_ constants
+     */
+    public void end(int stage) {
+
+        mStageNanos[stage] += System.nanoTime() - mStageStart[stage];
+
+        if (mTraceEnabled)
+            endSection();
+    }
+
+    private void beginSection(String name) {
+        try {
+            sBeginSection.invoke(null, TRACE_PREFIX + name);
+        } catch (Exception e) {
+            mTraceEnabled = false;
+        }
+    }
+
+    private void endSection() {
+        try {
+            sEndSection.invoke(null);
+        } catch (Exception e) {
+            mTraceEnabled = false;
+        }
+    }
+
+    /**
+     * Adds the given number of entries that have been fed into buffers.
+     *
+     * @param count
+     */
+    public void addEntriesFed(int count) {
+        mEntriesFed += count;
+    }
+
+    /**
+     * Adds the given number of entries that have not been drawn because they
+     * are out of view.
+     *
+     * @param count
+     */
+    public void addEntriesCulled(int count) {
+        mEntriesCulled += count;
+    }
+
+    /**
+     * Counts a draw call on a canvas of the chart.
+     */
+    public void addDrawCall() {
+        mDrawCalls++;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) spent in the given stage during the
+     * last frame, 0 if the stage was skipped (e.g. because a layer was
+     * cached).
+     *
+     * @param stage one of the STAGE_ constants
+     * @return
+     */
+    public long getStageNanos(int stage) {
+        return mStageNanos[stage];
+    }
+
+    /**
+     * Returns the time (in nanoseconds) the last frame took.
+     *
+     * @return
+     */
+    public long getFrameNanos() {
+        return mFrameNanos;
+    }
+
+    /**
+     * Returns the number of entries that have been fed into buffers during
+     * the last frame (0 if all geometry was retained).
+     *
+     * @return
+     */
+    public int getEntriesFed() {
+        return mEntriesFed;
+    }
+
+    /**
+     * Returns the number of entries that have not been drawn during the last
+     * frame because they were out of view.
+     *
+     * @return
+     */
+    public int getEntriesCulled() {
+        return mEntriesCulled;
+    }
+
+    /**
+     * Returns the number of draw calls on the canvases of the chart during
+     * the last frame. Only the cached layers and the bitmaps of the renderers
+     * count draw calls, the canvas of the View does not.
+     *
+     * @return
+     */
+    public int getDrawCalls() {
+        return mDrawCalls;
+    }
+
+    /**
+     * Returns the number of frames recorded so far.
+     *
+     * @return
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) spent in the given stage that the
+     * given fraction of the frames in the rolling window did not exceed, e.g.
+     * getPercentile(STAGE_DATA, 0.95f) for the 95th percentile. Returns 0 if
+     * no frame has been recorded yet.
+     *
+     * @param stage one of the STAGE_ constants
+     * @param percentile between 0 and 1
+     * @return
+     */
+    public long getPercentile(int stage, float percentile) {
+        return percentile(mHistory[stage], percentile);
+    }
+
+    /**
+     * Returns the frame time (in nanoseconds) that the given fraction of the
+     * frames in the rolling window did not exceed.
+     *
+     * @param percentile between 0 and 1
+     * @return
+     */
+    public long getFramePercentile(float percentile) {
+        return percentile(mHistory[STAGE_COUNT], percentile);
+    }
+
+    private long percentile(long[] history, float percentile) {
+
+        int count = Math.min(mFrameCount, history.length);
+
+        if (count == 0)
+            return 0L;
+
+        System.arraycopy(history, 0, mSorted, 0, count);
+        Arrays.sort(mSorted, 0, count);
+
+        int index = (int) Math.ceil(percentile * count) - 1;
+
+        return mSorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    /**
+     * Returns the name of the given stage, e.g. "data".
+     *
+     * @param stage
+     * @return
+     */
+    public static String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    /**
+     * Forgets all recorded frames.
+     */
+    public void reset() {
+
+        for (long[] row : mHistory)
+            Arrays.fill(row, 0L);
+
+        mFrameCount = 0;
+    }
+}
@@ -0,0 +1,313 @@
+
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
+
+import java.util.Arrays;
+
+/**
+ * Index for finding the DataSet closest to a touch point without iterating
+ * over all DataSets. For an x-index it holds the y-values of all DataSets
+ * (the value DataSet.getYValForXIndex(...) returns) sorted per axis, so that
+ * the closest DataSet is found with a binary search. The x-indices (columns)
+ * are only indexed when they are touched, the most recently touched ones are
+ * kept, so dragging over the chart does not sort the same column again. The
+ * index is kept in value-space, it stays valid while the chart is panned or
+ * zoomed and is discarded after the data changed (invalidate()). Queries do
+ * not allocate once the columns have been created.
+ */
+public class HitTestIndex {
+
+    /** the number of columns kept, a power of two */
+    private static final int COLUMN_COUNT = 64;
+
+    /** the data the index has been built for, null if invalid */
+    private ChartData<?> mData;
+
+    /** number of x-values and DataSets of the data the index is built for */
+    private int mXValCount;
+    private int mDataSetCount;
+
+    /** the x-index every column holds, -1 if empty */
+    private int[] mColumnXIndices = new int[COLUMN_COUNT];
+
+    /** the y-values of every column, sorted per axis */
+    private float[][] mColumnValues = new float[COLUMN_COUNT][];
+
+    /** the index of the DataSet of every value of every column */
+    private int[][] mColumnDataSetIndices = new int[COLUMN_COUNT][];
+
+    /**
+     * position right after the last value of the left axis of every column,
+     * the values of the right axis follow
+     */
+    private int[] mLeftEnds = new int[COLUMN_COUNT];
+
+    /** the number of values of every column */
+    private int[] mEnds = new int[COLUMN_COUNT];
+
+    /** the values of the column of the current query */
+    private float[] mValues;
+
+    /** the DataSet indices of the column of the current query */
+    private int[] mDataSetIndices;
+
+    /** sort keys, one per DataSet */
+    private long[] mKeys = new long[0];
+
+    /** buffer for transforming values */
+    private float[] mPoint = new float[2];
+
+    /**
+     * Discards the index, it is rebuilt by the next query. Call this after the
+     * data changed.
+     */
+    public void invalidate() {
+        mData = null;
+        mValues = null;
+        mDataSetIndices = null;
+    }
+
+    /**
+     * Makes sure the index belongs to the given data, discards all columns if
+     * not. The number of x-values and DataSets are checked as well, in case
+     * the data has been modified without invalidating the index.
+     *
+     * @param data
+     */
+    private void prepare(ChartData<?> data) {
+
+        int xCount = data.getXValCount();
+        int setCount = data.getDataSetCount();
+
+        if (data == mData && xCount == mXValCount && setCount == mDataSetCount)
+            return;
+
+        Arrays.fill(mColumnXIndices, -1);
+
+        if (mKeys.length < setCount)
+            mKeys = new long[setCount];
+
+        mData = data;
+        mXValCount = xCount;
+        mDataSetCount = setCount;
+    }
+
+    /**
+     * Returns the column holding the given x-index, indexes it if it is not
+     * kept.
+     *
+     * @param data
+     * @param xIndex
+     * @return
+     */
+    private int getColumn(ChartData<?> data, int xIndex) {
+
+        int column = xIndex & (COLUMN_COUNT - 1);
+
+        if (mColumnXIndices[column] == xIndex)
+            return column;
+
+        if (mColumnValues[column] == null || mColumnValues[column].length < mDataSetCount) {
+            mColumnValues[column] = new float[mDataSetCount];
+            mColumnDataSetIndices[column] = new int[mDataSetCount];
+        }
+
+        mValues = mColumnValues[column];
+        mDataSetIndices = mColumnDataSetIndices[column];
+
+        int pos = addSorted(data, xIndex, AxisDependency.LEFT, 0);
+        mLeftEnds[column] = pos;
+        mEnds[column] = addSorted(data, xIndex, AxisDependency.RIGHT, pos);
+
+        mColumnXIndices[column] = xIndex;
+
+        return column;
+    }
+
+    /**
+     * Adds the y-values of all DataSets of the given axis at the given x-index
+     * sorted by value (and DataSet index for equal values) at the given
+     * position. Returns the position after the last value added.
+     *
+     * @param data
+     * @param xIndex
+     * @param axis
+     * @param pos
+     * @return
+     */
+    private int addSorted(ChartData<?> data, int xIndex, AxisDependency axis, int pos) {
+
+        int count = 0;
+
+        for (int i = 0; i < data.getDataSetCount(); i++) {
+
+            DataSet<?> set = data.getDataSetByIndex(i);
+
+            if (set.getAxisDependency() != axis)
+                continue;
+
+            float val = set.getYValForXIndex(xIndex);
+
+            if (Float.isNaN(val))
+                continue;
+
+            // bits of the value that sort like the value as a signed int
+            int bits = Float.floatToIntBits(val);
+            bits ^= (bits >> 31) & 0x7fffffff;
+
+            mKeys[count++] = ((long) bits << 32) | i;
+        }
+
+        Arrays.sort(mKeys, 0, count);
+
+        for (int i = 0; i < count; i++) {
+
+            int bits = (int) (mKeys[i] >> 32);
+            bits ^= (bits >> 31) & 0x7fffffff;
+
+            mValues[pos] = Float.intBitsToFloat(bits);
+            mDataSetIndices[pos] = (int) mKeys[i];
+            pos++;
+        }
+
+        return pos;
+    }
+
+    /**
+     * Returns the index of the DataSet whose value at the given x-index is
+     * closest to the given y-position (in pixels), -1 if no DataSet has a
+     * value at the x-index. Equals the result of
+     * Utils.getClosestDataSetIndex(...) on getYValsAtIndex(...) of the chart.
+     *
+     * @param data
+     * @param xIndex
+     * @param y the touch position in pixels
+     * @param left transformer of the left axis
+     * @param right transformer of the right axis
+     * @return
+     */
+    public int getClosestDataSetIndex(ChartData<?> data, int xIndex, float y, Transformer left,
+            Transformer right) {
+
+        prepare(data);
+
+        if (xIndex < 0 || xIndex >= data.getXValCount())
+            return -1;
+
+        int column = getColumn(data, xIndex);
+
+        mValues = mColumnValues[column];
+        mDataSetIndices = mColumnDataSetIndices[column];
+
+        int from = 0;
+        int leftEnd = mLeftEnds[column];
+        int to = mEnds[column];
+
+        int leftIndex = getClosest(from, leftEnd, y, left);
+        int rightIndex = getClosest(leftEnd, to, y, right);
+
+        if (leftIndex < 0 && rightIndex < 0)
+            return -1;
+
+        if (rightIndex < 0)
+            return mDataSetIndices[leftIndex];
+
+        if (leftIndex < 0)
+            return mDataSetIndices[rightIndex];
+
+        // on equal distance the right axis wins, like in getHighlightByTouchPoint(...)
+        return distance(leftIndex, y, left) < distance(rightIndex, y, right)
+                ? mDataSetIndices[leftIndex]
+                : mDataSetIndices[rightIndex];
+    }
+
+    /**
+     * Returns the position (in mValues) of the value in the sorted range
+     * [from, to) that is closest to the given y-position (in pixels), -1 if
+     * the range is empty.
+     *
+     * @param from
+     * @param to
+     * @param y
+     * @param trans
+     * @return
+     */
+    private int getClosest(int from, int to, float y, Transformer trans) {
+
+        if (from >= to)
+            return -1;
+
+        float[] pt = mPoint;
+        pt[0] = 0f;
+        pt[1] = y;
+        trans.pixelsToValue(pt);
+
+        // first value that is not smaller than the touched value
+        int above = lowerBound(from, to, pt[1]);
+
+        if (above == to)
+            return lowerBound(from, to, mValues[to - 1]);
+
+        if (above == from)
+            return above;
+
+        int below = lowerBound(from, to, mValues[above - 1]);
+
+        float distBelow = distance(below, y, trans);
+        float distAbove = distance(above, y, trans);
+
+        if (distBelow < distAbove)
+            return below;
+        if (distAbove < distBelow)
+            return above;
+
+        // equal distance, the lower DataSet index wins
+        return mDataSetIndices[below] < mDataSetIndices[above] ? below : above;
+    }
+
+    /**
+     * Returns the position of the first value in the sorted range [from, to)
+     * that is not smaller than the given value.
+     *
+     * @param from
+     * @param to
+     * @param val
+     * @return
+     */
+    private int lowerBound(int from, int to, float val) {
+
+        while (from < to) {
+
+            int m = (from + to) >>> 1;
+
+            if (mValues[m] < val)
+                from = m + 1;
+            else
+                to = m;
+        }
+
+        return from;
+    }
+
+    /**
+     * Returns the distance (in pixels) between the value at the given position
+     * and the given y-position.
+     *
+     * @param pos
+     * @param y
+     * @param trans
+     * @return
+     */
+    private float distance(int pos, float y, Transformer trans) {
+
+        float[] pt = mPoint;
+        pt[0] = 0f;
+        pt[1] = mValues[pos];
+        trans.pointValuesToPixel(pt);
+
+        return Math.abs(pt[1] - y);
+    }
+}
@@ -1,14 +1,16 @@
 
 package com.github.mikephil.charting.utils;
 
-import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 
 /**
  * Predefined value-formatter that formats large numbers in a pretty way.
  * Outputs: 856 = 856; 1000 = 1k; 5821 = 5.8k; 10500 = 10k; 101800 = 102k;
  * 2000000 = 2m; 7800000 = 7.8m; 92150000 = 92m; 123200000 = 123m; 9999999 =
  * 10m; 1000000000 = 1b; Special thanks to Roman Gromov
- * (https://github.com/romangromov) for this piece of code.
+ * (https://github.com/romangromov) for this piece of code. The number is
+ * rounded to three significant digits and written into a reused char-buffer,
+ * the only allocation is the returned String.
  * 
  * @author Philipp Jahoda
  */
@@ -20,11 +22,23 @@ public class LargeValueFormatter implements ValueFormatter {
 
     private static int MAX_LENGTH = 4;
 
-    private DecimalFormat mFormat;
+    /** 1000 to the power of the index of the suffix */
+    private static final double[] SUFFIX_SCALE = new double[] {
+            1d, 1e3d, 1e6d, 1e9d, 1e12d
+    };
 
-    public LargeValueFormatter() {
+    private static final int[] POW_10 = new int[] {
+            1, 10, 100
+    };
+
+    /** decimal separator of the default locale */
+    private char mDecimalSeparator;
+
+    /** buffer the value is formatted into */
+    private char[] mBuffer = new char[40];
 
-        mFormat = new DecimalFormat("###E0");
+    public LargeValueFormatter() {
+        mDecimalSeparator = new DecimalFormatSymbols().getDecimalSeparator();
     }
 
     @Override
@@ -38,14 +52,66 @@ public class LargeValueFormatter implements ValueFormatter {
      */
     private String makePretty(double number) {
 
-        String r = mFormat.format(number);
+        double abs = Math.abs(number);
+
+        if (Double.isNaN(abs) || Double.isInfinite(abs))
+            return String.valueOf(number);
+
+        int suffix = 0;
+        int decimals = 0;
+        long unscaled = 0;
+
+        while (true) {
+
+            double mantissa = abs / SUFFIX_SCALE[suffix];
 
-        r = r.replaceAll("E[0-9]", SUFFIX[Character.getNumericValue(r.charAt(r.length() - 1)) / 3]);
+            if (mantissa >= 1000d && suffix < SUFFIX.length - 1) {
+                suffix++;
+                continue;
+            }
 
-        while (r.length() > MAX_LENGTH || r.matches("[0-9]+\\.[a-z]")) {
-            r = r.substring(0, r.length() - 2) + r.substring(r.length() - 1);
+            // three significant digits
+            decimals = mantissa >= 100d ? 0 : mantissa >= 10d ? 1 : 2;
+            unscaled = Math.round(mantissa * POW_10[decimals]);
+
+            // rounding up can add a digit, e.g. 9.996 -> 10.0
+            if (unscaled >= 1000 && decimals > 0) {
+                decimals--;
+                unscaled = Math.round(mantissa * POW_10[decimals]);
+            }
+
+            // e.g. 999.6 -> 1k
+            if (unscaled >= 1000 && suffix < SUFFIX.length - 1) {
+                suffix++;
+                continue;
+            }
+
+            break;
+        }
+
+        // cut decimals that exceed the maximum length, drop trailing zeros
+        int integerDigits = 3 - decimals;
+
+        for (long l = unscaled / 1000; l != 0; l /= 10)
+            integerDigits++;
+        int length = integerDigits + SUFFIX[suffix].length() + (decimals > 0 ? decimals + 1 : 0);
+
+        while (decimals > 0 && (length > MAX_LENGTH || unscaled % 10 == 0)) {
+            unscaled /= 10;
+            length -= decimals == 1 ? 2 : 1;
+            decimals--;
         }
 
-        return r;
+        char[] buffer = mBuffer;
+        String s = SUFFIX[suffix];
+        int end = buffer.length - s.length();
+
+        s.getChars(0, s.length(), buffer, end);
+
+        // no "-0"
+        int start = Utils.formatDigits(unscaled, number < 0 && unscaled != 0, decimals,
+                mDecimalSeparator, (char) 0, buffer, end);
+
+        return String.valueOf(buffer, start, buffer.length - start);
     }
 }
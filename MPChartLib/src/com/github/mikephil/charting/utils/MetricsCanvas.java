@@ -0,0 +1,130 @@
+
+package com.github.mikephil.charting.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Canvas drawing into a bitmap that counts its draw calls for the FrameMetrics
+ * of a chart. Draw calls that are forwarded internally from one draw method
+ * to another are counted once. Without FrameMetrics it behaves like a normal
+ * Canvas.
+ */
+public class MetricsCanvas extends Canvas {
+
+    /** the metrics the draw calls are counted for, null if disabled */
+    private FrameMetrics mMetrics;
+
+    /** depth of nested draw calls */
+    private int mDepth = 0;
+
+    public MetricsCanvas(Bitmap bitmap) {
+        super(bitmap);
+    }
+
+    /**
+     * Sets the metrics the draw calls are counted for, null to disable
+     * counting.
+     *
+     * @param metrics
+     */
+    public void setFrameMetrics(FrameMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Counts the draw call if it is not forwarded from another draw call.
+     */
+    private void enter() {
+
+        if (mDepth == 0 && mMetrics != null)
+            mMetrics.addDrawCall();
+
+        mDepth++;
+    }
+
+    private void exit() {
+        mDepth--;
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter,
+            Paint paint) {
+        enter();
+        super.drawArc(oval, startAngle, sweepAngle, useCenter, paint);
+        exit();
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        enter();
+        super.drawBitmap(bitmap, left, top, paint);
+        exit();
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        enter();
+        super.drawCircle(cx, cy, radius, paint);
+        exit();
+    }
+
+    @Override
+    public void drawColor(int color) {
+        enter();
+        super.drawColor(color);
+        exit();
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        enter();
+        super.drawLine(startX, startY, stopX, stopY, paint);
+        exit();
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        enter();
+        super.drawLines(pts, offset, count, paint);
+        exit();
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        enter();
+        super.drawLines(pts, paint);
+        exit();
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        enter();
+        super.drawPath(path, paint);
+        exit();
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        enter();
+        super.drawRect(rect, paint);
+        exit();
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        enter();
+        super.drawRect(left, top, right, bottom, paint);
+        exit();
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        enter();
+        super.drawText(text, x, y, paint);
+        exit();
+    }
+}
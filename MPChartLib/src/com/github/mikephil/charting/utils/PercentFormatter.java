@@ -2,10 +2,13 @@
 package com.github.mikephil.charting.utils;
 
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 
 /**
  * This ValueFormatter is just for convenience and simply puts a "%" sign after
- * each value. (Recommeded for PieChart)
+ * each value. (Recommeded for PieChart) The value is formatted with one
+ * decimal into a reused char-buffer, the only allocation is the returned
+ * String.
  * 
  * @author Philipp Jahoda
  */
@@ -13,12 +16,37 @@ public class PercentFormatter implements ValueFormatter {
 
     protected DecimalFormat mFormat;
 
+    /** separators of the default locale */
+    private char mDecimalSeparator;
+    private char mGroupingSeparator;
+
+    /** buffer the value is formatted into */
+    private char[] mBuffer = new char[42];
+
     public PercentFormatter() {
         mFormat = new DecimalFormat("###,###,##0.0");
+
+        DecimalFormatSymbols symbols = mFormat.getDecimalFormatSymbols();
+
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mGroupingSeparator = symbols.getGroupingSeparator();
     }
 
     @Override
     public String getFormattedValue(float value) {
-        return mFormat.format(value) + " %";
+
+        char[] buffer = mBuffer;
+        int end = buffer.length - 2;
+
+        buffer[end] = ' ';
+        buffer[end + 1] = '%';
+
+        int start = Utils.formatNumber(value, 1, mDecimalSeparator, mGroupingSeparator,
+                buffer, end);
+
+        if (start < 0)
+            return mFormat.format(value) + " %";
+
+        return String.valueOf(buffer, start, buffer.length - start);
     }
 }
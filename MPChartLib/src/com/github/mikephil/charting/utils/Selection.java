@@ -0,0 +1,140 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * The entries selected by a range selection (rectangle or lasso), stored as
+ * the positions of the entries in their DataSet (see
+ * DataSet.getEntryForIndex(...)) per DataSet. Holds any number of selected
+ * entries without creating an object per entry, the arrays are reused by the
+ * next selection.
+ */
+public class Selection {
+
+    /** the positions of the selected entries of every DataSet */
+    private int[][] mPositions = new int[0][];
+
+    /** the number of selected entries of every DataSet */
+    private int[] mCounts = new int[0];
+
+    /** the number of DataSets of the selection */
+    private int mDataSetCount = 0;
+
+    /**
+     * Removes all entries from the selection and prepares it for the given
+     * number of DataSets.
+     *
+     * @param dataSetCount
+     */
+    public void clear(int dataSetCount) {
+
+        if (mPositions.length < dataSetCount) {
+
+            int[][] positions = new int[dataSetCount][];
+            System.arraycopy(mPositions, 0, positions, 0, mPositions.length);
+
+            mPositions = positions;
+            mCounts = new int[dataSetCount];
+        }
+
+        for (int i = 0; i < mCounts.length; i++)
+            mCounts[i] = 0;
+
+        mDataSetCount = dataSetCount;
+    }
+
+    /**
+     * Adds the entry at the given position of the DataSet with the given
+     * index to the selection.
+     *
+     * @param dataSetIndex
+     * @param position
+     */
+    public void add(int dataSetIndex, int position) {
+
+        int[] positions = mPositions[dataSetIndex];
+        int count = mCounts[dataSetIndex];
+
+        if (positions == null || count == positions.length) {
+
+            int[] grown = new int[Math.max(16, count * 2)];
+
+            if (positions != null)
+                System.arraycopy(positions, 0, grown, 0, count);
+
+            positions = grown;
+            mPositions[dataSetIndex] = grown;
+        }
+
+        positions[count] = position;
+        mCounts[dataSetIndex] = count + 1;
+    }
+
+    /**
+     * Returns the number of DataSets of the selection (including DataSets
+     * without selected entries).
+     *
+     * @return
+     */
+    public int getDataSetCount() {
+        return mDataSetCount;
+    }
+
+    /**
+     * Returns the number of selected entries of the DataSet with the given
+     * index.
+     *
+     * @param dataSetIndex
+     * @return
+     */
+    public int getCount(int dataSetIndex) {
+        return mCounts[dataSetIndex];
+    }
+
+    /**
+     * Returns the position (in the DataSet) of the i-th selected entry of the
+     * DataSet with the given index. The positions are not sorted.
+     *
+     * @param dataSetIndex
+     * @param i
+     * @return
+     */
+    public int getPosition(int dataSetIndex, int i) {
+        return mPositions[dataSetIndex][i];
+    }
+
+    /**
+     * Returns the array holding the positions of the selected entries of the
+     * DataSet with the given index, only the first getCount(...) are valid.
+     * Do not modify it.
+     *
+     * @param dataSetIndex
+     * @return
+     */
+    public int[] getPositions(int dataSetIndex) {
+        return mPositions[dataSetIndex];
+    }
+
+    /**
+     * Returns the number of selected entries of all DataSets.
+     *
+     * @return
+     */
+    public int getTotalCount() {
+
+        int total = 0;
+
+        for (int i = 0; i < mDataSetCount; i++)
+            total += mCounts[i];
+
+        return total;
+    }
+
+    /**
+     * Returns true if no entry is selected.
+     *
+     * @return
+     */
+    public boolean isEmpty() {
+        return getTotalCount() == 0;
+    }
+}
@@ -0,0 +1,350 @@
+
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
+
+/**
+ * Two-dimensional index (one k-d tree per DataSet) over the entries of a
+ * chart in value-space (x-index, value). Finds all entries inside a rectangle
+ * or a polygon without looking at the entries far away from it. The trees are
+ * stored in flat arrays, queries do not allocate. The index stays valid while
+ * the chart is panned or zoomed and is only rebuilt after the data changed
+ * (invalidate()), the trees of DataSets that have been modified (see
+ * DataSet.getModificationCount()) are rebuilt by the next query as well.
+ */
+public class SpatialIndex {
+
+    /** the data the index has been built for, null if invalid */
+    private ChartData<?> mData;
+
+    /** x-indices of the entries of every DataSet, in tree order */
+    private float[][] mX = new float[0][];
+
+    /** values of the entries of every DataSet, in tree order */
+    private float[][] mY = new float[0][];
+
+    /** positions of the entries in their DataSet, in tree order */
+    private int[][] mPositions = new int[0][];
+
+    /** the number of entries in the tree of every DataSet */
+    private int[] mSizes = new int[0];
+
+    /** the DataSets the trees have been built for */
+    private DataSet<?>[] mDataSets = new DataSet<?>[0];
+
+    /** the modification count of every DataSet when its tree was built */
+    private int[] mModificationCounts = new int[0];
+
+    /** the number of DataSets of the data the index is built for */
+    private int mDataSetCount = 0;
+
+    /** the polygon of the current query, null for rectangles */
+    private float[] mPolygon;
+    private int mPolygonOffset;
+    private int mPolygonCount;
+
+    /** the rectangle of the current query */
+    private float mLeft, mTop, mRight, mBottom;
+
+    /**
+     * Discards the index, it is rebuilt by the next query. Call this after the
+     * data changed.
+     */
+    public void invalidate() {
+        mData = null;
+    }
+
+    /**
+     * Makes sure the index is built for the given data.
+     *
+     * @param data
+     */
+    private void prepare(ChartData<?> data) {
+
+        int setCount = data.getDataSetCount();
+
+        if (data != mData || setCount != mDataSetCount) {
+
+            if (mX.length < setCount) {
+                mX = copyOf(mX, setCount);
+                mY = copyOf(mY, setCount);
+                mPositions = copyOf(mPositions, setCount);
+                mSizes = new int[setCount];
+                mDataSets = new DataSet<?>[setCount];
+                mModificationCounts = new int[setCount];
+            }
+
+            for (int i = 0; i < setCount; i++)
+                mDataSets[i] = null;
+
+            mData = data;
+            mDataSetCount = setCount;
+        }
+
+        for (int i = 0; i < setCount; i++) {
+
+            DataSet<?> set = data.getDataSetByIndex(i);
+
+            if (set != mDataSets[i] || set.getModificationCount() != mModificationCounts[i])
+                build(i, set);
+        }
+    }
+
+    private static float[][] copyOf(float[][] a, int length) {
+        float[][] copy = new float[length][];
+        System.arraycopy(a, 0, copy, 0, a.length);
+        return copy;
+    }
+
+    private static int[][] copyOf(int[][] a, int length) {
+        int[][] copy = new int[length][];
+        System.arraycopy(a, 0, copy, 0, a.length);
+        return copy;
+    }
+
+    /**
+     * Builds the tree of the given DataSet.
+     *
+     * @param index
+     * @param set
+     */
+    private void build(int index, DataSet<?> set) {
+
+        int count = set.getEntryCount();
+
+        if (mX[index] == null || mX[index].length < count) {
+            mX[index] = new float[count];
+            mY[index] = new float[count];
+            mPositions[index] = new int[count];
+        }
+
+        float[] xs = mX[index];
+        float[] ys = mY[index];
+        int[] pos = mPositions[index];
+
+        int size = 0;
+
+        for (int j = 0; j < count; j++) {
+
+            float val = set.getYValAt(j);
+
+            if (Float.isNaN(val))
+                continue;
+
+            xs[size] = set.getXIndexAt(j);
+            ys[size] = val;
+            pos[size] = j;
+            size++;
+        }
+
+        mSizes[index] = size;
+        mDataSets[index] = set;
+        mModificationCounts[index] = set.getModificationCount();
+
+        build(xs, ys, pos, 0, size, true);
+    }
+
+    /**
+     * Arranges the points [from, to) as a k-d tree: the median (by x or y,
+     * alternating) is in the middle of the range, smaller points before it,
+     * larger after it.
+     */
+    private static void build(float[] xs, float[] ys, int[] pos, int from, int to,
+            boolean byX) {
+
+        while (to - from > 1) {
+
+            int mid = (from + to) >>> 1;
+
+            select(byX ? xs : ys, xs, ys, pos, from, to - 1, mid);
+
+            build(xs, ys, pos, from, mid, !byX);
+
+            from = mid + 1;
+            byX = !byX;
+        }
+    }
+
+    /**
+     * Moves the k-th smallest key of [lo, hi] to position k (quickselect),
+     * keeping the parallel arrays in sync.
+     */
+    private static void select(float[] keys, float[] xs, float[] ys, int[] pos, int lo, int hi,
+            int k) {
+
+        while (hi > lo) {
+
+            float pivot = keys[(lo + hi) >>> 1];
+
+            int i = lo;
+            int j = hi;
+
+            while (i <= j) {
+
+                while (keys[i] < pivot)
+                    i++;
+                while (keys[j] > pivot)
+                    j--;
+
+                if (i <= j) {
+                    swap(xs, ys, pos, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (k <= j)
+                hi = j;
+            else if (k >= i)
+                lo = i;
+            else
+                return;
+        }
+    }
+
+    private static void swap(float[] xs, float[] ys, int[] pos, int i, int j) {
+
+        float f = xs[i];
+        xs[i] = xs[j];
+        xs[j] = f;
+
+        f = ys[i];
+        ys[i] = ys[j];
+        ys[j] = f;
+
+        int p = pos[i];
+        pos[i] = pos[j];
+        pos[j] = p;
+    }
+
+    /**
+     * Adds the positions of all entries of the DataSet with the given index
+     * that are inside the given rectangle (in value-space, bounds included)
+     * to the given Selection.
+     *
+     * @param data
+     * @param dataSetIndex
+     * @param left the smallest x-index
+     * @param bottom the smallest value
+     * @param right the largest x-index
+     * @param top the largest value
+     * @param out
+     */
+    public void queryRect(ChartData<?> data, int dataSetIndex, float left, float bottom,
+            float right, float top, Selection out) {
+
+        prepare(data);
+
+        mPolygon = null;
+        query(dataSetIndex, left, bottom, right, top, out);
+    }
+
+    /**
+     * Adds the positions of all entries of the DataSet with the given index
+     * that are inside the given polygon (in value-space, pairs of x-index and
+     * value, even-odd rule) to the given Selection.
+     *
+     * @param data
+     * @param dataSetIndex
+     * @param polygon
+     * @param offset the index of the first float of the polygon
+     * @param count the number of floats of the polygon (two per vertex)
+     * @param out
+     */
+    public void queryPolygon(ChartData<?> data, int dataSetIndex, float[] polygon, int offset,
+            int count, Selection out) {
+
+        prepare(data);
+
+        if (count < 6)
+            return;
+
+        float left = Float.MAX_VALUE, right = -Float.MAX_VALUE;
+        float bottom = Float.MAX_VALUE, top = -Float.MAX_VALUE;
+
+        for (int i = offset; i < offset + count; i += 2) {
+            left = Math.min(left, polygon[i]);
+            right = Math.max(right, polygon[i]);
+            bottom = Math.min(bottom, polygon[i + 1]);
+            top = Math.max(top, polygon[i + 1]);
+        }
+
+        mPolygon = polygon;
+        mPolygonOffset = offset;
+        mPolygonCount = count;
+        query(dataSetIndex, left, bottom, right, top, out);
+        mPolygon = null;
+    }
+
+    private void query(int dataSetIndex, float left, float bottom, float right, float top,
+            Selection out) {
+
+        mLeft = left;
+        mRight = right;
+        mBottom = bottom;
+        mTop = top;
+
+        query(dataSetIndex, mX[dataSetIndex], mY[dataSetIndex], mPositions[dataSetIndex], 0,
+                mSizes[dataSetIndex], true, out);
+    }
+
+    /**
+     * Visits the subtree [from, to), skipping the halves that cannot
+     * intersect the query rectangle.
+     */
+    private void query(int dataSetIndex, float[] xs, float[] ys, int[] pos, int from, int to,
+            boolean byX, Selection out) {
+
+        while (from < to) {
+
+            int mid = (from + to) >>> 1;
+
+            float x = xs[mid];
+            float y = ys[mid];
+
+            if (x >= mLeft && x <= mRight && y >= mBottom && y <= mTop
+                    && (mPolygon == null || contains(x, y)))
+                out.add(dataSetIndex, pos[mid]);
+
+            float key = byX ? x : y;
+            boolean visitLower = key >= (byX ? mLeft : mBottom);
+            boolean visitUpper = key <= (byX ? mRight : mTop);
+
+            if (visitLower && visitUpper)
+                query(dataSetIndex, xs, ys, pos, from, mid, !byX, out);
+
+            if (visitUpper) {
+                from = mid + 1;
+            } else if (visitLower) {
+                to = mid;
+            } else {
+                return;
+            }
+
+            byX = !byX;
+        }
+    }
+
+    /**
+     * Returns true if the given point is inside the polygon of the current
+     * query (even-odd rule).
+     */
+    private boolean contains(float x, float y) {
+
+        float[] p = mPolygon;
+        int end = mPolygonOffset + mPolygonCount;
+        boolean inside = false;
+
+        for (int i = mPolygonOffset, j = end - 2; i < end; j = i, i += 2) {
+
+            float xi = p[i], yi = p[i + 1];
+            float xj = p[j], yj = p[j + 1];
+
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi)
+                inside = !inside;
+        }
+
+        return inside;
+    }
+}
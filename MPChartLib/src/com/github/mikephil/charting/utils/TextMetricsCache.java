@@ -0,0 +1,259 @@
+
+package com.github.mikephil.charting.utils;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache for the width and height of texts, keyed by the typeface,
+ * text size, text scale, paint flags and the text itself. Labels, legend
+ * entries and value texts are mostly the same from frame to frame, once they
+ * have been measured a lookup is all it takes. Used by
+ * Utils.calcTextWidth(...) and Utils.calcTextHeight(...).
+ */
+public class TextMetricsCache {
+
+    /** the maximum number of texts that are kept */
+    private int mMaxSize;
+
+    /** the cached metrics, in access order */
+    private LinkedHashMap<Key, Metrics> mCache;
+
+    /** key that is reused for lookups, copied only when a text is added */
+    private Key mLookup = new Key();
+
+    /** rect for measuring the bounds of texts */
+    private Rect mBounds = new Rect();
+
+    /** the number of lookups that were answered from the cache */
+    private long mHits = 0;
+
+    /** the number of lookups that needed measuring */
+    private long mMisses = 0;
+
+    /**
+     * Creates a cache that keeps the metrics of the given number of texts.
+     *
+     * @param maxSize
+     */
+    public TextMetricsCache(int maxSize) {
+
+        mMaxSize = Math.max(1, maxSize);
+
+        mCache = new LinkedHashMap<Key, Metrics>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Metrics> eldest) {
+                return size() > mMaxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the width of the given text drawn with the given paint (the
+     * same as paint.measureText(text)).
+     *
+     * @param paint
+     * @param text
+     * @return
+     */
+    public synchronized float getWidth(Paint paint, String text) {
+
+        Metrics m = get(paint, text);
+
+        if (Float.isNaN(m.width))
+            m.width = paint.measureText(text);
+
+        return m.width;
+    }
+
+    /**
+     * Returns the height of the bounds of the given text drawn with the given
+     * paint.
+     *
+     * @param paint
+     * @param text
+     * @return
+     */
+    public synchronized int getHeight(Paint paint, String text) {
+
+        Metrics m = get(paint, text);
+
+        if (m.height < 0) {
+            paint.getTextBounds(text, 0, text.length(), mBounds);
+            m.height = mBounds.height();
+        }
+
+        return m.height;
+    }
+
+    /**
+     * Returns the (possibly not yet measured) metrics for the given text and
+     * paint, adds them if they are not in the cache.
+     *
+     * @param paint
+     * @param text
+     * @return
+     */
+    private Metrics get(Paint paint, String text) {
+
+        mLookup.set(paint, text);
+
+        Metrics m = mCache.get(mLookup);
+
+        if (m != null) {
+            mHits++;
+            return m;
+        }
+
+        mMisses++;
+
+        m = new Metrics();
+        mCache.put(mLookup.copy(), m);
+
+        return m;
+    }
+
+    /**
+     * Sets the maximum number of texts the cache keeps, the least recently
+     * used texts are dropped if the cache contains more.
+     *
+     * @param maxSize
+     */
+    public synchronized void setMaxSize(int maxSize) {
+
+        mMaxSize = Math.max(1, maxSize);
+
+        // removeEldestEntry(...) only drops one entry per insertion
+        while (mCache.size() > mMaxSize) {
+            Key eldest = mCache.keySet().iterator().next();
+            mCache.remove(eldest);
+        }
+    }
+
+    /**
+     * Returns the maximum number of texts the cache keeps.
+     *
+     * @return
+     */
+    public synchronized int getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * Returns the number of texts currently in the cache.
+     *
+     * @return
+     */
+    public synchronized int getSize() {
+        return mCache.size();
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache.
+     *
+     * @return
+     */
+    public synchronized long getHitCount() {
+        return mHits;
+    }
+
+    /**
+     * Returns the number of lookups that needed measuring.
+     *
+     * @return
+     */
+    public synchronized long getMissCount() {
+        return mMisses;
+    }
+
+    /**
+     * Returns the share of lookups that were answered from the cache, between
+     * 0 and 1.
+     *
+     * @return
+     */
+    public synchronized float getHitRate() {
+
+        long total = mHits + mMisses;
+
+        return total == 0 ? 0f : (float) mHits / (float) total;
+    }
+
+    /**
+     * Removes all texts from the cache and resets the hit and miss counters.
+     */
+    public synchronized void clear() {
+        mCache.clear();
+        mHits = 0;
+        mMisses = 0;
+    }
+
+    /**
+     * Everything about a paint and a text that affects its metrics.
+     */
+    private static final class Key {
+
+        private Typeface typeface;
+        private float textSize;
+        private float textScaleX;
+        private int flags;
+        private String text;
+
+        private void set(Paint paint, String text) {
+            this.typeface = paint.getTypeface();
+            this.textSize = paint.getTextSize();
+            this.textScaleX = paint.getTextScaleX();
+            this.flags = paint.getFlags();
+            this.text = text;
+        }
+
+        private Key copy() {
+            Key k = new Key();
+            k.typeface = typeface;
+            k.textSize = textSize;
+            k.textScaleX = textScaleX;
+            k.flags = flags;
+            k.text = text;
+            return k;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (!(o instanceof Key))
+                return false;
+
+            Key k = (Key) o;
+
+            return typeface == k.typeface && textSize == k.textSize
+                    && textScaleX == k.textScaleX && flags == k.flags && text.equals(k.text);
+        }
+
+        @Override
+        public int hashCode() {
+
+            int h = text.hashCode();
+            h = 31 * h + Float.floatToIntBits(textSize);
+            h = 31 * h + Float.floatToIntBits(textScaleX);
+            h = 31 * h + flags;
+            h = 31 * h + (typeface == null ? 0 : typeface.hashCode());
+            return h;
+        }
+    }
+
+    /**
+     * The metrics of a text, measured lazily.
+     */
+    private static final class Metrics {
+
+        private float width = Float.NaN;
+        private int height = -1;
+    }
+}
@@ -7,6 +7,7 @@ import android.graphics.RectF;
 
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.ColumnarEntryList;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -25,6 +26,36 @@ public class Transformer {
     /** matrix for handling the different offsets of the chart */
     protected Matrix mMatrixOffset = new Matrix();
 
+    /**
+     * value-to-pixel, touch and offset matrix concatenated, so that values are
+     * transformed in a single pass
+     */
+    protected Matrix mMatrixValueToPixel = new Matrix();
+
+    /** inverse of mMatrixValueToPixel, transforms pixels back into values */
+    protected Matrix mMatrixPixelToValue = new Matrix();
+
+    /**
+     * mMatrixValueToPixel with all y-values scaled by the animation phase, so
+     * that animated geometry does not have to be rebuilt for every phase
+     */
+    protected Matrix mMatrixValueToPixelPhased = new Matrix();
+
+    /** the y-phase mMatrixValueToPixelPhased has been calculated with */
+    private float mPhaseY = Float.NaN;
+
+    /** the touch matrix the concatenated matrices have been calculated with */
+    private Matrix mMatrixTouchCache = new Matrix();
+
+    /**
+     * true if the value-to-pixel or offset matrix changed, needs to be set by
+     * subclasses that modify these matrices
+     */
+    protected boolean mMatricesDirty = true;
+
+    /** reused for transforming single touch points */
+    private float[] mTouchPoint = new float[2];
+
     protected ViewPortHandler mViewPortHandler;
 
     public Transformer(ViewPortHandler viewPortHandler) {
@@ -46,6 +77,8 @@ public class Transformer {
         mMatrixValueToPx.reset();
         mMatrixValueToPx.postTranslate(-xChartMin, -yChartMin);
         mMatrixValueToPx.postScale(scaleX, -scaleY);
+
+        mMatricesDirty = true;
     }
 
     // /**
@@ -83,6 +116,8 @@ public class Transformer {
             mMatrixOffset.postScale(1.0f, -1.0f);
         }
 
+        mMatricesDirty = true;
+
         // mMatrixOffset.set(offset);
 
         // mMatrixOffset.reset();
@@ -103,13 +138,25 @@ public class Transformer {
 
         float[] valuePoints = new float[entries.size() * 2];
 
-        for (int j = 0; j < valuePoints.length; j += 2) {
+        if (entries instanceof ColumnarEntryList) {
 
-            Entry e = entries.get(j / 2);
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) entries;
 
-            if (e != null) {
-                valuePoints[j] = e.getXIndex();
-                valuePoints[j + 1] = e.getVal() * phaseY;
+            for (int j = 0; j < valuePoints.length; j += 2) {
+                valuePoints[j] = columns.getXIndex(j / 2);
+                valuePoints[j + 1] = columns.getVal(j / 2) * phaseY;
+            }
+
+        } else {
+
+            for (int j = 0; j < valuePoints.length; j += 2) {
+
+                Entry e = entries.get(j / 2);
+
+                if (e != null) {
+                    valuePoints[j] = e.getXIndex();
+                    valuePoints[j + 1] = e.getVal() * phaseY;
+                }
             }
         }
 
@@ -132,13 +179,25 @@ public class Transformer {
 
         float[] valuePoints = new float[count];
 
-        for (int j = 0; j < count; j += 2) {
+        if (entries instanceof ColumnarEntryList) {
 
-            Entry e = entries.get(j / 2 + from);
+            ColumnarEntryList<?> columns = (ColumnarEntryList<?>) entries;
 
-            if (e != null) {
-                valuePoints[j] = e.getXIndex();
-                valuePoints[j + 1] = e.getVal() * phaseY;
+            for (int j = 0; j < count; j += 2) {
+                valuePoints[j] = columns.getXIndex(j / 2 + from);
+                valuePoints[j + 1] = columns.getVal(j / 2 + from) * phaseY;
+            }
+
+        } else {
+
+            for (int j = 0; j < count; j += 2) {
+
+                Entry e = entries.get(j / 2 + from);
+
+                if (e != null) {
+                    valuePoints[j] = e.getXIndex();
+                    valuePoints[j + 1] = e.getVal() * phaseY;
+                }
             }
         }
 
@@ -192,14 +251,18 @@ public class Transformer {
         int setCount = bd.getDataSetCount();
         float space = bd.getGroupSpace();
 
+        ColumnarEntryList<?> columns = entries instanceof ColumnarEntryList
+                ? (ColumnarEntryList<?>) entries : null;
+
         for (int j = 0; j < valuePoints.length; j += 2) {
 
-            Entry e = entries.get(j / 2);
+            int xIndex = columns == null ? entries.get(j / 2).getXIndex() : columns
+                    .getXIndex(j / 2);
 
             // calculate the x-position, depending on datasetcount
-            float x = e.getXIndex() + (j / 2 * (setCount - 1)) + dataSet + space * (j / 2)
+            float x = xIndex + (j / 2 * (setCount - 1)) + dataSet + space * (j / 2)
                     + space / 2f;
-            float y = e.getVal();
+            float y = columns == null ? entries.get(j / 2).getVal() : columns.getVal(j / 2);
 
             valuePoints[j] = x;
             valuePoints[j + 1] = y * phaseY;
@@ -226,14 +289,18 @@ public class Transformer {
         int setCount = bd.getDataSetCount();
         float space = bd.getGroupSpace();
 
+        ColumnarEntryList<?> columns = entries instanceof ColumnarEntryList
+                ? (ColumnarEntryList<?>) entries : null;
+
         for (int j = 0; j < valuePoints.length; j += 2) {
 
-            Entry e = entries.get(j / 2);
+            int xIndex = columns == null ? entries.get(j / 2).getXIndex() : columns
+                    .getXIndex(j / 2);
 
             // calculate the x-position, depending on datasetcount
-            float x = e.getXIndex() + (j / 2 * (setCount - 1)) + dataSet + space * (j / 2)
-                    + space / 2f ;
-            float y = e.getVal();
+            float x = xIndex + (j / 2 * (setCount - 1)) + dataSet + space * (j / 2)
+                    + space / 2f;
+            float y = columns == null ? entries.get(j / 2).getVal() : columns.getVal(j / 2);
 
             valuePoints[j] = y * phaseY;
             valuePoints[j + 1] = x;
@@ -251,10 +318,31 @@ public class Transformer {
      * @param path
      */
     public void pathValueToPixel(Path path) {
+        path.transform(getValueToPixelMatrix());
+    }
+
+    /**
+     * Transforms a path with all matrices, the y-values are scaled by the
+     * given animation phase.
+     * 
+     * @param path
+     * @param phaseY
+     */
+    public void pathValueToPixel(Path path, float phaseY) {
+        path.transform(getValueToPixelMatrix(phaseY));
+    }
 
-        path.transform(mMatrixValueToPx);
-        path.transform(mViewPortHandler.getMatrixTouch());
-        path.transform(mMatrixOffset);
+    /**
+     * Transforms the given path into the given destination path, the source
+     * path is left untouched (e.g. a path that is retained in value-space).
+     * The y-values are scaled by the given animation phase.
+     * 
+     * @param path
+     * @param dst
+     * @param phaseY
+     */
+    public void pathValueToPixel(Path path, Path dst, float phaseY) {
+        path.transform(getValueToPixelMatrix(phaseY), dst);
     }
 
     /**
@@ -276,10 +364,50 @@ public class Transformer {
      * @param pts
      */
     public void pointValuesToPixel(float[] pts) {
+        getValueToPixelMatrix().mapPoints(pts);
+    }
+
+    /**
+     * Transforms only the given window of an array of points with all
+     * matrices, the rest of the array is left untouched. Use this for buffers
+     * that are only partially filled.
+     * 
+     * @param pts
+     * @param offset the index of the first float to transform
+     * @param count the number of floats to transform (two per point)
+     */
+    public void pointValuesToPixel(float[] pts, int offset, int count) {
 
-        mMatrixValueToPx.mapPoints(pts);
-        mViewPortHandler.getMatrixTouch().mapPoints(pts);
-        mMatrixOffset.mapPoints(pts);
+        getValueToPixelMatrix().mapPoints(pts, offset, pts, offset, count / 2);
+    }
+
+    /**
+     * Transforms only the given window of an array of points with all
+     * matrices, the y-values are scaled by the given animation phase. This
+     * way buffers can be fed without the phase and do not need to be rebuilt
+     * while the y-axis is animated.
+     * 
+     * @param pts
+     * @param offset the index of the first float to transform
+     * @param count the number of floats to transform (two per point)
+     * @param phaseY
+     */
+    public void pointValuesToPixel(float[] pts, int offset, int count, float phaseY) {
+        getValueToPixelMatrix(phaseY).mapPoints(pts, offset, pts, offset, count / 2);
+    }
+
+    /**
+     * Transforms the first count floats of the given values into the given
+     * pixel array, the values are left untouched (e.g. retained geometry of a
+     * buffer). The y-values are scaled by the given animation phase.
+     * 
+     * @param values
+     * @param pixels
+     * @param count the number of floats to transform (two per point)
+     * @param phaseY
+     */
+    public void pointValuesToPixel(float[] values, float[] pixels, int count, float phaseY) {
+        getValueToPixelMatrix(phaseY).mapPoints(pixels, 0, values, 0, count / 2);
     }
 
     /**
@@ -289,9 +417,7 @@ public class Transformer {
      */
     public void rectValueToPixel(RectF r) {
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -308,9 +434,7 @@ public class Transformer {
         else
             r.bottom *= phaseY;
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
     
     /**
@@ -327,9 +451,7 @@ public class Transformer {
         else
             r.right *= phaseY;
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -351,17 +473,26 @@ public class Transformer {
      */
     public void pixelsToValue(float[] pixels) {
 
-        Matrix tmp = new Matrix();
+        // update the inverse together with the concatenated matrix
+        getValueToPixelMatrix();
+
+        mMatrixPixelToValue.mapPoints(pixels);
+    }
 
-        // invert all matrixes to convert back to the original value
-        mMatrixOffset.invert(tmp);
-        tmp.mapPoints(pixels);
+    /**
+     * Transforms only the given window of an array of pixel points into
+     * values, the rest of the array is left untouched.
+     * 
+     * @param pixels
+     * @param offset the index of the first float to transform
+     * @param count the number of floats to transform (two per point)
+     */
+    public void pixelsToValue(float[] pixels, int offset, int count) {
 
-        mViewPortHandler.getMatrixTouch().invert(tmp);
-        tmp.mapPoints(pixels);
+        // update the inverse together with the concatenated matrix
+        getValueToPixelMatrix();
 
-        mMatrixValueToPx.invert(tmp);
-        tmp.mapPoints(pixels);
+        mMatrixPixelToValue.mapPoints(pixels, offset, pixels, offset, count / 2);
     }
 
     /**
@@ -376,17 +507,30 @@ public class Transformer {
      */
     public PointD getValuesByTouchPoint(float x, float y) {
 
-        // create an array of the touch-point
-        float[] pts = new float[2];
+        PointD result = new PointD(0, 0);
+        getValuesByTouchPoint(x, y, result);
+        return result;
+    }
+
+    /**
+     * Same as getValuesByTouchPoint(float x, float y), but writes the values
+     * into the given PointD instead of allocating a new one, for callers that
+     * run on every frame (e.g. the axis renderers).
+     * 
+     * @param x
+     * @param y
+     * @param outputPoint receives the values
+     */
+    public void getValuesByTouchPoint(float x, float y, PointD outputPoint) {
+
+        float[] pts = mTouchPoint;
         pts[0] = x;
         pts[1] = y;
 
         pixelsToValue(pts);
 
-        double xTouchVal = pts[0];
-        double yTouchVal = pts[1];
-
-        return new PointD(xTouchVal, yTouchVal);
+        outputPoint.x = pts[0];
+        outputPoint.y = pts[1];
     }
 
     // /**
@@ -411,11 +555,88 @@ public class Transformer {
     // }
     // }
 
+    /**
+     * Returns the concatenation of the value-to-pixel, touch and offset
+     * matrix. It is only recalculated (together with its inverse) if one of
+     * the matrices changed. Do not modify.
+     * 
+     * @return
+     */
+    public Matrix getValueToPixelMatrix() {
+
+        Matrix touch = mViewPortHandler.getMatrixTouch();
+
+        if (mMatricesDirty || !touch.equals(mMatrixTouchCache)) {
+
+            mMatrixTouchCache.set(touch);
+
+            mMatrixValueToPixel.set(mMatrixValueToPx);
+            mMatrixValueToPixel.postConcat(touch);
+            mMatrixValueToPixel.postConcat(mMatrixOffset);
+            mMatrixValueToPixel.invert(mMatrixPixelToValue);
+
+            mMatricesDirty = false;
+            mPhaseY = Float.NaN;
+        }
+
+        return mMatrixValueToPixel;
+    }
+
+    /**
+     * Returns the concatenated matrix (see getValueToPixelMatrix()) with all
+     * y-values scaled by the given animation phase beforehand. Do not modify.
+     * 
+     * @param phaseY
+     * @return
+     */
+    public Matrix getValueToPixelMatrix(float phaseY) {
+
+        Matrix matrix = getValueToPixelMatrix();
+
+        if (phaseY == 1f)
+            return matrix;
+
+        if (phaseY != mPhaseY) {
+
+            mMatrixValueToPixelPhased.set(matrix);
+            scaleByPhaseY(mMatrixValueToPixelPhased, phaseY);
+
+            mPhaseY = phaseY;
+        }
+
+        return mMatrixValueToPixelPhased;
+    }
+
+    /**
+     * Scales the values (before all other transformations) of the given
+     * matrix by the given animation phase.
+     * 
+     * @param matrix
+     * @param phaseY
+     */
+    protected void scaleByPhaseY(Matrix matrix, float phaseY) {
+        matrix.preScale(1f, phaseY);
+    }
+
+    /**
+     * Returns the value-to-pixel matrix. It might be modified, the
+     * concatenated matrix is recalculated on next use.
+     * 
+     * @return
+     */
     public Matrix getValueMatrix() {
+        mMatricesDirty = true;
         return mMatrixValueToPx;
     }
 
+    /**
+     * Returns the offset matrix. It might be modified, the concatenated matrix
+     * is recalculated on next use.
+     * 
+     * @return
+     */
     public Matrix getOffsetMatrix() {
+        mMatricesDirty = true;
         return mMatrixOffset;
     }
 }
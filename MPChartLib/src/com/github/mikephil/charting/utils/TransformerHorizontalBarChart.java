@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.utils;
 
+import android.graphics.Matrix;
+
 /**
  * Transformer class for the HorizontalBarChart.
  * 
@@ -34,6 +36,8 @@ public class TransformerHorizontalBarChart extends Transformer {
             mMatrixOffset.postScale(-1.0f, 1.0f);
         }
 
+        mMatricesDirty = true;
+
         // mMatrixOffset.set(offset);
 
         // mMatrixOffset.reset();
@@ -41,4 +45,12 @@ public class TransformerHorizontalBarChart extends Transformer {
         // mMatrixOffset.postTranslate(mOffsetLeft, getHeight() -
         // mOffsetBottom);
     }
+
+    /**
+     * The values of the HorizontalBarChart are on the x-axis.
+     */
+    @Override
+    protected void scaleByPhaseY(Matrix matrix, float phaseY) {
+        matrix.preScale(phaseY, 1f);
+    }
 }
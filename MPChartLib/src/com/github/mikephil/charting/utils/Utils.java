@@ -4,12 +4,12 @@ package com.github.mikephil.charting.utils;
 import android.content.res.Resources;
 import android.graphics.Paint;
 import android.graphics.PointF;
-import android.graphics.Rect;
 import android.util.DisplayMetrics;
 import android.util.Log;
 
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
 
+import java.lang.reflect.Array;
 import java.text.DecimalFormat;
 import java.util.List;
 
@@ -25,6 +25,9 @@ public abstract class Utils {
 
     private static DisplayMetrics mMetrics;
 
+    /** cache for the metrics of measured texts (labels, legend entries, ...) */
+    private static final TextMetricsCache mTextMetricsCache = new TextMetricsCache(512);
+
     /**
      * initialize method, called inside the Chart.init() method.
      * 
@@ -105,30 +108,38 @@ public abstract class Utils {
     }
 
     /**
-     * calculates the approximate width of a text, depending on a demo text
-     * avoid repeated calls (e.g. inside drawing methods)
+     * calculates the approximate width of a text, depending on a demo text,
+     * the result is cached (see getTextMetricsCache())
      * 
      * @param paint
      * @param demoText
      * @return
      */
     public static int calcTextWidth(Paint paint, String demoText) {
-        return (int) paint.measureText(demoText);
+        return (int) mTextMetricsCache.getWidth(paint, demoText);
     }
 
     /**
-     * calculates the approximate height of a text, depending on a demo text
-     * avoid repeated calls (e.g. inside drawing methods)
+     * calculates the approximate height of a text, depending on a demo text,
+     * the result is cached (see getTextMetricsCache())
      * 
      * @param paint
      * @param demoText
      * @return
      */
     public static int calcTextHeight(Paint paint, String demoText) {
+        return mTextMetricsCache.getHeight(paint, demoText);
+    }
 
-        Rect r = new Rect();
-        paint.getTextBounds(demoText, 0, demoText.length(), r);
-        return r.height();
+    /**
+     * Returns the cache that holds the metrics of the texts measured by
+     * calcTextWidth(...) and calcTextHeight(...), shared by all charts. Can be
+     * used to check the hit rate or to adjust its size.
+     * 
+     * @return
+     */
+    public static TextMetricsCache getTextMetricsCache() {
+        return mTextMetricsCache;
     }
 
     // /**
@@ -276,6 +287,97 @@ public abstract class Utils {
         return String.valueOf(out, start, out.length - start);
     }
 
+    /**
+     * Formats the given number with the given number of decimals into the end
+     * of the given buffer (right-aligned, the last character is written to
+     * out[end - 1]) without allocating, and returns the index of the first
+     * character. Returns -1 if the number cannot be formatted this way (NaN,
+     * infinite or too large), the buffer needs to hold at least 40 characters.
+     * Like DecimalFormat, negative numbers that round to zero keep their sign
+     * ("-0.0").
+     * 
+     * @param number
+     * @param digitCount the number of decimals (max. 9)
+     * @param decimalSeparator
+     * @param groupingSeparator separates thousands, 0 for no grouping
+     * @param out
+     * @param end
+     * @return
+     */
+    public static int formatNumber(double number, int digitCount, char decimalSeparator,
+            char groupingSeparator, char[] out, int end) {
+
+        if (digitCount > POW_10.length - 1)
+            digitCount = POW_10.length - 1;
+
+        double scaled = Math.abs(number) * POW_10[digitCount];
+
+        if (Double.isNaN(scaled) || scaled >= Long.MAX_VALUE)
+            return -1;
+
+        // round half to even, like DecimalFormat
+        long unscaled = (long) scaled;
+        double fraction = scaled - unscaled;
+
+        if (fraction > 0.5 || (fraction == 0.5 && (unscaled & 1) != 0))
+            unscaled++;
+
+        // -0.0 is negative as well, like with DecimalFormat
+        boolean negative = number < 0 || (number == 0 && 1 / number < 0);
+
+        return formatDigits(unscaled, negative, digitCount, decimalSeparator,
+                groupingSeparator, out, end);
+    }
+
+    /**
+     * Formats the given unscaled value (the number multiplied by 10 to the
+     * power of digitCount, e.g. 1234 for 12.34 with 2 decimals) into the end
+     * of the given buffer, see formatNumber(double, ...). Returns the index of
+     * the first character.
+     * 
+     * @param unscaled
+     * @param negative
+     * @param digitCount
+     * @param decimalSeparator
+     * @param groupingSeparator
+     * @param out
+     * @param end
+     * @return
+     */
+    public static int formatDigits(long unscaled, boolean negative, int digitCount,
+            char decimalSeparator, char groupingSeparator, char[] out, int end) {
+
+        int ind = end;
+
+        for (int i = 0; i < digitCount; i++) {
+            out[--ind] = (char) ('0' + unscaled % 10);
+            unscaled /= 10;
+        }
+
+        if (digitCount > 0)
+            out[--ind] = decimalSeparator;
+
+        int group = 0;
+
+        do {
+            if (group == 3) {
+                if (groupingSeparator != 0)
+                    out[--ind] = groupingSeparator;
+                group = 0;
+            }
+
+            out[--ind] = (char) ('0' + unscaled % 10);
+            unscaled /= 10;
+            group++;
+
+        } while (unscaled != 0);
+
+        if (negative)
+            out[--ind] = '-';
+
+        return ind;
+    }
+
     /**
      * rounds the given number to the next significant number
      * 
@@ -354,6 +456,52 @@ public abstract class Utils {
         }
     }
 
+    /**
+     * Replacement for the Arrays.copyOf(...) method that is only available in
+     * GINGERBREAD and higher. Copies the given array, truncating or padding
+     * with zeros to the given length.
+     * 
+     * @param original
+     * @param newLength
+     * @return
+     */
+    public static float[] copyOf(float[] original, int newLength) {
+        float[] copy = new float[newLength];
+        System.arraycopy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Replacement for the Arrays.copyOf(...) method that is only available in
+     * GINGERBREAD and higher. Copies the given array, truncating or padding
+     * with zeros to the given length.
+     * 
+     * @param original
+     * @param newLength
+     * @return
+     */
+    public static int[] copyOf(int[] original, int newLength) {
+        int[] copy = new int[newLength];
+        System.arraycopy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Replacement for the Arrays.copyOf(...) method that is only available in
+     * GINGERBREAD and higher. Copies the given array, truncating or padding
+     * with nulls to the given length.
+     * 
+     * @param original
+     * @param newLength
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] copyOf(T[] original, int newLength) {
+        T[] copy = (T[]) Array.newInstance(original.getClass().getComponentType(), newLength);
+        System.arraycopy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
     /**
      * Returns the index of the DataSet that contains the closest value on the
      * y-axis. This is needed for highlighting.
@@ -0,0 +1,109 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ValueFormatter that remembers the Strings another ValueFormatter returned
+ * for the most recent values, so that values that do not change between
+ * frames are formatted only once. Direct-mapped: every value has one slot in
+ * a fixed-size table, a value that maps to an occupied slot replaces the
+ * String in it. Lookups do not allocate. Only use it with formatters whose
+ * output depends on nothing but the value. Enable it for a DataSet via
+ * DataSet.setValueFormatterMemoEnabled(...).
+ */
+public class ValueFormatterMemo implements ValueFormatter {
+
+    /** the formatter the Strings are created with */
+    private ValueFormatter mFormatter;
+
+    /** raw bits of the values in the table */
+    private int[] mValues;
+
+    /** the formatted values, null for empty slots */
+    private String[] mStrings;
+
+    /** mask for the index of a slot */
+    private int mMask;
+
+    /**
+     * Creates a memo for the given formatter with 256 slots.
+     * 
+     * @param formatter
+     */
+    public ValueFormatterMemo(ValueFormatter formatter) {
+        this(formatter, 256);
+    }
+
+    /**
+     * Creates a memo for the given formatter, the number of slots is rounded
+     * up to a power of two.
+     * 
+     * @param formatter
+     * @param size
+     */
+    public ValueFormatterMemo(ValueFormatter formatter, int size) {
+
+        int slots = 1;
+        while (slots < size)
+            slots <<= 1;
+
+        mFormatter = formatter;
+        mValues = new int[slots];
+        mStrings = new String[slots];
+        mMask = slots - 1;
+    }
+
+    /**
+     * Sets the formatter the Strings are created with, the memo is cleared if
+     * it differs from the current one.
+     * 
+     * @param formatter
+     */
+    public void setFormatter(ValueFormatter formatter) {
+
+        if (formatter == mFormatter)
+            return;
+
+        mFormatter = formatter;
+        clear();
+    }
+
+    /**
+     * Returns the formatter the Strings are created with.
+     * 
+     * @return
+     */
+    public ValueFormatter getFormatter() {
+        return mFormatter;
+    }
+
+    @Override
+    public String getFormattedValue(float value) {
+
+        int bits = Float.floatToIntBits(value);
+
+        // spread the bits, neighbouring values differ in the low mantissa bits
+        int h = bits ^ (bits >>> 16);
+        int slot = (h ^ (h >>> 8)) & mMask;
+
+        String s = mStrings[slot];
+
+        if (s != null && mValues[slot] == bits)
+            return s;
+
+        s = mFormatter.getFormattedValue(value);
+
+        mValues[slot] = bits;
+        mStrings[slot] = s;
+
+        return s;
+    }
+
+    /**
+     * Forgets all formatted values.
+     */
+    public void clear() {
+
+        for (int i = 0; i < mStrings.length; i++)
+            mStrings[i] = null;
+    }
+}
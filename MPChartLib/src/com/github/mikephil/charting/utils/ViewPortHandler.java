@@ -226,7 +226,7 @@ public class ViewPortHandler {
 
         save.postTranslate(-x, -y);
 
-        refresh(save, view, false);
+        refresh(save, view, true);
 
         // final View v = chart.getChartView();
         //
@@ -251,6 +251,9 @@ public class ViewPortHandler {
      * call this method to refresh the graph with a given matrix
      * 
      * @param newMatrix
+     * @param chart
+     * @param invalidate if true, chart.invalidate() is called, charts that
+     *            track their changes are notified by the caller instead
      * @return
      */
     public Matrix refresh(Matrix newMatrix, View chart, boolean invalidate) {
@@ -260,7 +263,8 @@ public class ViewPortHandler {
         // make sure scale and translation are within their bounds
         limitTransAndScale(mMatrixTouch, mContentRect);
 
-        chart.invalidate();
+        if (invalidate)
+            chart.invalidate();
 
         newMatrix.set(mMatrixTouch);
         return newMatrix;
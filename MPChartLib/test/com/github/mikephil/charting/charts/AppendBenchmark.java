@@ -0,0 +1,93 @@
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.utils.Timing;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Benchmarks appending entries to a LineChart of 100k entries and drawing the
+ * next frame, notified via notifyEntriesAppended() and via
+ * notifyDataSetChanged().
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class AppendBenchmark {
+
+    private static final int ENTRIES = 100000;
+
+    @Test
+    public void appendedEntriesAreCheaperThanFullNotification() {
+
+        int[] perCall = new int[] {
+                1, 100, 10000
+        };
+
+        long[] appended = new long[perCall.length];
+        long[] full = new long[perCall.length];
+
+        for (int i = 0; i < perCall.length; i++) {
+
+            appended[i] = append(perCall[i], true, false);
+            full[i] = append(perCall[i], false, false);
+
+            Timing.report("append " + perCall[i] + ", notifyEntriesAppended()", appended[i]);
+            Timing.report("append " + perCall[i] + ", notifyDataSetChanged()", full[i]);
+            Timing.report("append " + perCall[i] + ", notifyEntriesAppended(), draw",
+                    append(perCall[i], true, true));
+            Timing.report("append " + perCall[i] + ", notifyDataSetChanged(), draw",
+                    append(perCall[i], false, true));
+        }
+
+        // the full notification iterates over all entries and reallocates
+        // the buffers, appending only pays for the new entries
+        assertTrue(appended[0] * 5 < full[0]);
+        assertTrue(appended[1] * 5 < full[1]);
+    }
+
+    /**
+     * Returns the median duration of appending the given number of entries,
+     * notifying the chart and optionally drawing a frame.
+     */
+    private static long append(final int perCall, final boolean incremental,
+            final boolean draw) {
+
+        final TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, ENTRIES);
+        chart.zoom(ENTRIES / 200f, 1f, 0f, 0f);
+        chart.drawFrame();
+
+        final LineData data = chart.getData();
+        final LineDataSet set = data.getDataSetByIndex(0);
+
+        return Timing.median(new Runnable() {
+
+            @Override
+            public void run() {
+
+                for (int i = 0; i < perCall; i++) {
+
+                    int x = data.getXValCount();
+
+                    data.addXValue("" + x);
+                    set.addEntry(new Entry(x % 7, x));
+                }
+
+                if (incremental)
+                    chart.notifyEntriesAppended();
+                else
+                    chart.notifyDataSetChanged();
+
+                if (draw)
+                    chart.drawFrame();
+            }
+        }, 20, 11);
+    }
+}
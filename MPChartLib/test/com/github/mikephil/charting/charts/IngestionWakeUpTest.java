@@ -0,0 +1,78 @@
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.IngestionQueue;
+import com.github.mikephil.charting.data.IngestionQueue.ConflationPolicy;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Tests that entries offered to an IngestionQueue wake the chart up, also
+ * after entries have been offered while the chart was detached.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class IngestionWakeUpTest {
+
+    @Test
+    public void wakeUpLostWhileDetachedIsRescheduledOnAttach() throws InterruptedException {
+
+        Activity activity = Robolectric.setupActivity(Activity.class);
+
+        TestLineChart chart = TestLineChart.create(activity, 10);
+        IngestionQueue queue = new IngestionQueue(chart.getData(), 16,
+                ConflationPolicy.KEEP_ALL);
+        chart.setIngestionQueue(queue);
+
+        // the wake-up posted from a background thread while the chart is
+        // detached never runs
+        ShadowLooper.pauseMainLooper();
+        offerInBackground(queue, new Entry(3f, 10));
+        Robolectric.getForegroundThreadScheduler().reset();
+        ShadowLooper.unPauseMainLooper();
+
+        chart.resetCounts();
+        activity.setContentView(chart);
+        ShadowLooper.idleMainLooper();
+
+        assertTrue((chart.notifiedChanges & Chart.CHANGE_DATA) != 0);
+
+        // the next Entry wakes the chart up again without a frame in between
+        chart.resetCounts();
+
+        offerInBackground(queue, new Entry(4f, 11));
+        ShadowLooper.idleMainLooper();
+
+        assertTrue((chart.notifiedChanges & Chart.CHANGE_DATA) != 0);
+
+        chart.drawFrame();
+
+        assertEquals(0, queue.getDepth());
+        assertEquals(12, chart.getData().getDataSetByIndex(0).getEntryCount());
+    }
+
+    private static void offerInBackground(final IngestionQueue queue, final Entry e)
+            throws InterruptedException {
+
+        Thread producer = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                queue.offer(e, 0);
+            }
+        });
+
+        producer.start();
+        producer.join();
+    }
+}
@@ -0,0 +1,120 @@
+
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.listener.OnDataPreparedListener;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Tests BarLineChartBase.notifyDataSetChangedAsync(...).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class NotifyDataSetChangedAsyncTest {
+
+    /** runs the preparation right away on the calling thread */
+    private static final Executor DIRECT = new Executor() {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void preparedDataIsSwappedIn() {
+
+        TestLineChart chart = attachedChart();
+        LineData data = chart.getData();
+
+        data.getDataSetByIndex(0).getYVals().get(3).setVal(100f);
+
+        RecordingListener listener = new RecordingListener();
+        chart.notifyDataSetChangedAsync(DIRECT, listener);
+
+        assertSame(chart.getData(), listener.prepared);
+        assertNull(listener.error);
+        assertEquals(100f, chart.getData().getYMax(), 0f);
+    }
+
+    @Test
+    public void failureIsReportedAndDataIsKept() {
+
+        TestLineChart chart = attachedChart();
+
+        List<Entry> entries = new ArrayList<Entry>();
+        entries.add(new Entry(1f, 0));
+
+        List<LineDataSet> sets = new ArrayList<LineDataSet>();
+        sets.add(new LineDataSet(entries, "Failing") {
+
+            @Override
+            protected void onSnapshot(DataSet<Entry> previous) {
+                throw new IllegalStateException("broken");
+            }
+        });
+
+        LineData data = new LineData(chart.getData().getXVals(), sets);
+        chart.setData(data);
+
+        RecordingListener listener = new RecordingListener();
+        chart.notifyDataSetChangedAsync(DIRECT, listener);
+
+        assertNull(listener.prepared);
+        assertTrue(listener.error instanceof IllegalStateException);
+        assertSame(data, chart.getData());
+
+        // the chart keeps drawing the current data
+        chart.drawFrame();
+    }
+
+    /**
+     * Returns a chart attached to the window of an Activity, so that
+     * runnables posted to it are executed.
+     */
+    private static TestLineChart attachedChart() {
+
+        Activity activity = Robolectric.setupActivity(Activity.class);
+
+        TestLineChart chart = TestLineChart.create(activity, 20);
+        activity.setContentView(chart);
+
+        return chart;
+    }
+
+    private static class RecordingListener implements OnDataPreparedListener {
+
+        ChartData<?> prepared;
+        Throwable error;
+
+        @Override
+        public void onDataPrepared(ChartData<?> data) {
+            prepared = data;
+        }
+
+        @Override
+        public void onPreparationFailed(Throwable t) {
+            error = t;
+        }
+    }
+}
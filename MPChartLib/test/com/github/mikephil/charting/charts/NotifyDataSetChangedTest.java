@@ -0,0 +1,130 @@
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.buffer.LineBuffer;
+import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineDataSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests that notifyDataSetChanged() picks up values of entries that have been
+ * changed in place.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class NotifyDataSetChangedTest {
+
+    @Test
+    public void inPlaceEditRedrawsNewGeometry() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 20);
+        LineDataSet set = chart.getData().getDataSetByIndex(0);
+
+        chart.drawFrame();
+        assertFalse(containsPoint(chart, 3, 10f));
+
+        int modificationCount = set.getModificationCount();
+
+        set.getEntryForXIndex(3).setVal(10f);
+        chart.notifyDataSetChanged();
+        chart.drawFrame();
+
+        assertTrue(set.getModificationCount() != modificationCount);
+        assertEquals(10f, set.getYMax(), 0f);
+        assertEquals(10f, chart.getData().getYMax(), 0f);
+        assertTrue(containsPoint(chart, 3, 10f));
+    }
+
+    @Test
+    public void inPlaceEditRebuildsRangeIndex() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 20);
+        LineDataSet set = chart.getData().getDataSetByIndex(0);
+
+        assertEquals(6f, set.getYMax(0, 10), 0f);
+
+        set.getEntryForXIndex(3).setVal(10f);
+        chart.notifyDataSetChanged();
+
+        assertEquals(10f, set.getYMax(0, 10), 0f);
+        assertEquals(6f, set.getYMax(4, 10), 0f);
+
+        // appending keeps the range index in sync
+        set.addEntry(new Entry(12f, 20));
+
+        assertEquals(12f, set.getYMax(15, 20), 0f);
+        assertEquals(10f, set.getYMax(0, 19), 0f);
+    }
+
+    @Test
+    public void inPlaceEditRebuildsLodPyramid() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 4000);
+        LineDataSet set = chart.getData().getDataSetByIndex(0);
+
+        assertFalse(set.isLodEnabled());
+        set.setLodEnabled(true);
+
+        chart.drawFrame();
+        assertTrue(chart.getLineBuffer(0).length() < 4000);
+
+        set.getEntryForXIndex(1234).setVal(10f);
+        chart.notifyDataSetChanged();
+        chart.drawFrame();
+
+        assertTrue(containsPoint(chart, 1234, 10f));
+    }
+
+    @Test
+    public void inPlaceEditRecalculatesCubicControlPoints() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 20);
+        LineDataSet set = chart.getData().getDataSetByIndex(0);
+        set.setDrawCubic(true);
+
+        chart.drawFrame();
+        set.getCubicControlPoints();
+
+        set.getEntryForXIndex(5).setVal(10f);
+        chart.notifyDataSetChanged();
+        chart.drawFrame();
+
+        LineDataSet fresh = new LineDataSet(set.getYVals(), "Fresh");
+        float[] expected = fresh.getCubicControlPoints();
+        float[] points = set.getCubicControlPoints();
+
+        for (int i = 0; i < 19 * 4; i++)
+            assertEquals(expected[i], points[i], 0f);
+    }
+
+    /**
+     * Returns true if the line of the first DataSet passes the pixel position
+     * of the given value.
+     */
+    static boolean containsPoint(TestLineChart chart, int xIndex, float val) {
+
+        float[] pixel = new float[] {
+                xIndex, val
+        };
+        chart.getTransformer(AxisDependency.LEFT).pointValuesToPixel(pixel);
+
+        LineBuffer buffer = chart.getLineBuffer(0);
+
+        for (int i = 0; i + 1 < buffer.length(); i += 2) {
+            if (Math.abs(buffer.buffer[i] - pixel[0]) < 0.01f
+                    && Math.abs(buffer.buffer[i + 1] - pixel[1]) < 0.01f)
+                return true;
+        }
+
+        return false;
+    }
+}
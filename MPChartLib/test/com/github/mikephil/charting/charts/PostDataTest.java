@@ -0,0 +1,158 @@
+
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.IngestionQueue;
+import com.github.mikephil.charting.data.IngestionQueue.ConflationPolicy;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.data.SnapshotEntryList;
+import com.github.mikephil.charting.data.SnapshotList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests swapping to versions of the data posted via postData(...) while an
+ * IngestionQueue is attached.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class PostDataTest {
+
+    @Test
+    public void queueIsNotPointedAtImmutableVersion() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 10);
+        LineData data = chart.getData();
+
+        IngestionQueue queue = new IngestionQueue(data, 16, ConflationPolicy.KEEP_ALL);
+        chart.setIngestionQueue(queue);
+
+        LineData version = immutableVersion(data);
+        assertFalse(version.isMutable());
+
+        chart.postData(version);
+        queue.offer(new Entry(3f, 11), 0);
+
+        // must neither add to the immutable version nor to the hidden one
+        chart.drawFrame();
+
+        assertSame(version, chart.getData());
+        assertSame(data, queue.getData());
+        assertEquals(1, queue.getDepth());
+        assertEquals(11, version.getDataSetByIndex(0).getEntryCount());
+        assertEquals(10, data.getDataSetByIndex(0).getEntryCount());
+
+        // drained again once the queue adds to the data of the chart
+        chart.postData(mutableVersion(version));
+        chart.drawFrame();
+        queue.setData(chart.getData());
+        chart.drawFrame();
+
+        assertEquals(0, queue.getDepth());
+        assertEquals(13, chart.getData().getDataSetByIndex(0).getEntryCount());
+    }
+
+    @Test
+    public void queueAddsToMutableVersion() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 10);
+        LineData data = chart.getData();
+
+        IngestionQueue queue = new IngestionQueue(data, 16, ConflationPolicy.KEEP_ALL);
+        chart.setIngestionQueue(queue);
+
+        LineData version = mutableVersion(data);
+        assertTrue(version.isMutable());
+
+        chart.postData(version);
+        queue.offer(new Entry(3f, 10), 0);
+        chart.drawFrame();
+
+        assertSame(version, queue.getData());
+        assertEquals(0, queue.getDepth());
+        assertEquals(12, version.getDataSetByIndex(0).getEntryCount());
+        assertEquals(11, version.getXValCount());
+    }
+
+    @Test
+    public void queueRejectsImmutableData() {
+
+        LineData version = immutableVersion(TestLineChart.createData(10));
+
+        try {
+            new IngestionQueue(version, 16, ConflationPolicy.KEEP_ALL);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        IngestionQueue queue = new IngestionQueue(TestLineChart.createData(10), 16,
+                ConflationPolicy.DROP_OLDEST);
+
+        try {
+            queue.setData(version);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Returns a version of the given data with one more Entry built on
+     * SnapshotEntryList and SnapshotList.
+     */
+    private static LineData immutableVersion(LineData data) {
+
+        LineDataSet set = data.getDataSetByIndex(0);
+        int count = set.getEntryCount();
+
+        SnapshotEntryList entries = SnapshotEntryList.create(set.getYVals()).edit()
+                .add(1f, count).build();
+
+        List<String> xVals = SnapshotList.create(data.getXVals()).append(
+                Arrays.asList("" + count));
+
+        return snapshot(data, xVals, entries);
+    }
+
+    /**
+     * Returns a version of the given data with one more Entry built on
+     * ArrayLists.
+     */
+    private static LineData mutableVersion(LineData data) {
+
+        LineDataSet set = data.getDataSetByIndex(0);
+        int count = set.getEntryCount();
+
+        List<Entry> entries = new ArrayList<Entry>(set.getYVals());
+        entries.add(new Entry(1f, count));
+
+        List<String> xVals = new ArrayList<String>(data.getXVals());
+        xVals.add("" + count);
+
+        return snapshot(data, xVals, entries);
+    }
+
+    private static LineData snapshot(LineData data, List<String> xVals, List<Entry> entries) {
+
+        List<LineDataSet> sets = new ArrayList<LineDataSet>();
+        sets.add((LineDataSet) data.getDataSetByIndex(0).snapshot(entries));
+
+        return (LineData) data.snapshot(xVals, sets);
+    }
+}
@@ -0,0 +1,206 @@
+
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Matrix;
+
+import com.github.mikephil.charting.utils.ViewPortHandler;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests which changes make BarLineChartBase.prepareFrame() recalculate what.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class PrepareFrameTest {
+
+    @Test
+    public void horizontalDragRecalculatesNothing() {
+
+        // the visible range is calculated by the renderers on every frame
+        assertEquals(0, BarLineChartBase.getRecalculations(Chart.CHANGE_TRANSLATION_X,
+                true, false));
+        assertEquals(0, BarLineChartBase.getRecalculations(Chart.CHANGE_TRANSLATION_X,
+                false, false));
+    }
+
+    @Test
+    public void highlightAndAnimationRecalculateNothing() {
+        assertEquals(0, BarLineChartBase.getRecalculations(Chart.CHANGE_HIGHLIGHT
+                | Chart.CHANGE_ANIMATION, true, false));
+    }
+
+    @Test
+    public void verticalDragRecalculatesYAxes() {
+        assertEquals(BarLineChartBase.RECALC_Y_AXES, BarLineChartBase.getRecalculations(
+                Chart.CHANGE_TRANSLATION_Y, true, false));
+    }
+
+    @Test
+    public void horizontalZoomRecalculatesModulus() {
+
+        assertEquals(BarLineChartBase.RECALC_MODULUS, BarLineChartBase.getRecalculations(
+                Chart.CHANGE_SCALE_X, true, false));
+
+        // the modulus is fixed if the x-labels are not adjusted
+        assertEquals(0, BarLineChartBase.getRecalculations(Chart.CHANGE_SCALE_X, false, false));
+    }
+
+    @Test
+    public void verticalZoomRecalculatesYAxes() {
+        assertEquals(BarLineChartBase.RECALC_Y_AXES, BarLineChartBase.getRecalculations(
+                Chart.CHANGE_SCALE_Y, true, false));
+    }
+
+    @Test
+    public void autoScalingRecalculatesYAxes() {
+        assertEquals(BarLineChartBase.RECALC_Y_AXES, BarLineChartBase.getRecalculations(
+                Chart.CHANGE_TRANSLATION_X, true, true));
+    }
+
+    @Test
+    public void dataSizeAndStyleRecalculateEverything() {
+
+        int all = BarLineChartBase.RECALC_MODULUS | BarLineChartBase.RECALC_Y_AXES;
+
+        assertEquals(all, BarLineChartBase.getRecalculations(Chart.CHANGE_DATA, true, false));
+        assertEquals(all, BarLineChartBase.getRecalculations(Chart.CHANGE_SIZE, true, false));
+        assertEquals(all, BarLineChartBase.getRecalculations(Chart.CHANGE_STYLE, true, false));
+    }
+
+    @Test
+    public void horizontalDragOnlyMovesVisibleRange() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        chart.zoom(4f, 1f, 0f, 0f);
+        chart.drawFrame();
+
+        int lowest = chart.getLowestVisibleXIndex();
+        chart.resetCounts();
+
+        translate(chart, -200f, 0f);
+        chart.notifyChanged(Chart.CHANGE_TRANSLATION_X);
+        chart.drawFrame();
+
+        assertTrue(chart.getLowestVisibleXIndex() > lowest);
+        assertEquals(0, chart.modulusCalculations);
+        assertEquals(0, chart.yAxisCalculations);
+        assertEquals(1, chart.dataDrawn);
+    }
+
+    @Test
+    public void horizontalDragWithoutNotificationIsDetected() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        chart.zoom(4f, 1f, 0f, 0f);
+        chart.drawFrame();
+        chart.resetCounts();
+
+        // only the touch-matrix changes, the chart finds out itself
+        translate(chart, -200f, 0f);
+        chart.drawFrame();
+
+        assertEquals(0, chart.modulusCalculations);
+        assertEquals(0, chart.yAxisCalculations);
+    }
+
+    @Test
+    public void zoomRecalculatesModulusAndYAxes() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        chart.drawFrame();
+        chart.resetCounts();
+
+        chart.zoom(2f, 1f, 0f, 0f);
+        chart.drawFrame();
+
+        assertEquals(1, chart.modulusCalculations);
+        assertEquals(0, chart.yAxisCalculations);
+
+        chart.resetCounts();
+        chart.zoom(1f, 2f, 0f, 0f);
+        chart.drawFrame();
+
+        assertEquals(0, chart.modulusCalculations);
+        assertEquals(1, chart.yAxisCalculations);
+    }
+
+    @Test
+    public void unchangedLegendIsNotMeasuredAgain() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        chart.resetCounts();
+
+        chart.notifyDataSetChanged();
+        assertEquals(0, chart.legendMeasurements);
+
+        // new colors change the legend
+        chart.getData().getDataSetByIndex(0).setColor(0xff00ff00);
+        chart.notifyDataSetChanged();
+        assertEquals(1, chart.legendMeasurements);
+
+        // so does the size of the labels
+        chart.getLegend().setTextSize(20f);
+        chart.notifyDataSetChanged();
+        assertEquals(2, chart.legendMeasurements);
+
+        chart.notifyDataSetChanged();
+        assertEquals(2, chart.legendMeasurements);
+    }
+
+    @Test
+    public void highlightOnlyRedrawsLayersAfterOtherChanges() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        chart.setLayerCacheEnabled(true);
+        chart.drawFrame();
+        chart.resetCounts();
+
+        chart.highlightValue(10, 0);
+        chart.drawFrame();
+        assertEquals(0, chart.dataDrawn);
+
+        // frames of a drag bypass the layers, the next highlight redraws them
+        chart.zoom(2f, 1f, 0f, 0f);
+        chart.drawFrame();
+        assertEquals(1, chart.dataDrawn);
+
+        chart.highlightValue(20, 0);
+        chart.drawFrame();
+        assertEquals(2, chart.dataDrawn);
+
+        chart.highlightValue(30, 0);
+        chart.drawFrame();
+        assertEquals(2, chart.dataDrawn);
+    }
+
+    @Test
+    public void layerCacheIsDisabledByDefault() {
+
+        TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application, 100);
+        assertTrue(!chart.isLayerCacheEnabled());
+
+        chart.drawFrame();
+        chart.resetCounts();
+
+        chart.highlightValue(10, 0);
+        chart.drawFrame();
+        assertEquals(1, chart.dataDrawn);
+    }
+
+    static void translate(BarLineChartBase<?> chart, float dx, float dy) {
+
+        ViewPortHandler handler = chart.getViewPortHandler();
+
+        Matrix matrix = new Matrix(handler.getMatrixTouch());
+        matrix.postTranslate(dx, dy);
+        handler.refresh(matrix, chart, false);
+    }
+}
@@ -0,0 +1,156 @@
+
+package com.github.mikephil.charting.charts;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.View.MeasureSpec;
+
+import com.github.mikephil.charting.buffer.LineBuffer;
+import com.github.mikephil.charting.components.Legend;
+import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.renderer.LegendRenderer;
+import com.github.mikephil.charting.renderer.LineChartRenderer;
+import com.github.mikephil.charting.renderer.YAxisRenderer;
+
+import java.util.ArrayList;
+
+/**
+ * LineChart for tests that counts what is recalculated and redrawn and draws
+ * itself into a bitmap.
+ */
+public class TestLineChart extends LineChart {
+
+    public int modulusCalculations;
+    public int yAxisCalculations;
+    public int legendMeasurements;
+    public int dataDrawn;
+    public int notifiedChanges;
+
+    private Bitmap mBitmap;
+
+    public TestLineChart(Context context) {
+        super(context);
+
+        mAxisRendererLeft = new YAxisRenderer(mViewPortHandler, mAxisLeft,
+                getTransformer(AxisDependency.LEFT)) {
+
+            @Override
+            public void computeAxis(float yMin, float yMax) {
+                yAxisCalculations++;
+                super.computeAxis(yMin, yMax);
+            }
+        };
+
+        mLegend = new Legend() {
+
+            @Override
+            public void calculateDimensions(Paint labelpaint) {
+                legendMeasurements++;
+                super.calculateDimensions(labelpaint);
+            }
+        };
+
+        mLegendRenderer = new LegendRenderer(mViewPortHandler, mLegend);
+
+        mRenderer = new CountingRenderer(this);
+    }
+
+    /**
+     * Returns the buffer the line of the DataSet at the given index has been
+     * drawn from.
+     */
+    public LineBuffer getLineBuffer(int dataSetIndex) {
+        return ((CountingRenderer) mRenderer).getLineBuffer(dataSetIndex);
+    }
+
+    /**
+     * Creates a chart of the given size with one DataSet of the given number
+     * of entries.
+     */
+    public static TestLineChart create(Context context, int entryCount) {
+
+        TestLineChart chart = new TestLineChart(context);
+        chart.setData(createData(entryCount));
+
+        chart.measure(MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(300, MeasureSpec.EXACTLY));
+        chart.layout(0, 0, 400, 300);
+
+        return chart;
+    }
+
+    public static LineData createData(int entryCount) {
+
+        ArrayList<String> xVals = new ArrayList<String>();
+        ArrayList<Entry> entries = new ArrayList<Entry>();
+
+        for (int i = 0; i < entryCount; i++) {
+            xVals.add("" + i);
+            entries.add(new Entry(i % 7, i));
+        }
+
+        ArrayList<LineDataSet> sets = new ArrayList<LineDataSet>();
+        sets.add(new LineDataSet(entries, "DataSet"));
+
+        return new LineData(xVals, sets);
+    }
+
+    @Override
+    public void notifyChanged(int changes) {
+        notifiedChanges |= changes;
+        super.notifyChanged(changes);
+    }
+
+    @Override
+    protected void calcModulus() {
+        modulusCalculations++;
+        super.calcModulus();
+    }
+
+    /**
+     * Draws a frame into a bitmap of the size of the chart.
+     */
+    public void drawFrame() {
+
+        if (mBitmap == null)
+            mBitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+
+        onDraw(new Canvas(mBitmap));
+    }
+
+    private static class CountingRenderer extends LineChartRenderer {
+
+        private TestLineChart mChart;
+
+        public CountingRenderer(TestLineChart chart) {
+            super(chart, chart.mAnimator, chart.mViewPortHandler);
+            mChart = chart;
+        }
+
+        @Override
+        public void drawData(Canvas c) {
+            mChart.dataDrawn++;
+            super.drawData(c);
+        }
+
+        public LineBuffer getLineBuffer(int dataSetIndex) {
+            return mLineBuffers[dataSetIndex];
+        }
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void resetCounts() {
+        modulusCalculations = 0;
+        yAxisCalculations = 0;
+        legendMeasurements = 0;
+        dataDrawn = 0;
+        notifiedChanges = 0;
+    }
+}
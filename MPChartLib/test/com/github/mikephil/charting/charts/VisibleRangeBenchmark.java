@@ -0,0 +1,128 @@
+package com.github.mikephil.charting.charts;
+
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.utils.Timing;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+/**
+ * Benchmarks resolving and drawing the visible range of a LineChart that
+ * shows 200 entries at a time. The cost per frame must not depend on the
+ * total number of entries.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class VisibleRangeBenchmark {
+
+    private static final int VISIBLE = 200;
+
+    @Test
+    public void panFrameCostIsIndependentOfEntryCount() {
+
+        long small = panFrame(1000);
+        long large = panFrame(500000);
+
+        Timing.report("pan frame, 1k entries", small);
+        Timing.report("pan frame, 500k entries", large);
+
+        assertTrue(large < small * 10);
+    }
+
+    @Test
+    public void rangeLookupIsIndependentOfEntryCount() {
+
+        long small = lookup(1000, false, 11);
+        long large = lookup(500000, false, 11);
+        long linear = lookup(500000, true, 3);
+
+        Timing.report("1000 range lookups, 1k entries", small);
+        Timing.report("1000 range lookups, 500k entries", large);
+        Timing.report("1000 range lookups, 500k entries, equalTo() scan", linear);
+
+        // O(log n) plus cache misses, the scan is O(n)
+        assertTrue(large < small * 25);
+        assertTrue(large * 20 < linear);
+    }
+
+    /**
+     * Returns the median duration of a frame that pans the chart by 20
+     * pixels.
+     */
+    private static long panFrame(int entryCount) {
+
+        final TestLineChart chart = TestLineChart.create(RuntimeEnvironment.application,
+                entryCount);
+        chart.zoom(entryCount / (float) VISIBLE, 1f, 0f, 0f);
+        chart.drawFrame();
+
+        return Timing.median(new Runnable() {
+
+            private int mFrame = 0;
+
+            @Override
+            public void run() {
+
+                // pan back and forth so that the visible range stays inside
+                float dx = (mFrame++ / 25) % 2 == 0 ? -20f : 20f;
+
+                PrepareFrameTest.translate(chart, dx, 0f);
+                chart.drawFrame();
+            }
+        }, 50, 51);
+    }
+
+    /**
+     * Returns the median duration of 1000 lookups of the visible range and
+     * the position of its first entry, the way the renderers do it per frame.
+     */
+    private static long lookup(final int entryCount, final boolean linear, int runs) {
+
+        final LineDataSet set = TestLineChart.createData(entryCount).getDataSetByIndex(0);
+
+        return Timing.median(new Runnable() {
+
+            @Override
+            public void run() {
+
+                int sum = 0;
+
+                for (int i = 0; i < 1000; i++) {
+
+                    int min = (int) ((long) i * 7919 % (entryCount - VISIBLE));
+
+                    int from = set.getEntryIndexFrom(min);
+                    int to = set.getEntryIndexTo(min + VISIBLE);
+                    Entry e = set.getEntryForXIndex(min);
+
+                    sum += from + to + (linear ? scan(set.getYVals(), e) : set.getEntryPosition(e));
+                }
+
+                if (sum == 42)
+                    System.out.println();
+            }
+        }, 2, runs);
+    }
+
+    /**
+     * Position of the given Entry the way it was looked up before the range
+     * API existed.
+     */
+    private static int scan(List<Entry> entries, Entry e) {
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (e.equalTo(entries.get(i)))
+                return i;
+        }
+
+        return -1;
+    }
+}
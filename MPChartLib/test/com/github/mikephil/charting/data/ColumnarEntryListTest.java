@@ -0,0 +1,74 @@
+package com.github.mikephil.charting.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests that the modifying methods of ColumnarEntryList respect the position
+ * of the first entry in the backing arrays.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ColumnarEntryListTest {
+
+    @Test
+    public void modificationsRespectArrayOffset() {
+
+        ColumnarEntryList<Entry> list = new OffsetList(3);
+
+        list.add(1f, 0);
+        list.add(2f, 1, "payload");
+        list.add(new Entry(3f, 2));
+        assertValues(list, 1f, 2f, 3f);
+        assertEquals("payload", list.getData(1));
+
+        list.add(1, new Entry(5f, 7));
+        assertValues(list, 1f, 5f, 2f, 3f);
+        assertEquals("payload", list.getData(2));
+
+        list.set(0, new Entry(6f, 0));
+        assertValues(list, 6f, 5f, 2f, 3f);
+
+        list.remove(2);
+        assertValues(list, 6f, 5f, 3f);
+        assertNull(list.getData(2));
+
+        list.clear();
+        assertEquals(0, list.size());
+
+        list.add(4f, 0);
+        assertValues(list, 4f);
+    }
+
+    private static void assertValues(ColumnarEntryList<Entry> list, float... vals) {
+
+        assertEquals(vals.length, list.size());
+
+        for (int i = 0; i < vals.length; i++) {
+            assertEquals(vals[i], list.get(i).getVal(), 0f);
+            assertEquals(vals[i], list.getValArray()[list.getArrayOffset() + i], 0f);
+        }
+    }
+
+    /**
+     * List whose first entry is stored at the given offset in the backing
+     * arrays.
+     */
+    private static class OffsetList extends ColumnarEntryList<Entry> {
+
+        public OffsetList(int offset) {
+            super(4);
+            mArrayOffset = offset;
+        }
+
+        @Override
+        protected Entry createEntry(int index) {
+            return new Entry(getVal(index), getXIndex(index), getData(index));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mikephil.charting.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.utils.ValueFormatter;
+import com.github.mikephil.charting.utils.ValueFormatterMemo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+/**
+ * Tests which formatter a DataSet returns and draws its values with.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ValueFormatterTest {
+
+    @Test
+    public void getterReturnsWhatWasSet() {
+
+        LineDataSet set = new LineDataSet(new ArrayList<Entry>(), "DataSet");
+        set.setValueFormatterMemoEnabled(true);
+
+        assertNull(set.getValueFormatter());
+        assertNotNull(set.getValueFormatterForDrawing());
+
+        ValueFormatter formatter = new CountingFormatter();
+        set.setValueFormatter(formatter);
+
+        assertSame(formatter, set.getValueFormatter());
+    }
+
+    @Test
+    public void memoIsOnlyUsedForDrawing() {
+
+        LineDataSet set = new LineDataSet(new ArrayList<Entry>(), "DataSet");
+        CountingFormatter formatter = new CountingFormatter();
+        set.setValueFormatter(formatter);
+
+        assertSame(formatter, set.getValueFormatterForDrawing());
+
+        set.setValueFormatterMemoEnabled(true);
+
+        ValueFormatter drawing = set.getValueFormatterForDrawing();
+        assertTrue(drawing instanceof ValueFormatterMemo);
+
+        assertEquals("1.5", drawing.getFormattedValue(1.5f));
+        assertEquals("1.5", set.getValueFormatterForDrawing().getFormattedValue(1.5f));
+        assertEquals(1, formatter.calls);
+    }
+
+    private static class CountingFormatter implements ValueFormatter {
+
+        int calls;
+
+        @Override
+        public String getFormattedValue(float value) {
+            calls++;
+            return "" + value;
+        }
+    }
+}
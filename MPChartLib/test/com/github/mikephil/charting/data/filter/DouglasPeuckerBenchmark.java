@@ -0,0 +1,147 @@
+package com.github.mikephil.charting.data.filter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.filter.Approximator.ApproximatorType;
+import com.github.mikephil.charting.utils.Timing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks the iterative Douglas-Peucker reduction against the recursive
+ * implementation it replaced, and checks both keep the same entries.
+ */
+public class DouglasPeuckerBenchmark {
+
+    private static final double EPSILON = 10.0;
+
+    @Test
+    public void iterativeMatchesAndOutperformsRecursive() {
+
+        // 200k entries are reduced in parallel
+        int[] sizes = new int[] {
+                10000, 200000
+        };
+
+        for (int size : sizes) {
+
+            final List<Entry> entries = randomWalk(size);
+            final Approximator approximator = new Approximator(
+                    ApproximatorType.DOUGLAS_PEUCKER, EPSILON);
+            final RecursiveDouglasPeucker recursive = new RecursiveDouglasPeucker(approximator);
+
+            assertArrayEquals(recursive.reduce(entries, EPSILON),
+                    approximator.getDouglasPeuckerIndices(entries, EPSILON));
+
+            long iterativeTime = Timing.median(new Runnable() {
+
+                @Override
+                public void run() {
+                    approximator.getDouglasPeuckerIndices(entries, EPSILON);
+                }
+            }, 5, 11);
+
+            long recursiveTime = Timing.median(new Runnable() {
+
+                @Override
+                public void run() {
+                    recursive.reduce(entries, EPSILON);
+                }
+            }, 5, 11);
+
+            Timing.report("Douglas-Peucker, " + size + " entries, iterative", iterativeTime);
+            Timing.report("Douglas-Peucker, " + size + " entries, recursive", recursiveTime);
+
+            assertTrue(iterativeTime < recursiveTime);
+        }
+    }
+
+    private static List<Entry> randomWalk(int size) {
+
+        Random random = new Random(size);
+        List<Entry> entries = new ArrayList<Entry>(size);
+
+        float val = 0f;
+
+        for (int i = 0; i < size; i++) {
+            val += random.nextFloat() - 0.5f;
+            entries.add(new Entry(val, i));
+        }
+
+        return entries;
+    }
+
+    /**
+     * The recursive implementation the Approximator used before, one boolean[]
+     * and one recursive call per split, two atan2 per visited entry.
+     */
+    private static class RecursiveDouglasPeucker {
+
+        private Approximator mApproximator;
+
+        private boolean[] mKeep;
+
+        public RecursiveDouglasPeucker(Approximator approximator) {
+            mApproximator = approximator;
+        }
+
+        public int[] reduce(List<Entry> entries, double epsilon) {
+
+            mKeep = new boolean[entries.size()];
+            mKeep[0] = true;
+            mKeep[entries.size() - 1] = true;
+
+            reduce(entries, epsilon, 0, entries.size() - 1);
+
+            int count = 0;
+            for (boolean kept : mKeep) {
+                if (kept)
+                    count++;
+            }
+
+            int[] indices = new int[count];
+            for (int i = 0, j = 0; i < mKeep.length; i++) {
+                if (mKeep[i])
+                    indices[j++] = i;
+            }
+
+            return indices;
+        }
+
+        private void reduce(List<Entry> entries, double epsilon, int start, int end) {
+
+            if (end <= start + 1)
+                return;
+
+            int maxDistIndex = 0;
+            double distMax = 0;
+
+            Entry firstEntry = entries.get(start);
+            Entry lastEntry = entries.get(end);
+
+            for (int i = start + 1; i < end; i++) {
+
+                double dist = mApproximator.calcAngleBetweenLines(firstEntry, lastEntry,
+                        firstEntry, entries.get(i));
+
+                if (dist > distMax) {
+                    distMax = dist;
+                    maxDistIndex = i;
+                }
+            }
+
+            if (distMax > epsilon) {
+                mKeep[maxDistIndex] = true;
+
+                reduce(entries, epsilon, start, maxDistIndex);
+                reduce(entries, epsilon, maxDistIndex, end);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.mikephil.charting.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+
+/**
+ * Benchmarks the value formatters against the DecimalFormat (and regex)
+ * implementations they replaced, and the ValueFormatterMemo against
+ * formatting the same values every frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class FormatterBenchmark {
+
+    private static final int VALUES = 10000;
+
+    @Test
+    public void defaultFormatterMatchesAndOutperformsDecimalFormat() {
+
+        final float[] values = randomValues(1e6f);
+        final ValueFormatter formatter = new DefaultValueFormatter(1);
+        final DecimalFormat format = new DecimalFormat("###,###,###,##0.0");
+
+        for (float value : values)
+            assertEquals(format.format(value), formatter.getFormattedValue(value));
+
+        for (float value : new float[] {
+                0f, -0f, -0.03f, 0.05f, 0.15f, -0.25f, 999.95f, 1234567.8f
+        })
+            assertEquals(format.format(value), formatter.getFormattedValue(value));
+
+        long time = time(formatter, values);
+        long decimalFormatTime = time(new ValueFormatter() {
+
+            @Override
+            public String getFormattedValue(float value) {
+                return format.format(value);
+            }
+        }, values);
+
+        Timing.report(VALUES + " values, DefaultValueFormatter", time);
+        Timing.report(VALUES + " values, DecimalFormat", decimalFormatTime);
+
+        assertTrue(time < decimalFormatTime);
+    }
+
+    @Test
+    public void percentFormatterMatchesAndOutperformsDecimalFormat() {
+
+        final float[] values = randomValues(100f);
+        final ValueFormatter formatter = new PercentFormatter();
+        final DecimalFormat format = new DecimalFormat("###,###,##0.0");
+
+        for (float value : values)
+            assertEquals(format.format(value) + " %", formatter.getFormattedValue(value));
+
+        long time = time(formatter, values);
+        long decimalFormatTime = time(new ValueFormatter() {
+
+            @Override
+            public String getFormattedValue(float value) {
+                return format.format(value) + " %";
+            }
+        }, values);
+
+        Timing.report(VALUES + " values, PercentFormatter", time);
+        Timing.report(VALUES + " values, DecimalFormat + \" %\"", decimalFormatTime);
+
+        assertTrue(time < decimalFormatTime);
+    }
+
+    @Test
+    public void largeValueFormatterOutperformsRegex() {
+
+        final float[] values = randomValues(1e9f);
+        final ValueFormatter formatter = new LargeValueFormatter();
+        final ValueFormatter regex = new RegexLargeValueFormatter();
+
+        for (float value : new float[] {
+                5821f, 2000000f, 7800000f, 9999999f
+        })
+            assertEquals(regex.getFormattedValue(value), formatter.getFormattedValue(value));
+
+        long time = time(formatter, values);
+        long regexTime = time(regex, values);
+
+        Timing.report(VALUES + " values, LargeValueFormatter", time);
+        Timing.report(VALUES + " values, DecimalFormat + regex", regexTime);
+
+        assertTrue(time < regexTime);
+    }
+
+    @Test
+    public void memoOutperformsFormattingEveryFrame() {
+
+        // 50 frames that draw the same 200 values
+        float[] frame = randomValues(1e6f);
+        float[] values = new float[VALUES];
+
+        for (int i = 0; i < values.length; i++)
+            values[i] = frame[i % 200];
+
+        ValueFormatter formatter = new DefaultValueFormatter(1);
+
+        long time = time(formatter, values);
+        long memoTime = time(new ValueFormatterMemo(formatter), values);
+
+        Timing.report("50 frames of 200 values, DefaultValueFormatter", time);
+        Timing.report("50 frames of 200 values, ValueFormatterMemo", memoTime);
+
+        assertTrue(memoTime < time);
+    }
+
+    private static float[] randomValues(float range) {
+
+        Random random = new Random(42);
+        float[] values = new float[VALUES];
+
+        for (int i = 0; i < values.length; i++)
+            values[i] = (random.nextFloat() * 2f - 1f) * range;
+
+        return values;
+    }
+
+    /**
+     * Returns the median duration of formatting all given values.
+     */
+    private static long time(final ValueFormatter formatter, final float[] values) {
+
+        return Timing.median(new Runnable() {
+
+            @Override
+            public void run() {
+
+                int length = 0;
+
+                for (float value : values)
+                    length += formatter.getFormattedValue(value).length();
+
+                if (length == 42)
+                    System.out.println();
+            }
+        }, 20, 21);
+    }
+
+    /**
+     * The implementation the LargeValueFormatter used before, DecimalFormat
+     * in engineering notation and regular expressions.
+     */
+    private static class RegexLargeValueFormatter implements ValueFormatter {
+
+        private static final String[] SUFFIX = new String[] {
+                "", "k", "m", "b", "t"
+        };
+
+        private DecimalFormat mFormat = new DecimalFormat("###E0");
+
+        @Override
+        public String getFormattedValue(float value) {
+
+            String r = mFormat.format(value);
+
+            r = r.replaceAll("E[0-9]",
+                    SUFFIX[Character.getNumericValue(r.charAt(r.length() - 1)) / 3]);
+
+            while (r.length() > 4 || r.matches("[0-9]+\\.[a-z]")) {
+                r = r.substring(0, r.length() - 2) + r.substring(r.length() - 1);
+            }
+
+            return r;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.mikephil.charting.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the benchmark tests. A task is run a number of
+ * times to warm up the JIT, then the median duration of the measured runs is
+ * taken, which is less sensitive to garbage collection pauses than the mean.
+ */
+public final class Timing {
+
+    private Timing() {
+    }
+
+    /**
+     * Runs the task warmup times, then returns the median duration of runs
+     * measured runs in nanoseconds.
+     * 
+     * @param task
+     * @param warmup
+     * @param runs
+     * @return
+     */
+    public static long median(Runnable task, int warmup, int runs) {
+
+        for (int i = 0; i < warmup; i++)
+            task.run();
+
+        long[] durations = new long[runs];
+
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            durations[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(durations);
+        return durations[runs / 2];
+    }
+
+    /**
+     * Prints the given duration in microseconds.
+     * 
+     * @param name
+     * @param nanos
+     */
+    public static void report(String name, long nanos) {
+        System.out.println(String.format(Locale.US, "%-60s %12.1f us", name, nanos / 1000.0));
+    }
+}